@@ -0,0 +1,46 @@
+package project.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import project.business.entities.monster.Monster;
+import project.persistence.api.ApiConnectionDAO;
+import project.persistence.exceptions.ApiServerException;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the parsing of the monsters sent by the API, from canned responses so that the network is left out.
+ * {@link ApiConnectionDAO#getMonstersFromApi()} parses the response with {@link ApiConnectionDAO#parseMonsters(String)}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+@State(Scope.Thread)
+public class ApiParsingBenchmark {
+    /**
+     * Number of monsters of the response
+     */
+    @Param({"50", "1000", "20000"})
+    public int monsters;
+
+    private ApiConnectionDAO apiDAO;
+    private String response;
+
+    /**
+     * Creates the connection, which doesn't reach the API until a request is sent, and the canned response.
+     *
+     * @throws ApiServerException if SSL is not supported
+     */
+    @Setup
+    public void setUp() throws ApiServerException {
+        this.apiDAO = new ApiConnectionDAO();
+        this.response = BenchmarkData.monstersApiResponse(this.monsters);
+    }
+
+    @Benchmark
+    public List<Monster> getMonstersFromApi() {
+        return this.apiDAO.parseMonsters(this.response);
+    }
+}
@@ -0,0 +1,72 @@
+package project.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import project.business.BattleManager;
+import project.business.entities.adventure.Adventure;
+import project.business.entities.battle.character.BattleCharacter;
+import project.business.entities.battle.character.BattleCharacterFactory;
+import project.business.entities.character.Character;
+import project.business.entities.monster.MonsterCatalog;
+import project.business.exceptions.FinishedBattleException;
+import project.business.exceptions.NonAliveMonsterException;
+import project.business.exceptions.RepeatedPartyCharacterException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the turn of a character of every class: choosing the monster to attack and attacking it.
+ * {@link BattleManager#manageAttack} only forwards to {@code Adventure.manageAttack}, which is measured directly
+ * so that no adventure has to be read from the data directory.
+ * The monsters have so many hit points that they never die during a measurement.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+@State(Scope.Thread)
+public class AttackBenchmark {
+    /**
+     * Class of the attacking character
+     */
+    @Param({"Adventurer", "Warrior", "Champion", "Cleric", "Paladin", "Mage"})
+    public String characterClass;
+
+    /**
+     * Number of monsters of the encounter
+     */
+    @Param({"5", "50"})
+    public int monsters;
+
+    private MonsterCatalog catalog;
+    private Adventure adventure;
+    private BattleCharacter character;
+
+    /**
+     * Creates the adventure and prepares the character for the encounter.
+     *
+     * @throws RepeatedPartyCharacterException never, the party has a single character
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws RepeatedPartyCharacterException {
+        this.catalog = BenchmarkData.monsterCatalog(20);
+        this.adventure = BenchmarkData.adventure(this.monsters, 20);
+        this.character = BattleCharacterFactory.createBattleCharacter(new Character("Benchmark", "Benchmark", 500, 1, 1, 1, this.characterClass));
+        this.adventure.addCharacter(this.character);
+        this.adventure.prepareCharacter(this.character);
+    }
+
+    /**
+     * Restores the hit points of the monsters before every iteration.
+     */
+    @Setup(Level.Iteration)
+    public void healMonsters() {
+        this.adventure.rollMonstersInitiative(1, this.catalog);
+    }
+
+    @Benchmark
+    public BattleCharacter manageAttack() throws FinishedBattleException, NonAliveMonsterException {
+        this.adventure.manageAttack(this.character);
+        return this.character;
+    }
+}
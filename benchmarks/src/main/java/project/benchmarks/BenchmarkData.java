@@ -0,0 +1,123 @@
+package project.benchmarks;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import project.business.SeededRandomSource;
+import project.business.entities.adventure.Adventure;
+import project.business.entities.character.Character;
+import project.business.entities.monster.Monster;
+import project.business.entities.monster.MonsterCatalog;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class creates the synthetic data the benchmarks work with, so that they don't depend on the
+ * contents of the data directory nor on the API.
+ */
+final class BenchmarkData {
+    /**
+     * Seed every benchmark rolls its dice from
+     */
+    static final long SEED = 42;
+
+    /**
+     * Hit points of the benchmark monsters, high enough for them to survive a whole measurement iteration
+     */
+    static final int MONSTER_HIT_POINTS = 1_000_000_000;
+
+    /**
+     * The classes a character can have
+     */
+    private static final String[] CLASSES = {"Adventurer", "Warrior", "Champion", "Cleric", "Paladin", "Mage"};
+
+    /**
+     * The challenges a monster can have, weighted as they usually appear in an encounter
+     */
+    private static final String[] CHALLENGES = {"Minion", "Minion", "Minion", "Lieutenant"};
+
+    /**
+     * The constructor is private to prevent instantiation.
+     */
+    private BenchmarkData() {}
+
+    /**
+     * Creates the catalog of monsters used by the benchmark adventures.
+     *
+     * @param kinds Number of different monsters.
+     * @return A catalog with monsters named "Monster 0", "Monster 1" and so on.
+     */
+    static MonsterCatalog monsterCatalog(int kinds) {
+        return new MonsterCatalog(monsters(kinds, MONSTER_HIT_POINTS));
+    }
+
+    /**
+     * Creates a list of different monsters.
+     *
+     * @param kinds     Number of different monsters.
+     * @param hitPoints Hit points of every monster.
+     * @return A list with monsters named "Monster 0", "Monster 1" and so on.
+     */
+    static List<Monster> monsters(int kinds, int hitPoints) {
+        List<Monster> monsters = new ArrayList<>();
+        for (int i = 0; i < kinds; i++) {
+            monsters.add(new Monster("Monster " + i, CHALLENGES[i % CHALLENGES.length], 10 + i % 50, hitPoints,
+                    i % 10, "d" + (4 + 2 * (i % 5)), i % 3 == 0 ? "Magical" : "Physical"));
+        }
+        return monsters;
+    }
+
+    /**
+     * Creates an adventure with a single encounter, with dice rolled from {@link #SEED}.
+     *
+     * @param monsters Number of monsters of the encounter.
+     * @param kinds    Number of different monsters, taken from {@link #monsterCatalog(int)}.
+     * @return The adventure, whose monsters still have to roll their initiative.
+     */
+    static Adventure adventure(int monsters, int kinds) {
+        Adventure adventure = new Adventure("Benchmark", 1);
+        adventure.setDice(new SeededRandomSource(SEED));
+        for (int i = 0; i < monsters; i++) {
+            String name = "Monster " + (i % kinds);
+            adventure.insertNewMonster(name, CHALLENGES[(i % kinds) % CHALLENGES.length], 1, 1);
+        }
+        return adventure;
+    }
+
+    /**
+     * Creates a list of characters, cycling through every class.
+     *
+     * @param count Number of characters.
+     * @return A list with characters named "Character 0", "Character 1" and so on.
+     */
+    static List<Character> characters(int count) {
+        List<Character> characters = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            characters.add(new Character("Character " + i, "Player " + (i % 100), i % 1000,
+                    i % 3 - 1, (i + 1) % 3 - 1, (i + 2) % 3 - 1, CLASSES[i % CLASSES.length]));
+        }
+        return characters;
+    }
+
+    /**
+     * Creates a response of the Monsters endpoint of the API, which sends every field as a string.
+     *
+     * @param count Number of monsters of the response.
+     * @return The JSON array of monsters.
+     */
+    static String monstersApiResponse(int count) {
+        JsonArray array = new JsonArray();
+        for (Monster monster : monsters(count, 100)) {
+            JsonObject object = new JsonObject();
+            object.addProperty("name", monster.name());
+            object.addProperty("challenge", monster.challenge());
+            object.addProperty("experience", String.valueOf(monster.xp()));
+            object.addProperty("hitPoints", String.valueOf(monster.hitPoints()));
+            object.addProperty("initiative", String.valueOf(monster.initiative()));
+            object.addProperty("damageDice", monster.damageDice());
+            object.addProperty("damageType", monster.damageType());
+            array.add(object);
+        }
+        return array.toString();
+    }
+}
@@ -0,0 +1,117 @@
+package project.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import project.business.entities.battle.character.BattleCharacter;
+import project.business.entities.battle.character.BattleCharacterFactory;
+import project.business.entities.character.Character;
+import project.persistence.characters.CharacterDAO;
+import project.persistence.characters.JSONCharacterDAO;
+import project.persistence.characters.MappedCharacterDAO;
+import project.persistence.exceptions.PersistenceException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Measures the character storages with large files: reading every character, looking one up by its position and
+ * by its name, and saving the XP of a party after an encounter. The JSON storage is compared with the
+ * memory-mapped one. Every trial works on its own files in a temporary directory, never on the data directory.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+@State(Scope.Thread)
+public class CharacterDAOBenchmark {
+    /**
+     * Number of stored characters
+     */
+    @Param({"10000", "100000"})
+    public int characters;
+
+    /**
+     * Number of characters of the party whose XP is saved
+     */
+    @Param({"4"})
+    public int partySize;
+
+    /**
+     * The storage of the characters: "json" for the JSON file, "mapped" for the memory-mapped file
+     */
+    @Param({"json", "mapped"})
+    public String storage;
+
+    private Path directory;
+    private CharacterDAO characterDAO;
+    private List<BattleCharacter> party;
+    private int middle;
+    private String middleName;
+
+    /**
+     * Writes the characters to a new file of the storage.
+     *
+     * @throws IOException          if the temporary directory couldn't be created
+     * @throws PersistenceException if the characters couldn't be written
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, PersistenceException {
+        this.directory = Files.createTempDirectory("characters-benchmark");
+        JSONCharacterDAO json = new JSONCharacterDAO(this.directory.resolve("characters.json").toString());
+        this.characterDAO = switch (this.storage) {
+            case "json" -> json;
+            case "mapped" -> new MappedCharacterDAO(this.directory.resolve("characters.store").toString(), json);
+            default -> throw new IllegalArgumentException("Unknown storage " + this.storage);
+        };
+        List<Character> stored = BenchmarkData.characters(this.characters);
+        this.characterDAO.reAddCharactersToJSON(stored);
+        this.middle = this.characters / 2;
+        this.middleName = stored.get(this.middle).name();
+        this.party = BattleCharacterFactory.createParty(stored.subList(this.middle, this.middle + this.partySize));
+    }
+
+    /**
+     * Deletes the file and everything written next to it.
+     *
+     * @throws IOException if the files couldn't be deleted
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.list(this.directory)) {
+            for (Path file : files.toList()) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(this.directory);
+    }
+
+    @Benchmark
+    public List<Character> getAllCharacters() throws PersistenceException {
+        return this.characterDAO.getAllCharacters();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Character getCharacterByIndex() throws PersistenceException {
+        return this.characterDAO.getCharacterByIndex(this.middle);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public boolean characterNameExists() throws PersistenceException {
+        return this.characterDAO.characterNameExists(this.middleName);
+    }
+
+    @Benchmark
+    public List<BattleCharacter> updateCharactersXP() throws PersistenceException {
+        for (BattleCharacter character : this.party) {
+            character.addExperiencePoints(10);
+        }
+        this.characterDAO.updateCharactersXP(this.party);
+        return this.party;
+    }
+}
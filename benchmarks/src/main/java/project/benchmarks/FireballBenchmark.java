@@ -0,0 +1,59 @@
+package project.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import project.business.entities.adventure.Adventure;
+import project.business.entities.battle.character.Mage;
+import project.business.entities.monster.MonsterCatalog;
+import project.business.exceptions.RepeatedPartyCharacterException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the Mage's fireball, which damages every monster, against encounters of growing size.
+ * The monsters have so many hit points that they never die during a measurement.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+@State(Scope.Thread)
+public class FireballBenchmark {
+    /**
+     * Number of monsters of the encounter
+     */
+    @Param({"10", "1000", "100000"})
+    public int monsters;
+
+    private MonsterCatalog catalog;
+    private Adventure adventure;
+    private Mage mage;
+
+    /**
+     * Creates the adventure and prepares the Mage for the encounter.
+     *
+     * @throws RepeatedPartyCharacterException never, the party has a single character
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws RepeatedPartyCharacterException {
+        this.catalog = BenchmarkData.monsterCatalog(20);
+        this.adventure = BenchmarkData.adventure(this.monsters, 20);
+        this.mage = new Mage(1, 3, 1, "Benchmark", 500);
+        this.adventure.addCharacter(this.mage);
+        this.adventure.prepareCharacter(this.mage);
+    }
+
+    /**
+     * Restores the hit points of the monsters before every iteration.
+     */
+    @Setup(Level.Iteration)
+    public void healMonsters() {
+        this.adventure.rollMonstersInitiative(1, this.catalog);
+    }
+
+    @Benchmark
+    public Mage fireball() {
+        this.mage.fireball();
+        return this.mage;
+    }
+}
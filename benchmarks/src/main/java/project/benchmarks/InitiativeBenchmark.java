@@ -0,0 +1,59 @@
+package project.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import project.business.entities.adventure.Adventure;
+import project.business.entities.battle.TurnOrder;
+import project.business.entities.battle.character.BattleCharacter;
+import project.business.entities.battle.character.BattleCharacterFactory;
+import project.business.entities.monster.MonsterCatalog;
+import project.business.exceptions.RepeatedPartyCharacterException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long it takes to build the initiative order of an encounter, which happens at the start of
+ * every encounter of a battle.
+ * {@code Adventure.getInitiativeOrder} sorts the monsters of the encounter and the party into a {@code TurnOrder}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+@State(Scope.Thread)
+public class InitiativeBenchmark {
+    /**
+     * Number of monsters of the encounter
+     */
+    @Param({"10", "100", "1000"})
+    public int monsters;
+
+    /**
+     * Number of characters of the party
+     */
+    @Param({"4"})
+    public int partySize;
+
+    private Adventure adventure;
+
+    /**
+     * Creates the adventure and rolls the initiative of its monsters and characters.
+     *
+     * @throws RepeatedPartyCharacterException never, every character has a different name
+     */
+    @Setup
+    public void setUp() throws RepeatedPartyCharacterException {
+        MonsterCatalog catalog = BenchmarkData.monsterCatalog(20);
+        this.adventure = BenchmarkData.adventure(this.monsters, 20);
+        for (BattleCharacter character : BattleCharacterFactory.createParty(BenchmarkData.characters(this.partySize))) {
+            this.adventure.addCharacter(character);
+        }
+        this.adventure.rollMonstersInitiative(1, catalog);
+        this.adventure.rollCharactersInitiative();
+    }
+
+    @Benchmark
+    public TurnOrder getInitiativeOrder() {
+        return this.adventure.getInitiativeOrder(1);
+    }
+}
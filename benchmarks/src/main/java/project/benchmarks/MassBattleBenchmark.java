@@ -0,0 +1,81 @@
+package project.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import project.business.entities.adventure.AdventurePlan;
+import project.business.entities.adventure.EncounterMonster;
+import project.business.entities.battle.character.BattleCharacterFactory;
+import project.business.entities.character.Character;
+import project.business.entities.monster.Monster;
+import project.business.entities.monster.MonsterCatalog;
+import project.business.exceptions.RepeatedPartyCharacterException;
+import project.business.simulation.BattleSimulator;
+import project.business.simulation.MassBattleSimulator;
+import project.business.simulation.SimulationResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a whole battle against a horde of minions, played by the simulator that keeps every monster as an
+ * object and by the one that keeps the monsters of an encounter in parallel arrays. Both roll the same dice,
+ * so they play exactly the same battle.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+@State(Scope.Thread)
+public class MassBattleBenchmark {
+    /**
+     * Number of minions of the encounter
+     */
+    @Param({"1000", "10000", "100000"})
+    public int minions;
+
+    /**
+     * Number of different monsters
+     */
+    private static final int KINDS = 20;
+
+    /**
+     * Hit points of every minion, low enough for the party to kill some of them before falling
+     */
+    private static final int MINION_HIT_POINTS = 5;
+
+    private MonsterCatalog catalog;
+    private AdventurePlan plan;
+    private List<Character> party;
+    private BattleSimulator objectSimulator;
+    private MassBattleSimulator arraySimulator;
+
+    /**
+     * Creates the adventure, the party and both simulators.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<Monster> kinds = BenchmarkData.monsters(KINDS, MINION_HIT_POINTS);
+        this.catalog = new MonsterCatalog(kinds);
+        List<EncounterMonster> monsters = new ArrayList<>();
+        for (int i = 0; i < KINDS; i++) {
+            int quantity = this.minions / KINDS + (i < this.minions % KINDS ? 1 : 0);
+            monsters.add(new EncounterMonster(kinds.get(i).name(), kinds.get(i).challenge(), quantity, 1));
+        }
+        this.plan = new AdventurePlan("Horde", 1, monsters);
+        // A Champion, a Cleric, a Paladin and a Mage, so the fireball hits the whole horde
+        this.party = BenchmarkData.characters(6).subList(2, 6);
+        this.objectSimulator = new BattleSimulator(this.catalog);
+        this.arraySimulator = new MassBattleSimulator(this.catalog);
+    }
+
+    @Benchmark
+    public SimulationResult objectModel() throws RepeatedPartyCharacterException {
+        return this.objectSimulator.simulate(this.plan.toAdventure(), BattleCharacterFactory.createParty(this.party), BenchmarkData.SEED);
+    }
+
+    @Benchmark
+    public SimulationResult parallelArrays() throws RepeatedPartyCharacterException {
+        return this.arraySimulator.simulate(this.plan, BattleCharacterFactory.createParty(this.party), BenchmarkData.SEED);
+    }
+}
@@ -0,0 +1,16 @@
+/**
+ * JMH benchmarks of the hot paths of the game: the initiative order, the attacks of every class, the Mage's
+ * fireball, the JSON character storage and the parsing of the API responses.
+ * <p>
+ * The benchmarks are built from the {@code benchmarks} directory, which compiles the sources of the game
+ * together with them, and need the preview features both to build and to run:
+ * <pre>
+ * cd benchmarks
+ * mvn -B package
+ * java --enable-preview -jar target/benchmarks.jar
+ * </pre>
+ * A single suite can be run by passing its name, such as {@code FireballBenchmark}, and the sizes can be changed
+ * with {@code -p}, such as {@code -p monsters=10000}. Every battle is rolled from a fixed seed, so the same
+ * attacks are measured on every run.
+ */
+package project.benchmarks;
@@ -1,33 +1,91 @@
 package project;
 
 import project.business.*;
+import project.business.entities.adventure.Adventure;
+import project.business.entities.character.Character;
+import project.business.exceptions.RepeatedPartyCharacterException;
+import project.business.simulation.BattleSimulator;
+import project.business.simulation.MonteCarloEstimator;
+import project.business.simulation.MonteCarloReport;
 import project.persistence.adventures.AdventureDAO;
+import project.persistence.adventures.CachedAdventureDAO;
 import project.persistence.adventures.JSONAdventureDAO;
 import project.persistence.api.ApiConnection;
 import project.persistence.api.ApiConnectionDAO;
+import project.persistence.api.CachedApiConnection;
+import project.persistence.characters.CachedCharacterDAO;
 import project.persistence.characters.CharacterDAO;
 import project.persistence.characters.JSONCharacterDAO;
+import project.persistence.characters.MappedCharacterDAO;
 import project.persistence.exceptions.ApiServerException;
 import project.persistence.exceptions.PersistenceException;
 import project.persistence.monsters.JSONMonsterDAO;
 import project.persistence.monsters.MonsterDAO;
 import project.presentation.Controller;
 import project.presentation.Menu;
+import project.server.BattleServer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Main class of the project.
  * It creates the DAOs and the Managers and runs the program.
+ * <p>
+ * When started with "--server [port]", it runs a battle server for many players instead of the menu.
+ * When started with "--simulate adventure character... runs", it estimates how likely the party of the given
+ * characters is to complete the given adventure, both given by their number in the lists of the menu.
+ * <p>
+ * Any of them can be preceded by "--mapped", which keeps the characters in a memory-mapped file instead of the
+ * JSON one, so looking a character up and saving the XP of a party cost the same no matter how many characters
+ * there are. The mapped file is imported from the JSON one the first time, and from then on the JSON file is no
+ * longer updated. It is only available on POSIX systems, since Windows can't replace a file that is mapped.
  */
 public class Main {
+    /**
+     * The port the battle server listens on when none is given
+     */
+    private static final int DEFAULT_PORT = 8642;
+
+    /**
+     * The memory-mapped file of the characters, used with "--mapped"
+     */
+    private static final String MAPPED_CHARACTERS_PATH = "data/characters.store";
+
     public static void main(String[] args) {
+        boolean mapped = args.length > 0 && args[0].equals("--mapped");
+        if (mapped) {
+            if (System.getProperty("os.name").startsWith("Windows")) {
+                System.err.println("--mapped is not available on Windows, which can't replace a file that is mapped");
+                return;
+            }
+            args = Arrays.copyOfRange(args, 1, args.length);
+        }
+        if (args.length > 0 && args[0].equals("--server")) {
+            int port = args.length > 1 ? parsePort(args[1]) : DEFAULT_PORT;
+            if (port < 0) {
+                System.err.println("Usage: --server [port], with a port between 0 and 65535");
+                return;
+            }
+            runServer(port, mapped);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--simulate")) {
+            runSimulation(args, mapped);
+            return;
+        }
+
         Menu menu = new Menu();
         try {
-            // Initialize the api connection to the server
-            ApiConnection apiConnectionDAO = new ApiConnectionDAO();
+            // Initialize the api connection to the server, caching the collections it sends
+            ApiConnection apiConnectionDAO = new CachedApiConnection(new ApiConnectionDAO(), "data/monsters.api-cache.json");
 
             // Initialize the DAOs
             AdventureDAO adventureDAO = new JSONAdventureDAO();
-            CharacterDAO characterDAO = new JSONCharacterDAO();
+            CachedCharacterDAO characterDAO = new CachedCharacterDAO(characterStorage(mapped));
             MonsterDAO monsterDAO = new JSONMonsterDAO();
 
             // Initialize the managers
@@ -38,9 +96,117 @@ public class Main {
 
             // Initialize the controller and run the program
             Controller controller = new Controller(adventureManager, characterManager, monsterManager, battleManager, menu);
-            controller.run();
+            try {
+                controller.run();
+            } finally {
+                // Persist the character changes that are still pending
+                characterDAO.close();
+            }
         } catch (PersistenceException | ApiServerException e) {
             menu.showMessage(e.getMessage());
         }
     }
+
+    /**
+     * Runs the battle server until the program is stopped, sharing the cached DAOs among every session.
+     *
+     * @param port The port the server listens on.
+     * @param mapped Whether the characters are kept in the memory-mapped file.
+     */
+    private static void runServer(int port, boolean mapped) {
+        try {
+            ApiConnection apiConnectionDAO = new CachedApiConnection(new ApiConnectionDAO(), "data/monsters.api-cache.json");
+            AdventureDAO adventureDAO = new CachedAdventureDAO(new JSONAdventureDAO());
+            CachedCharacterDAO characterDAO = new CachedCharacterDAO(characterStorage(mapped));
+            MonsterDAO monsterDAO = new JSONMonsterDAO();
+
+            BattleServer server = new BattleServer(port, adventureDAO, characterDAO, monsterDAO, apiConnectionDAO);
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                server.close();
+                try {
+                    // The sessions still playing save the experience points of their party before they finish
+                    server.awaitStopped();
+                    // Persist the character changes that are still pending
+                    characterDAO.close();
+                } catch (PersistenceException e) {
+                    System.err.println(e.getMessage());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+            System.out.println("Battle server listening on port " + server.getPort());
+            server.run();
+        } catch (ApiServerException | IOException e) {
+            System.err.println(e.getMessage());
+        }
+    }
+
+    /**
+     * Simulates an adventure many times with a party and prints the statistics of the simulations.
+     *
+     * @param args The arguments of the program: "--simulate", the number of the adventure, the numbers of the
+     *             characters of the party and the number of simulations.
+     * @param mapped Whether the characters are kept in the memory-mapped file.
+     */
+    private static void runSimulation(String[] args, boolean mapped) {
+        if (args.length < 4) {
+            System.err.println("Usage: --simulate adventure character... runs");
+            return;
+        }
+        try {
+            AdventureDAO adventureDAO = new JSONAdventureDAO();
+            CharacterDAO characterDAO = characterStorage(mapped);
+            MonsterDAO monsterDAO = new JSONMonsterDAO();
+
+            Adventure adventure = adventureDAO.getAdventurePlanByID(Integer.parseInt(args[1]) - 1).toAdventure();
+            List<Character> party = new ArrayList<>();
+            for (int i = 2; i < args.length - 1; i++) {
+                party.add(characterDAO.getCharacterByIndex(Integer.parseInt(args[i]) - 1));
+            }
+            int runs = Integer.parseInt(args[args.length - 1]);
+
+            MonteCarloEstimator estimator = new MonteCarloEstimator(new BattleSimulator(monsterDAO.getMonsterCatalog()));
+            long start = System.nanoTime();
+            MonteCarloReport report = estimator.estimate(adventure, party, runs);
+            long elapsed = (System.nanoTime() - start) / 1_000_000;
+
+            System.out.printf("%s, %d simulations in %d ms (seed %d)%n", adventure.getName(), report.simulations(), elapsed, report.seed());
+            System.out.printf("\t- Win probability: %.2f%%%n", report.winProbability() * 100);
+            System.out.printf("\t- Rounds: %.2f on average, %d at the 95th percentile%n", report.meanRounds(), report.p95Rounds());
+            for (Map.Entry<String, Double> deathRate : report.deathRates().entrySet()) {
+                System.out.printf("\t- %s falls unconscious in %.2f%% of the simulations%n", deathRate.getKey(), deathRate.getValue() * 100);
+            }
+        } catch (NumberFormatException | IndexOutOfBoundsException e) {
+            System.err.println("Usage: --simulate adventure character... runs");
+        } catch (PersistenceException | RepeatedPartyCharacterException | IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+        }
+    }
+
+    /**
+     * Parses the port the battle server listens on.
+     *
+     * @param text The port given in the arguments.
+     * @return The port, or -1 if the text is not a valid port.
+     */
+    private static int parsePort(String text) {
+        try {
+            int port = Integer.parseInt(text);
+            return port <= 65535 ? port : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Creates the DAO the characters are persisted with.
+     *
+     * @param mapped Whether the characters are kept in the memory-mapped file, imported from the JSON one the
+     *               first time, instead of the JSON file.
+     * @return The character data access object.
+     */
+    private static CharacterDAO characterStorage(boolean mapped) {
+        JSONCharacterDAO json = new JSONCharacterDAO();
+        return mapped ? new MappedCharacterDAO(MAPPED_CHARACTERS_PATH, json) : json;
+    }
 }
@@ -1,14 +1,14 @@
 package project.business;
 
 import project.business.entities.battle.BattleEntity;
+import project.business.entities.battle.TurnOrder;
 import project.business.entities.battle.character.BattleCharacter;
+import project.business.entities.battle.events.BattleEventSink;
 import project.business.entities.character.Character;
 import project.business.exceptions.*;
 import project.persistence.exceptions.ApiServerException;
 import project.persistence.exceptions.PersistenceException;
 
-import java.util.ArrayDeque;
-import java.util.Deque;
 import java.util.List;
 
 /**
@@ -113,19 +113,34 @@ public interface BattleInterface {
     /**
      * Retrieves the battle queue.
      *
-     * @return a queue of BattleEntity representing the order of entities in battle
+     * @return the turn order of the entities in battle
      */
-    ArrayDeque<BattleEntity> getBattleQueue();
+    TurnOrder getBattleQueue();
 
     /**
      * Manages the attack action of a BattleEntity in battle.
      *
+     * The attack is reported to the battle event sink.
+     *
      * @param poll the BattleEntity that will perform the attack
-     * @return a String message describing the result of the attack
      * @throws FinishedBattleException if the battle is over
      * @throws NonAliveMonsterException if the monster is not alive
      */
-    String manageAttack(BattleEntity poll) throws FinishedBattleException, NonAliveMonsterException;
+    void manageAttack(BattleEntity poll) throws FinishedBattleException, NonAliveMonsterException;
+
+    /**
+     * Sets the sink the events of the battles are reported to.
+     *
+     * @param events the battle event sink
+     */
+    void setEventSink(BattleEventSink events);
+
+    /**
+     * Sets the random source that the battles roll their dice with.
+     *
+     * @param dice the random source
+     */
+    void setDice(RandomSource dice);
 
     /**
      * Retrieves the names and hit points of all characters in the adventure.
@@ -137,14 +152,13 @@ public interface BattleInterface {
     /**
      * Handles the condition of character and monster deaths during the battle.
      *
-     * @param battleEntities the queue of BattleEntity participating in the battle
      * @param cont the current count of entities
      * @param round the current round of the battle
      * @return an array of two integers representing the updated count and round
      * @throws NonAliveMonsterException if all monsters have died
      * @throws FinishedBattleException if all characters have died
      */
-    int[] handleCharacterAndMonstersDies(Deque<BattleEntity> battleEntities, int cont, int round) throws NonAliveMonsterException, FinishedBattleException;
+    int[] handleCharacterAndMonstersDies(int cont, int round) throws NonAliveMonsterException, FinishedBattleException;
 
     /**
      * Checks if the provided BattleEntity is alive and increments the counter if it is.
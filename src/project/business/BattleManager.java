@@ -1,14 +1,12 @@
 package project.business;
 
 import project.business.entities.adventure.Adventure;
+import project.business.entities.adventure.AdventurePlan;
 import project.business.entities.battle.BattleEntity;
+import project.business.entities.battle.TurnOrder;
 import project.business.entities.battle.character.*;
-import project.business.entities.battle.monster.BattleMonster;
-import project.business.entities.battle.monster.Boss;
-import project.business.entities.battle.monster.Lieutenant;
-import project.business.entities.battle.monster.Minion;
+import project.business.entities.battle.events.BattleEventSink;
 import project.business.entities.character.Character;
-import project.business.entities.monster.Monster;
 import project.business.exceptions.ContinueAdventureException;
 import project.business.exceptions.FinishedBattleException;
 import project.business.exceptions.NonAliveMonsterException;
@@ -16,10 +14,13 @@ import project.business.exceptions.RepeatedPartyCharacterException;
 import project.persistence.adventures.AdventureDAO;
 import project.persistence.api.ApiConnection;
 import project.persistence.characters.CharacterDAO;
+import project.persistence.exceptions.ApiServerException;
 import project.persistence.exceptions.PersistenceException;
 import project.persistence.monsters.MonsterDAO;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * Manages battles within the game.
@@ -32,7 +33,11 @@ public class BattleManager implements BattleInterface {
     private final CharacterDAO characterDAO;
     private final MonsterDAO monsterDAO;
     private final ApiConnection apiDAO;
+    private AdventurePlan plan;
     private Adventure adventure;
+    private BattleEventSink events;
+    private RandomSource dice;
+    private CompletableFuture<List<Character>> charactersFromApi;
 
     /**
      * Constructs a BattleManager with specified data access objects.
@@ -47,6 +52,8 @@ public class BattleManager implements BattleInterface {
         this.characterDAO = characterDAO;
         this.monsterDAO = monsterDAO;
         this.apiDAO = apiDAO;
+        this.events = BattleEventSink.NONE;
+        this.dice = Dice.source();
     }
 
     /**
@@ -95,13 +102,9 @@ public class BattleManager implements BattleInterface {
      */
     @Override
     public void addCharacter(Character characterByID) throws RepeatedPartyCharacterException {
-        switch (characterByID.clas()) {
-            case "Adventurer" -> this.adventure.addCharacter(new Adventurer(characterByID.body(), characterByID.mind(), characterByID.spirit(), characterByID.name(), characterByID.xp()));
-            case "Warrior" -> this.adventure.addCharacter(new Warrior(characterByID.body(), characterByID.mind(), characterByID.spirit(), characterByID.name(), characterByID.xp()));
-            case "Champion" -> this.adventure.addCharacter(new Champion(characterByID.body(), characterByID.mind(), characterByID.spirit(), characterByID.name(), characterByID.xp()));
-            case "Cleric" -> this.adventure.addCharacter(new Cleric(characterByID.body(), characterByID.mind(), characterByID.spirit(), characterByID.name(), characterByID.xp()));
-            case "Paladin" -> this.adventure.addCharacter(new Paladin(characterByID.body(), characterByID.mind(), characterByID.spirit(), characterByID.name(), characterByID.xp()));
-            case "Mage" -> this.adventure.addCharacter(new Mage(characterByID.body(), characterByID.mind(), characterByID.spirit(), characterByID.name(), characterByID.xp()));
+        BattleCharacter character = BattleCharacterFactory.createBattleCharacter(characterByID);
+        if (character != null) {
+            this.adventure.addCharacter(character);
         }
     }
 
@@ -122,15 +125,15 @@ public class BattleManager implements BattleInterface {
     }
 
     /**
-     * Retrieves the names of monsters in a specified encounter.
+     * Retrieves the names of monsters in a specified encounter from the plan of the adventure,
+     * so the adventures are not read again.
      *
      * @param i the index of the encounter
      * @return a list of monster names in the encounter
-     * @throws PersistenceException if there is an error retrieving the data
      */
     @Override
-    public List<String> getMonsterNamesInEncounter(int i) throws PersistenceException {
-        return adventureDAO.getMonsterNamesInEncounter(i, adventure.getName());
+    public List<String> getMonsterNamesInEncounter(int i) {
+        return this.plan.getMonsterNamesInEncounter(i);
     }
 
     /**
@@ -154,30 +157,22 @@ public class BattleManager implements BattleInterface {
     @Override
     public List<String> getInitiativeOrder(int encounter) throws PersistenceException {
         setMonsterInitiative(encounter);
-        setCharacterInitiative();
-        return this.adventure.getInitiativeOrder(encounter);
-    }
-
-    /**
-     * Sets initiative values for the characters in the adventure.
-     */
-    private void setCharacterInitiative() {
-        List<BattleCharacter> characters = this.adventure.getCharacters();
-        for (BattleCharacter character : characters) {
-            if (character instanceof Champion champion) {
-                this.adventure.rollChampionInitiative(champion);
-            } else if (character instanceof Warrior warrior) {
-                this.adventure.rollWarriorInitiative(warrior);
-            } else if (character instanceof Mage mage) {
-                this.adventure.rollMageInitiative(mage);
-            } else if (character instanceof Adventurer adventurer) {
-                this.adventure.rollAdventurerInitiative(adventurer);
-            } else if (character instanceof Paladin paladin) {
-                this.adventure.rollPaladinInitiative(paladin);
-            } else if (character instanceof Cleric cleric) {
-                this.adventure.rollClericInitiative(cleric);
-            }
+        this.adventure.rollCharactersInitiative();
+        List<String> initiative = new ArrayList<>();
+        for (BattleEntity entity : this.adventure.getInitiativeOrder(encounter)) {
+            initiative.add(formatInitiativeEntry(entity));
         }
+        return initiative;
+    }
+
+    /**
+     * Formats a single entry for the initiative order.
+     *
+     * @param entity the battle entity to be formatted
+     * @return a formatted string representing the battle entity's initiative order entry
+     */
+    private String formatInitiativeEntry(BattleEntity entity) {
+        return String.format("\t- %-6d %s", entity.getInitiative(), entity.getName());
     }
 
     /**
@@ -187,15 +182,7 @@ public class BattleManager implements BattleInterface {
      * @throws PersistenceException if there is an error retrieving the data
      */
     private void setMonsterInitiative(int encounter) throws PersistenceException {
-        List<Monster> monsters = monsterDAO.getAllMonsters();
-        List<BattleMonster> battleMonsters = this.adventure.getMonstersInEncounter(encounter);
-        for (BattleMonster battleMonster : battleMonsters) {
-            for (Monster monster : monsters) {
-                if (battleMonster.getName().equals(monster.name())) {
-                    this.adventure.rollMonsterInitiative(battleMonster, Integer.parseInt(monster.damageDice().substring(1)), monster.initiative(), monster.damageType(), monster.hitPoints(), monster.xp());
-                }
-            }
-        }
+        this.adventure.rollMonstersInitiative(encounter, monsterDAO.getMonsterCatalog());
     }
 
     /**
@@ -206,89 +193,58 @@ public class BattleManager implements BattleInterface {
      */
     @Override
     public String prepareCharacter(BattleCharacter character) {
-        List<BattleCharacter> party = this.adventure.getCharacters();
-        List<BattleMonster> monsters = this.adventure.getMonsters();
-
-        if (character instanceof Champion champion) {
-            champion.setParty(party);
-            return (champion.makeSelfMotivationSpeech());
-        } else if (character instanceof Warrior warrior) {
-            return (warrior.makeSelfMotivationSpeech());
-        } else if (character instanceof Mage mage) {
-            mage.setMonsters(monsters);
-            return (mage.mageShield());
-        } else if (character instanceof Adventurer adventurer) {
-            return (adventurer.makeSelfMotivationSpeech());
-        } else if (character instanceof Paladin paladin) {
-            paladin.setParty(party);
-            return (paladin.prayerOfGoodLuck());
-        } else if (character instanceof Cleric cleric) {
-            cleric.setParty(party);
-            return (cleric.prayerOfGoodLuck());
-        }
-        return null;
+        return this.adventure.prepareCharacter(character);
     }
 
     /**
      * Retrieves the battle queue.
      *
-     * @return a queue of BattleEntity representing the order of entities in battle
+     * @return the turn order of the entities in battle
      */
     @Override
-    public ArrayDeque<BattleEntity> getBattleQueue() {
-        return new ArrayDeque<>(this.adventure.getBattleQueue());
+    public TurnOrder getBattleQueue() {
+        return this.adventure.getBattleQueue();
     }
 
     /**
      * Manages the attack action of a BattleEntity in battle.
      *
+     * The attack is reported to the battle event sink.
+     *
      * @param poll the BattleEntity that will perform the attack
-     * @return a String message describing the result of the attack
      * @throws FinishedBattleException if the battle is over
      * @throws NonAliveMonsterException if the monster is not alive
      */
     @Override
-    public String manageAttack(BattleEntity poll) throws FinishedBattleException, NonAliveMonsterException {
-        if (poll.isAlive()) {
-            if (poll instanceof BattleCharacter character) {
-                switch (character) {
-                    case Champion champion -> {
-                        return this.adventure.manageChampionAttack(champion, getMonsterToAttack());
-                    }
-                    case Warrior warrior -> {
-                        return this.adventure.manageWarriorAttack(warrior, getMonsterToAttack());
-                    }
-                    case Mage mage -> {
-                        return this.adventure.manageMageAttack(mage, getMonsterToAttack());
-                    }
-                    case Adventurer adventurer -> {
-                        return this.adventure.manageAdventurerAttack(adventurer, getMonsterToAttack());
-                    }
-                    case Paladin paladin -> {
-                        return this.adventure.managePaladinAttack(paladin, getMonsterToAttack());
-                    }
-                    case Cleric cleric -> {
-                        return this.adventure.manageClericAttack(cleric, getMonsterToAttack());
-                    }
-                    default -> {
-                    }
-                }
-            } else if (poll instanceof BattleMonster monster) {
-                switch (monster) {
-                    case Boss boss -> {
-                        return this.adventure.manageBossAttack(boss, getAdventurerToAttack());
-                    }
-                    case Lieutenant lieutenant -> {
-                        return this.adventure.manageLieutenantAttack(lieutenant, getAdventurerToAttack());
-                    }
-                    case Minion minion -> {
-                        return this.adventure.manageMinionAttack(minion, getAdventurerToAttack());
-                    }
-                    default -> {}
-                }
-            }
+    public void manageAttack(BattleEntity poll) throws FinishedBattleException, NonAliveMonsterException {
+        this.adventure.manageAttack(poll);
+    }
+
+    /**
+     * Sets the sink the events of the battles are reported to.
+     *
+     * @param events the battle event sink
+     */
+    @Override
+    public void setEventSink(BattleEventSink events) {
+        this.events = events;
+        if (this.adventure != null) {
+            this.adventure.setEventSink(events);
+        }
+    }
+
+    /**
+     * Sets the random source that the battles roll their dice with.
+     * Battle managers that run at the same time must use different random sources.
+     *
+     * @param dice the random source
+     */
+    @Override
+    public void setDice(RandomSource dice) {
+        this.dice = dice;
+        if (this.adventure != null) {
+            this.adventure.setDice(dice);
         }
-        return "";
     }
 
     /**
@@ -304,7 +260,6 @@ public class BattleManager implements BattleInterface {
     /**
      * Handles the condition of character and monster deaths during the battle.
      *
-     * @param battleEntities the queue of BattleEntity participating in the battle
      * @param cont the current count of entities
      * @param round the current round of the battle
      * @return an array of two integers representing the updated count and round
@@ -312,10 +267,10 @@ public class BattleManager implements BattleInterface {
      * @throws FinishedBattleException if all characters have died
      */
     @Override
-    public int[] handleCharacterAndMonstersDies(Deque<BattleEntity> battleEntities, int cont, int round) throws NonAliveMonsterException, FinishedBattleException {
-        if (allMonstersDied(battleEntities)) {
+    public int[] handleCharacterAndMonstersDies(int cont, int round) throws NonAliveMonsterException, FinishedBattleException {
+        if (allMonstersDied()) {
             throw new NonAliveMonsterException();
-        } else if (allCharactersDied(battleEntities)) {
+        } else if (allCharactersDied()) {
             throw new FinishedBattleException(this.getAdventureName());
         }
         cont = 0; round++;
@@ -325,21 +280,19 @@ public class BattleManager implements BattleInterface {
     /**
      * Checks if all monsters have died.
      *
-     * @param battleEntities the queue of BattleEntity participating in the battle
      * @return true if all monsters have died, false otherwise
      */
-    private boolean allMonstersDied(Deque<BattleEntity> battleEntities) {
-        return this.adventure.allMonstersDied(battleEntities);
+    private boolean allMonstersDied() {
+        return this.adventure.allMonstersDied();
     }
 
     /**
      * Checks if all characters have died.
      *
-     * @param battleEntities the queue of BattleEntity participating in the battle
      * @return true if all characters have died, false otherwise
      */
-    private boolean allCharactersDied(Deque<BattleEntity> battleEntities) {
-        return this.adventure.allCharactersDied(battleEntities);
+    private boolean allCharactersDied() {
+        return this.adventure.allCharactersDied();
     }
 
     /**
@@ -425,8 +378,15 @@ public class BattleManager implements BattleInterface {
         this.characterDAO.updateCharactersXP(this.adventure.getCharacters());
     }
 
+    /**
+     * Retrieves the names of all adventures from the API.
+     * The characters, which are checked right after choosing the adventure, are fetched at the same time.
+     *
+     * @return a list of Strings containing the names of all adventures
+     */
     @Override
     public List<String> getAllAdventuresFromAPI() {
+        this.charactersFromApi = this.apiDAO.getCharactersFromApiAsync();
         List<Adventure> adventures = this.apiDAO.getAdventuresFromApi();
         List<String> names = new ArrayList<>();
         for (Adventure adventure : adventures) {
@@ -435,77 +395,48 @@ public class BattleManager implements BattleInterface {
         return names;
     }
 
+    /**
+     * Checks if there are enough characters in the API to start an adventure,
+     * using the characters fetched together with the adventures if there are any.
+     *
+     * @return true if there are at least 3 characters, false otherwise
+     */
     @Override
     public boolean validateCharacterAvailabilityFromAPI() {
-        return this.apiDAO.getCharactersFromApi().size() >= 3;
-    }
-
-    @Override
-    public List<String> getMonstersInEncounterFromAPI(int encounterIndex) {
-        return this.apiDAO.getMonsterNamesInEncounter(encounterIndex, this.adventure.getName());
-    }
-
-    @Override
-    public void updateCharactersXPinAPI() {
+        CompletableFuture<List<Character>> characters = this.charactersFromApi;
+        this.charactersFromApi = null;
+        if (characters == null) {
+            return this.apiDAO.getCharactersFromApi().size() >= 3;
+        }
         try {
-            List<Character> charactersFromApi = this.apiDAO.getCharactersFromApi();
-
-            for (int i = 0; i < this.adventure.getCharacters().size(); i++) {
-                BattleCharacter battleCharacter = this.adventure.getCharacters().get(i);
-                for (int j = 0; j < charactersFromApi.size(); j++) {
-                    Character character = charactersFromApi.get(j);
-                    if (battleCharacter.getName().equals(character.name())) {
-                       charactersFromApi.set(j, new Character(character.name(), character.player(), battleCharacter.getXP(),
-                               character.body(), character.mind(), character.spirit(), battleCharacter.getCharacterType()));
-                    }
-                }
-            }
-
-            this.apiDAO.deleteAllCharacters();
-
-            // Update the characters in the API with the new XP values
-            for (Character updatedCharacter : charactersFromApi) {
-                this.apiDAO.addCharacterToApi(updatedCharacter);
-            }
-        } catch (Exception e) {
-            throw new RuntimeException("Error updating characters in API", e);
+            return characters.join().size() >= 3;
+        } catch (CompletionException e) {
+            throw new RuntimeException(e.getCause());
         }
     }
 
     /**
-     * Retrieves a BattleEntity (Adventurer) that will be attacked.
+     * Retrieves the names of monsters in a specified encounter from the plan of the adventure
+     * that was read from the API, so no request is sent.
      *
-     * @return a BattleEntity representing the Adventurer to be attacked
-     * @throws FinishedBattleException if there are no Adventurers left
+     * @param encounterIndex the index of the encounter
+     * @return a list of monster names in the encounter
      */
-    private BattleEntity getAdventurerToAttack() throws FinishedBattleException {
-        List<BattleCharacter> characters = this.adventure.getCharacters().stream()
-                .filter(BattleCharacter::isAlive)
-                .toList();
-
-        if (characters.isEmpty()) {
-            throw new FinishedBattleException();
-        } else {
-            return characters.get(Dice.valueBetween(0, characters.size() - 1));
-        }
+    @Override
+    public List<String> getMonstersInEncounterFromAPI(int encounterIndex) {
+        return this.plan.getMonsterNamesInEncounter(encounterIndex);
     }
 
     /**
-     * Retrieves a BattleEntity (Monster) that will be attacked.
-     *
-     * @return a BattleEntity representing the Monster to be attacked
-     * @throws NonAliveMonsterException if there are no Monsters left
+     * Updates the experience points of the characters of the party in the API.
+     * Only the characters whose experience points have changed are sent.
      */
-    private BattleEntity getMonsterToAttack() throws NonAliveMonsterException {
-        List<BattleMonster> monsters = this.adventure.getMonsters().stream()
-                .filter(BattleMonster::isAlive)
-                .sorted(Comparator.comparingInt(BattleMonster::getHitPoints))
-                .toList();
-
-        if (monsters.isEmpty()) {
-            throw new NonAliveMonsterException();
-        } else {
-            return monsters.get(0);
+    @Override
+    public void updateCharactersXPinAPI() {
+        try {
+            this.apiDAO.updateCharactersXP(this.adventure.getCharacters());
+        } catch (ApiServerException e) {
+            throw new RuntimeException("Error updating characters in API", e);
         }
     }
 
@@ -522,17 +453,36 @@ public class BattleManager implements BattleInterface {
 
     /**
      * Sets the adventure for the BattleManager by the given index.
+     * The adventure is read once, and every encounter is served from its plan afterwards.
      *
      * @param whichAdventure the index of the adventure
      * @throws PersistenceException if there is an issue with retrieving the adventure data
      */
     @Override
     public void setAdventure(int whichAdventure) throws PersistenceException {
-        this.adventure = adventureDAO.getAdventureByID(whichAdventure);
+        setAdventurePlan(adventureDAO.getAdventurePlanByID(whichAdventure));
     }
 
+    /**
+     * Sets the adventure for the BattleManager by the given index, reading it from the API.
+     * The adventure is read once, and every encounter is served from its plan afterwards.
+     *
+     * @param adventureIndex the index of the adventure
+     */
     @Override
     public void setAdventureFromApi(int adventureIndex) {
-        this.adventure = this.apiDAO.getAdventureByID(adventureIndex);
+        setAdventurePlan(this.apiDAO.getAdventurePlanByID(adventureIndex));
+    }
+
+    /**
+     * Sets the plan of the adventure and creates the adventure that will be played from it.
+     *
+     * @param plan the plan of the adventure
+     */
+    private void setAdventurePlan(AdventurePlan plan) {
+        this.plan = plan;
+        this.adventure = plan.toAdventure();
+        this.adventure.setEventSink(this.events);
+        this.adventure.setDice(this.dice);
     }
 }
\ No newline at end of file
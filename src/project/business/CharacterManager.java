@@ -9,7 +9,6 @@ import project.persistence.characters.JSONCharacterDAO;
 import project.persistence.exceptions.PersistenceException;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Class that manages the character
@@ -199,9 +198,7 @@ public class CharacterManager implements CharacterInterface {
             return false;
         }
 
-        return characterDAO.getAllCharacters()
-                .stream()
-                .noneMatch(character -> character.name().equalsIgnoreCase(name));
+        return !characterDAO.characterNameExists(name);
     }
 
     /**
@@ -243,9 +240,7 @@ public class CharacterManager implements CharacterInterface {
      */
     @Override
     public List<Character> listAllCharactersByName(String playerName) throws PersistenceException {
-        return characterDAO.getAllCharacters().stream()
-                .filter(character -> character.player().toLowerCase().contains(playerName.toLowerCase()))
-                .collect(Collectors.toList());
+        return characterDAO.getCharactersByPlayer(playerName);
     }
 
     /**
@@ -256,14 +251,7 @@ public class CharacterManager implements CharacterInterface {
      */
     @Override
     public void deleteCharacter(Character c) throws PersistenceException {
-        List<Character> characters = characterDAO.getAllCharacters();
-        for (int i = 0; i < characters.size(); i++) {;
-            if (c.name().equals(characters.get(i).name())) {
-                characters.remove(i);
-                break;
-            }
-        }
-        characterDAO.reAddCharactersToJSON(characters);
+        characterDAO.deleteCharacter(c.name());
     }
 
     /**
@@ -298,7 +286,7 @@ public class CharacterManager implements CharacterInterface {
      */
     @Override
     public Character getCharacterByID(int whichCharacter) throws PersistenceException {
-        return characterDAO.getAllCharacters().get(whichCharacter);
+        return characterDAO.getCharacterByIndex(whichCharacter);
     }
 
     /**
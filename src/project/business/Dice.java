@@ -1,15 +1,18 @@
 package project.business;
 
-import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * This class represents a dice. It is used to generate random numbers.
+ * Every thread rolls with its own random number generator, so battles that run
+ * at the same time don't share (and contend on) a single seed.
  */
 public final class Dice {
     /**
-     * The random number generator.
+     * The random source that rolls with the random number generator of the current thread.
      */
-    private static final Random random = new Random();
+    private static final RandomSource THREAD_LOCAL_SOURCE = Dice::valueBetween;
+
     /**
      * The constructor is private to prevent instantiation.
      */
@@ -20,6 +23,16 @@ public final class Dice {
      * @return a random number between min and max (both included)
      */
     public static int valueBetween(int min, int max) {
-        return random.nextInt(min, max + 1);
+        return ThreadLocalRandom.current().nextInt(min, max + 1);
+    }
+
+    /**
+     * This method returns the random source used when a battle has no seed,
+     * which rolls with the random number generator of the current thread.
+     *
+     * @return the default random source
+     */
+    public static RandomSource source() {
+        return THREAD_LOCAL_SOURCE;
     }
 }
@@ -0,0 +1,15 @@
+package project.business;
+
+/**
+ * Interface for a source of random numbers that battles and battle entities roll their dice with.
+ */
+public interface RandomSource {
+    /**
+     * Returns a random number between min and max (both included).
+     *
+     * @param min the minimum value
+     * @param max the maximum value
+     * @return a random number between min and max (both included)
+     */
+    int valueBetween(int min, int max);
+}
@@ -0,0 +1,30 @@
+package project.business;
+
+import java.util.SplittableRandom;
+
+/**
+ * Random source backed by a SplittableRandom. Two sources created with the same seed
+ * generate the same numbers, so a battle rolled with one of them can be replayed exactly.
+ * <p>
+ * A source is not thread-safe: every battle must use its own source.
+ */
+public final class SeededRandomSource implements RandomSource {
+    /**
+     * The random number generator.
+     */
+    private final SplittableRandom random;
+
+    /**
+     * Constructs a random source from the given seed.
+     *
+     * @param seed the seed of the random number generator
+     */
+    public SeededRandomSource(long seed) {
+        this.random = new SplittableRandom(seed);
+    }
+
+    @Override
+    public int valueBetween(int min, int max) {
+        return this.random.nextInt(min, max + 1);
+    }
+}
@@ -1,12 +1,23 @@
 package project.business.entities.adventure;
 
+import project.business.Dice;
+import project.business.RandomSource;
 import project.business.entities.battle.BattleEntity;
+import project.business.entities.battle.LifeListener;
+import project.business.entities.battle.TurnOrder;
 import project.business.entities.battle.character.*;
+import project.business.entities.battle.events.BattleEventSink;
 import project.business.entities.battle.monster.BattleMonster;
 import project.business.entities.battle.monster.Boss;
 import project.business.entities.battle.monster.Lieutenant;
 import project.business.entities.battle.monster.Minion;
-import project.business.entities.character.Character;
+import project.business.entities.battle.monster.MonsterArrays;
+import project.business.entities.battle.monster.MonsterRoster;
+import project.business.entities.battle.monster.MonsterTargets;
+import project.business.entities.monster.MonsterCatalog;
+import project.business.entities.monster.MonsterTemplate;
+import project.business.exceptions.FinishedBattleException;
+import project.business.exceptions.NonAliveMonsterException;
 import project.business.exceptions.RepeatedPartyCharacterException;
 
 import java.util.*;
@@ -35,9 +46,15 @@ public class Adventure implements AdventureInterface {
     private final int numberOfEncounters;
 
     /**
-     * The list of monsters in the adventure.
+     * The kinds of monsters of every encounter that hasn't finished yet, with their quantities, by encounter number.
+     * The monsters themselves are only created when their encounter starts.
      */
-    private final List<BattleMonster> monsters;
+    private final SortedMap<Integer, List<EncounterMonster>> encounters;
+
+    /**
+     * The number of the encounter being played, or 0 if none has started.
+     */
+    private int currentEncounter;
 
     /**
      * The list of characters in the adventure.
@@ -45,9 +62,68 @@ public class Adventure implements AdventureInterface {
     private final List<BattleCharacter> characters;
 
     /**
-     * The priority queue of entities in the adventure.
+     * The order in which the entities of the current encounter take their turns.
+     */
+    private TurnOrder initiativeOrder;
+
+    /**
+     * The monsters of the current encounter.
      */
-    private final PriorityQueue<BattleEntity> initiativeOrder;
+    private List<BattleMonster> encounterMonsters;
+
+    /**
+     * The random source the characters and monsters of the adventure roll their dice with.
+     */
+    private RandomSource dice;
+
+    /**
+     * The sink the characters and monsters of the adventure report their battle events to.
+     */
+    private BattleEventSink events;
+
+    /**
+     * The number of characters that are alive.
+     */
+    private int aliveCharacters;
+
+    /**
+     * The monsters of the current encounter, which are the only ones that exist, with the alive ones ordered
+     * by their hit points.
+     */
+    private final MonsterRoster roster;
+
+    /**
+     * The monsters the characters fight against, which are the ones of the roster unless they are replaced
+     * by another representation of the encounter.
+     */
+    private MonsterTargets targets;
+
+    /**
+     * Keeps the number of alive characters and the order of the alive monsters up to date as their
+     * hit points change.
+     */
+    private final LifeListener aliveCounter = new LifeListener() {
+        @Override
+        public void died(BattleEntity entity) {
+            if (entity instanceof BattleCharacter) {
+                aliveCharacters--;
+            }
+        }
+
+        @Override
+        public void revived(BattleEntity entity) {
+            if (entity instanceof BattleCharacter) {
+                aliveCharacters++;
+            }
+        }
+
+        @Override
+        public void hitPointsChanged(BattleEntity entity) {
+            if (entity instanceof BattleMonster monster) {
+                roster.update(monster);
+            }
+        }
+    };
 
     /**
      * Constructs an Adventure with the specified name and number of encounters.
@@ -58,9 +134,15 @@ public class Adventure implements AdventureInterface {
     public Adventure(String name, int numberOfEncounters) {
         this.name = name;
         this.numberOfEncounters = numberOfEncounters;
-        this.monsters = new ArrayList<>();
+        this.encounters = new TreeMap<>();
+        this.currentEncounter = 0;
         this.characters = new ArrayList<>();
-        this.initiativeOrder = new PriorityQueue<>((entity1, entity2) -> entity2.getInitiative() - entity1.getInitiative());
+        this.initiativeOrder = new TurnOrder(List.of());
+        this.encounterMonsters = List.of();
+        this.roster = new MonsterRoster(new ArrayList<>());
+        this.targets = this.roster;
+        this.dice = Dice.source();
+        this.events = BattleEventSink.NONE;
     }
 
     /**
@@ -72,17 +154,59 @@ public class Adventure implements AdventureInterface {
      * @param encounter   The encounter number in which the monster will appear.
      */
     public void insertNewMonster(String monsterName, String challenge, int quantity, int encounter) {
-        for (int i = 0; i < quantity; i++) {
+        insertNewMonster(new EncounterMonster(monsterName, challenge, quantity, encounter));
+    }
+
+    /**
+     * Inserts new monsters into the adventure. Only the kind of monster and its quantity are kept,
+     * and the monsters are created when their encounter starts, unless it has already started.
+     *
+     * @param monster The kind of monster, with its quantity and encounter.
+     */
+    public void insertNewMonster(EncounterMonster monster) {
+        this.encounters.computeIfAbsent(monster.encounter(), e -> new ArrayList<>()).add(monster);
+        if (monster.encounter() == this.currentEncounter) {
+            createMonsters(monster);
+        }
+    }
+
+    /**
+     * Creates the monsters of a kind and adds them to the roster of the current encounter.
+     *
+     * @param kind The kind of monster, with its quantity and encounter.
+     */
+    private void createMonsters(EncounterMonster kind) {
+        for (int i = 0; i < kind.quantity(); i++) {
             BattleMonster monster;
-            switch (challenge) {
-                case "Boss" -> monster = new Boss(monsterName, challenge, encounter);
-                case "Lieutenant" -> monster = new Lieutenant(monsterName, challenge, encounter);
-                default -> monster = new Minion(monsterName, challenge, encounter);
+            switch (kind.challenge()) {
+                case "Boss" -> monster = new Boss(kind.name(), kind.challenge(), kind.encounter());
+                case "Lieutenant" -> monster = new Lieutenant(kind.name(), kind.challenge(), kind.encounter());
+                default -> monster = new Minion(kind.name(), kind.challenge(), kind.encounter());
             }
-            this.monsters.add(monster);
+            monster.setDice(this.dice);
+            monster.setEventSink(this.events);
+            monster.setLifeListener(this.aliveCounter);
+            this.roster.add(monster);
         }
     }
 
+    /**
+     * Creates a fresh copy of this adventure, with the same encounters and monsters
+     * but without any character nor battle state, so it can be played independently.
+     * Only the encounters that haven't finished yet are copied.
+     *
+     * @return A new Adventure with the same encounters.
+     */
+    public Adventure copy() {
+        Adventure copy = new Adventure(this.name, this.numberOfEncounters);
+        for (List<EncounterMonster> encounter : this.encounters.values()) {
+            for (EncounterMonster monster : encounter) {
+                copy.insertNewMonster(monster);
+            }
+        }
+        return copy;
+    }
+
     /**
      * Adds a character to the adventure.
      *
@@ -95,16 +219,55 @@ public class Adventure implements AdventureInterface {
                 throw new RepeatedPartyCharacterException("Character " + character.getName() + " is already in the party!\n");
             }
         }
+        character.setDice(this.dice);
+        character.setEventSink(this.events);
+        character.setLifeListener(this.aliveCounter);
         this.characters.add(character);
+        if (character.isAlive()) {
+            this.aliveCharacters++;
+        }
     }
 
     /**
-     * Returns the list of monsters in the adventure.
+     * Sets the random source that every character and monster of the adventure rolls its dice with.
+     * Playing an adventure with a seeded random source makes the whole battle reproducible.
      *
-     * @return The list of monsters.
+     * @param dice The random source.
      */
-    public List<BattleMonster> getMonsters() {
-        return monsters;
+    public void setDice(RandomSource dice) {
+        this.dice = dice;
+        for (BattleCharacter character : this.characters) {
+            character.setDice(dice);
+        }
+        for (BattleMonster monster : this.roster.asList()) {
+            monster.setDice(dice);
+        }
+    }
+
+    /**
+     * Sets the sink that every character and monster of the adventure reports its battle events to.
+     *
+     * @param events The event sink.
+     */
+    public void setEventSink(BattleEventSink events) {
+        this.events = events;
+        for (BattleCharacter character : this.characters) {
+            character.setEventSink(events);
+        }
+        for (BattleMonster monster : this.roster.asList()) {
+            monster.setEventSink(events);
+        }
+    }
+
+    /**
+     * Replaces the monsters the characters fight against, until it is called again.
+     * This lets the party fight an encounter kept in another representation, like a {@link MonsterArrays}
+     * for battles with thousands of monsters, whose monsters are then not part of the turn order.
+     *
+     * @param targets The monsters the characters fight against, or null to fight the monsters of the adventure again.
+     */
+    public void setMonsterTargets(MonsterTargets targets) {
+        this.targets = targets == null ? this.roster : targets;
     }
 
     /**
@@ -132,36 +295,127 @@ public class Adventure implements AdventureInterface {
      *
      * @param adventurer The Adventurer making the attack.
      * @param monsterToAttack The monster being attacked.
-     * @return A string representing the result of the attack.
      */
     @Override
-    public String manageAdventurerAttack(Adventurer adventurer, BattleEntity monsterToAttack) {
-        return adventurer.attack(monsterToAttack);
+    public void manageAdventurerAttack(Adventurer adventurer, BattleEntity monsterToAttack) {
+        adventurer.attack(monsterToAttack);
     }
 
     @Override
-    public String manageWarriorAttack(Warrior warrior, BattleEntity monsterToAttack) {
-        return warrior.attack(monsterToAttack);
+    public void manageWarriorAttack(Warrior warrior, BattleEntity monsterToAttack) {
+        warrior.attack(monsterToAttack);
     }
 
     @Override
-    public String manageChampionAttack(Champion champion, BattleEntity monsterToAttack) {
-        return champion.attack(monsterToAttack);
+    public void manageChampionAttack(Champion champion, BattleEntity monsterToAttack) {
+        champion.attack(monsterToAttack);
     }
 
     @Override
-    public String manageClericAttack(Cleric cleric, BattleEntity monsterToAttack) {
-        return cleric.attack(monsterToAttack);
+    public void manageClericAttack(Cleric cleric, BattleEntity monsterToAttack) {
+        cleric.attack(monsterToAttack);
     }
 
     @Override
-    public String managePaladinAttack(Paladin paladin, BattleEntity monsterToAttack) {
-        return paladin.attack(monsterToAttack);
+    public void managePaladinAttack(Paladin paladin, BattleEntity monsterToAttack) {
+        paladin.attack(monsterToAttack);
     }
 
     @Override
-    public String manageMageAttack(Mage mage, BattleEntity monsterToAttack) {
-        return mage.attack(monsterToAttack);
+    public void manageMageAttack(Mage mage, BattleEntity monsterToAttack) {
+        mage.attack(monsterToAttack);
+    }
+
+    /**
+     * Manages the attack action of any BattleEntity, choosing its target and
+     * dispatching to the attack method of its class.
+     * Nothing happens if the entity is not alive.
+     *
+     * @param poll The BattleEntity that will perform the attack.
+     * @throws FinishedBattleException If a monster attacks and there are no characters left.
+     * @throws NonAliveMonsterException If a character attacks and there are no monsters left.
+     */
+    public void manageAttack(BattleEntity poll) throws FinishedBattleException, NonAliveMonsterException {
+        if (poll.isAlive()) {
+            if (poll instanceof BattleCharacter character) {
+                switch (character) {
+                    case Champion champion -> manageChampionAttack(champion, getMonsterToAttack());
+                    case Warrior warrior -> manageWarriorAttack(warrior, getMonsterToAttack());
+                    case Mage mage -> manageMageAttack(mage, getMonsterToAttack());
+                    case Adventurer adventurer -> manageAdventurerAttack(adventurer, getMonsterToAttack());
+                    case Paladin paladin -> managePaladinAttack(paladin, getMonsterToAttack());
+                    case Cleric cleric -> manageClericAttack(cleric, getMonsterToAttack());
+                    default -> {
+                    }
+                }
+            } else if (poll instanceof BattleMonster monster) {
+                switch (monster) {
+                    case Boss boss -> manageBossAttack(boss, getCharacterToAttack());
+                    case Lieutenant lieutenant -> manageLieutenantAttack(lieutenant, getCharacterToAttack());
+                    case Minion minion -> manageMinionAttack(minion, getCharacterToAttack());
+                    default -> {}
+                }
+            }
+        }
+    }
+
+    /**
+     * Retrieves a random alive character that will be attacked by a monster.
+     *
+     * @return The character to be attacked.
+     * @throws FinishedBattleException If there are no characters left.
+     */
+    public BattleEntity getCharacterToAttack() throws FinishedBattleException {
+        List<BattleCharacter> aliveCharacters = this.characters.stream()
+                .filter(BattleCharacter::isAlive)
+                .toList();
+
+        if (aliveCharacters.isEmpty()) {
+            throw new FinishedBattleException();
+        } else {
+            return aliveCharacters.get(this.dice.valueBetween(0, aliveCharacters.size() - 1));
+        }
+    }
+
+    /**
+     * Retrieves the alive monster with the lowest hit points, which will be attacked by a character.
+     *
+     * @return The monster to be attacked.
+     * @throws NonAliveMonsterException If there are no monsters left.
+     */
+    private BattleEntity getMonsterToAttack() throws NonAliveMonsterException {
+        BattleMonster monster = this.targets.lowest();
+        if (monster == null) {
+            throw new NonAliveMonsterException();
+        }
+        return monster;
+    }
+
+    /**
+     * Prepares a character for the next encounter, using its preparation ability.
+     *
+     * @param character The character to be prepared.
+     * @return A string describing the preparation, or null if the character has no preparation ability.
+     */
+    public String prepareCharacter(BattleCharacter character) {
+        if (character instanceof Champion champion) {
+            champion.setParty(this.characters);
+            return champion.makeSelfMotivationSpeech();
+        } else if (character instanceof Warrior warrior) {
+            return warrior.makeSelfMotivationSpeech();
+        } else if (character instanceof Mage mage) {
+            mage.setMonsters(this.targets);
+            return mage.mageShield();
+        } else if (character instanceof Adventurer adventurer) {
+            return adventurer.makeSelfMotivationSpeech();
+        } else if (character instanceof Paladin paladin) {
+            paladin.setParty(this.characters);
+            return paladin.prayerOfGoodLuck();
+        } else if (character instanceof Cleric cleric) {
+            cleric.setParty(this.characters);
+            return cleric.prayerOfGoodLuck();
+        }
+        return null;
     }
 
     /**
@@ -169,11 +423,10 @@ public class Adventure implements AdventureInterface {
      *
      * @param minion The Minion making the attack.
      * @param characterToAttack The character being attacked.
-     * @return A string representing the result of the attack.
      */
     @Override
-    public String manageMinionAttack(Minion minion, BattleEntity characterToAttack) {
-        return minion.attack(characterToAttack);
+    public void manageMinionAttack(Minion minion, BattleEntity characterToAttack) {
+        minion.attack(characterToAttack);
     }
 
     /**
@@ -181,11 +434,10 @@ public class Adventure implements AdventureInterface {
      *
      * @param lieutenant The Lieutenant making the attack.
      * @param characterToAttack The character being attacked.
-     * @return A string representing the result of the attack.
      */
     @Override
-    public String manageLieutenantAttack(Lieutenant lieutenant, BattleEntity characterToAttack) {
-        return lieutenant.attack(characterToAttack);
+    public void manageLieutenantAttack(Lieutenant lieutenant, BattleEntity characterToAttack) {
+        lieutenant.attack(characterToAttack);
     }
 
     /**
@@ -193,11 +445,10 @@ public class Adventure implements AdventureInterface {
      *
      * @param boss The Boss making the attack.
      * @param characterToAttack The character being attacked.
-     * @return A string representing the result of the attack.
      */
     @Override
-    public String manageBossAttack(Boss boss, BattleEntity characterToAttack) {
-        return boss.attack(characterToAttack);
+    public void manageBossAttack(Boss boss, BattleEntity characterToAttack) {
+        boss.attack(characterToAttack);
     }
 
     /**
@@ -225,19 +476,14 @@ public class Adventure implements AdventureInterface {
     }
 
     /**
-     * Calculates the number of living entities in the initiative order.
+     * Returns the number of living entities in the initiative order, which are kept
+     * up to date as they die or come back.
      *
      * @return The number of living entities.
      */
     @Override
     public int getAliveEntities() {
-        int aliveEntities = 0;
-        for (BattleEntity entity : this.initiativeOrder) {
-            if (entity.isAlive()) {
-                aliveEntities++;
-            }
-        }
-        return aliveEntities;
+        return this.aliveCharacters + this.targets.aliveCount();
     }
 
     /**
@@ -257,17 +503,15 @@ public class Adventure implements AdventureInterface {
     }
 
     /**
-     * Calculates the total experience points gained for each monster in the initiative
-     * order.
+     * Calculates the total experience points gained for each monster of the current
+     * encounter, which is what every character gains when the encounter is cleared.
      *
      * @return The total experience points gained for each monster.
      */
-    private int calculateXPGainedForEachMonster() {
+    public int calculateXPGainedForEachMonster() {
         int xpGainedTotal = 0;
-        for (BattleEntity entity : this.initiativeOrder) {
-            if (entity instanceof BattleMonster monster) {
-                xpGainedTotal += monster.getExperiencePoints();
-            }
+        for (BattleMonster monster : this.encounterMonsters) {
+            xpGainedTotal += monster.getExperiencePoints();
         }
         return xpGainedTotal;
     }
@@ -291,7 +535,7 @@ public class Adventure implements AdventureInterface {
             } else if (character instanceof Adventurer adventurer) {
                 namesAndBandageAbilities.add(adventurer.bandageTime());
             } else if (character instanceof Paladin paladin) {
-                namesAndBandageAbilities.add(paladin.prayerOfMassHealing());
+                namesAndBandageAbilities.add(paladin.restWithPrayerOfMassHealing());
             } else if (character instanceof Cleric cleric) {
                 namesAndBandageAbilities.add(cleric.prayerOfSelfHealing());
             }
@@ -347,101 +591,81 @@ public class Adventure implements AdventureInterface {
     }
 
     /**
-     * Retrieves the initiative order for a specific encounter.
+     * Sets up the turn order of a specific encounter, with its monsters and every character,
+     * sorted by the initiative they have rolled.
+     * Defeated monsters leave the turn order as the battle goes on, while unconscious characters
+     * stay in it, since they can be healed back.
      *
      * @param encounter The encounter number for which the initiative order is needed.
-     * @return A list of formatted strings representing the initiative order.
-     */
-    public List<String> getInitiativeOrder(int encounter) {
-        addMonstersToInitiativeOrder(encounter);
-        if (encounter == 1) {
-            addCharactersToInitiativeOrder();
-        }
-        return buildInitiativeList();
+     * @return The turn order of the encounter.
+     */
+    public TurnOrder getInitiativeOrder(int encounter) {
+        this.encounterMonsters = enterEncounter(encounter);
+        List<BattleEntity> entities = new ArrayList<>(this.encounterMonsters.size() + this.characters.size());
+        entities.addAll(this.encounterMonsters);
+        entities.addAll(this.characters);
+        this.initiativeOrder = new TurnOrder(entities, entity -> entity instanceof BattleMonster && !entity.isAlive());
+        return this.initiativeOrder;
     }
 
     /**
-     * Adds monsters to the initiative order for a specific encounter.
+     * Retrieves the monsters in a specific encounter.
+     * Monsters only exist while their encounter is being played, so there are none for the other encounters.
      *
-     * @param encounter The encounter number for which the monsters are to be added to the initiative order.
-     */
-    private void addMonstersToInitiativeOrder(int encounter) {
-        quitMonstersFromInitiativeOrder();
-        for (BattleMonster monster : this.monsters) {
-            if (monster.getEncounter() == encounter) {
-                initiativeOrder.add(monster);
-            }
-        }
-    }
-
-    /**
-     * Removes all monsters from the initiative order.
-     */
-    private void quitMonstersFromInitiativeOrder() {
-        initiativeOrder.removeIf(entity -> entity instanceof BattleMonster);
-    }
-
-    /**
-     * Adds characters to the initiative order.
+     * @param encounter The encounter number for which the monsters are needed.
+     * @return A read-only list of monsters in the specified encounter.
      */
-    private void addCharactersToInitiativeOrder() {
-        initiativeOrder.addAll(this.characters);
+    public List<BattleMonster> getMonstersInEncounter(int encounter) {
+        return encounter == this.currentEncounter ? this.roster.asList() : List.of();
     }
 
     /**
-     * Builds a list of formatted strings representing the initiative order.
+     * Makes an encounter the current one, creating its monsters so the characters can fight against them.
+     * The previous encounters are released, since they are never played again.
      *
-     * @return A list of strings with formatted entries representing the initiative order.
+     * @param encounter The encounter number.
+     * @return The monsters of the encounter.
      */
-    private List<String> buildInitiativeList() {
-        List<String> initiative = new ArrayList<>();
-        List<BattleEntity> tempList = new ArrayList<>();
-
-        while (!this.initiativeOrder.isEmpty()) {
-            BattleEntity entity = this.initiativeOrder.poll();
-            String formattedEntry = formatInitiativeEntry(entity);
-            initiative.add(formattedEntry);
-            tempList.add(entity);
+    private List<BattleMonster> enterEncounter(int encounter) {
+        if (encounter != this.currentEncounter) {
+            this.encounters.headMap(encounter).clear();
+            this.currentEncounter = encounter;
+            this.roster.setMonsters(new ArrayList<>());
+            for (EncounterMonster monster : this.encounters.getOrDefault(encounter, List.of())) {
+                createMonsters(monster);
+            }
         }
-
-        this.initiativeOrder.addAll(tempList);
-
-        return initiative;
+        return this.roster.asList();
     }
 
     /**
-     * Formats a single entry for the initiative order.
+     * Retrieves the characters in the adventure.
      *
-     * @param entity The battle entity to be formatted.
-     * @return A formatted string representing the battle entity's initiative order entry.
+     * @return A list of characters in the adventure.
      */
-    private String formatInitiativeEntry(BattleEntity entity) {
-        return String.format("\t- %-6d %s", entity.getInitiative(), entity.getName());
+    public List<BattleCharacter> getCharacters() {
+        return characters;
     }
 
     /**
-     * Retrieves the monsters in a specific encounter.
-     *
-     * @param encounter The encounter number for which the monsters are needed.
-     * @return A list of monsters in the specified encounter.
+     * Rolls the initiative for every character in the party.
      */
-    public List<BattleMonster> getMonstersInEncounter(int encounter) {
-        List<BattleMonster> monstersInEncounter = new ArrayList<>();
-        for (BattleMonster monster : this.monsters) {
-            if (monster.getEncounter() == encounter) {
-                monstersInEncounter.add(monster);
+    public void rollCharactersInitiative() {
+        for (BattleCharacter character : this.characters) {
+            if (character instanceof Champion champion) {
+                rollChampionInitiative(champion);
+            } else if (character instanceof Warrior warrior) {
+                rollWarriorInitiative(warrior);
+            } else if (character instanceof Mage mage) {
+                rollMageInitiative(mage);
+            } else if (character instanceof Adventurer adventurer) {
+                rollAdventurerInitiative(adventurer);
+            } else if (character instanceof Paladin paladin) {
+                rollPaladinInitiative(paladin);
+            } else if (character instanceof Cleric cleric) {
+                rollClericInitiative(cleric);
             }
         }
-        return monstersInEncounter;
-    }
-
-    /**
-     * Retrieves the characters in the adventure.
-     *
-     * @return A list of characters in the adventure.
-     */
-    public List<BattleCharacter> getCharacters() {
-        return characters;
     }
 
     /**
@@ -498,6 +722,22 @@ public class Adventure implements AdventureInterface {
         mage.rollInitiative();
     }
 
+    /**
+     * Rolls the initiative for every Monster of an encounter and sets its attributes from the catalog.
+     * Monsters that are not in the catalog are left untouched.
+     *
+     * @param encounter The encounter number.
+     * @param catalog   The catalog of every monster.
+     */
+    public void rollMonstersInitiative(int encounter, MonsterCatalog catalog) {
+        for (BattleMonster battleMonster : enterEncounter(encounter)) {
+            MonsterTemplate monster = catalog.get(battleMonster.getName());
+            if (monster != null) {
+                rollMonsterInitiative(battleMonster, monster.damageDice(), monster.initiative(), monster.damageType(), monster.hitPoints(), monster.xp());
+            }
+        }
+    }
+
     /**
      * Rolls the initiative for a Monster and sets its attributes.
      *
@@ -519,43 +759,27 @@ public class Adventure implements AdventureInterface {
     /**
      * Retrieves the battle queue.
      *
-     * @return The queue of battle entities sorted by initiative.
+     * @return The turn order of the battle entities of the current encounter.
      */
-    public PriorityQueue<BattleEntity> getBattleQueue() {
+    public TurnOrder getBattleQueue() {
         return this.initiativeOrder;
     }
 
     /**
      * Checks if all monsters have died.
      *
-     * @param battleEntities The queue of battle entities to check.
      * @return True if all monsters are dead, false otherwise.
      */
-    public boolean allMonstersDied(Deque<BattleEntity> battleEntities) {
-        for (BattleEntity entity : battleEntities) {
-            if (entity instanceof BattleMonster battleMonster) {
-                if (battleMonster.getHitPoints() > 0) {
-                    return false;
-                }
-            }
-        }
-        return true;
+    public boolean allMonstersDied() {
+        return this.targets.aliveCount() == 0;
     }
 
     /**
      * Checks if all characters have died.
      *
-     * @param battleEntities The queue of battle entities to check.
      * @return True if all characters are dead, false otherwise.
      */
-    public boolean allCharactersDied(Deque<BattleEntity> battleEntities) {
-        for (BattleEntity entity : battleEntities) {
-            if (entity instanceof BattleCharacter battleCharacter) {
-                if (battleCharacter.getHitPoints() > 0) {
-                    return false;
-                }
-            }
-        }
-        return true;
+    public boolean allCharactersDied() {
+        return this.aliveCharacters == 0;
     }
 }
@@ -33,36 +33,32 @@ public interface AdventureInterface {
      *
      * @param adventurer The Adventurer making the attack.
      * @param monsterToAttack The monster being attacked.
-     * @return A string representing the result of the attack.
      */
-    String manageAdventurerAttack(Adventurer adventurer, BattleEntity monsterToAttack);
+    void manageAdventurerAttack(Adventurer adventurer, BattleEntity monsterToAttack);
 
     /**
      * Manages the attack action of a Minion against an adventurer.
      *
      * @param minion The Minion making the attack.
      * @param adventurerToAttack The adventurer being attacked.
-     * @return A string representing the result of the attack.
      */
-    String manageMinionAttack(Minion minion, BattleEntity adventurerToAttack);
+    void manageMinionAttack(Minion minion, BattleEntity adventurerToAttack);
 
     /**
      * Manages the attack action of a Lieutenant against an adventurer.
      *
      * @param lieutenant The Lieutenant making the attack.
      * @param adventurerToAttack The adventurer being attacked.
-     * @return A string representing the result of the attack.
      */
-    String manageLieutenantAttack(Lieutenant lieutenant, BattleEntity adventurerToAttack);
+    void manageLieutenantAttack(Lieutenant lieutenant, BattleEntity adventurerToAttack);
 
     /**
      * Manages the attack action of a Boss against an adventurer.
      *
      * @param boss The Boss making the attack.
      * @param adventurerToAttack The adventurer being attacked.
-     * @return A string representing the result of the attack.
      */
-    String manageBossAttack(Boss boss, BattleEntity adventurerToAttack);
+    void manageBossAttack(Boss boss, BattleEntity adventurerToAttack);
 
     /**
      * Retrieves a list of character names along with their respective hit points.
@@ -72,7 +68,8 @@ public interface AdventureInterface {
     List<String> getCharacterNamesAndHitPoints();
 
     /**
-     * Calculates the number of living entities in the initiative order.
+     * Returns the number of living entities in the initiative order, which are kept
+     * up to date as they die or come back.
      *
      * @return The number of living entities.
      */
@@ -92,13 +89,13 @@ public interface AdventureInterface {
      */
     List<String> getCharacterNamesAndRestAbilities();
 
-    String manageWarriorAttack(Warrior warrior, BattleEntity monsterToAttack);
+    void manageWarriorAttack(Warrior warrior, BattleEntity monsterToAttack);
 
-    String manageChampionAttack(Champion champion, BattleEntity monsterToAttack);
+    void manageChampionAttack(Champion champion, BattleEntity monsterToAttack);
 
-    String manageClericAttack(Cleric cleric, BattleEntity monsterToAttack);
+    void manageClericAttack(Cleric cleric, BattleEntity monsterToAttack);
 
-    String managePaladinAttack(Paladin paladin, BattleEntity monsterToAttack);
+    void managePaladinAttack(Paladin paladin, BattleEntity monsterToAttack);
 
-    String manageMageAttack(Mage mage, BattleEntity monsterToAttack);
+    void manageMageAttack(Mage mage, BattleEntity monsterToAttack);
 }
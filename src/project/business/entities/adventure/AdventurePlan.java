@@ -0,0 +1,142 @@
+package project.business.entities.adventure;
+
+import java.util.*;
+
+/**
+ * Immutable plan of an adventure, with every encounter already resolved, so that the encounters can be
+ * queried as many times as needed during a battle without reading the adventure again.
+ */
+public final class AdventurePlan {
+    /**
+     * The name of the adventure.
+     */
+    private final String name;
+
+    /**
+     * The number of encounters in the adventure.
+     */
+    private final int numberOfEncounters;
+
+    /**
+     * The monsters of every encounter, where the encounter number n is at index n - 1.
+     */
+    private final List<List<EncounterMonster>> encounters;
+
+    /**
+     * The names and quantities of the monsters of every encounter, in the format shown to the player.
+     */
+    private final List<List<String>> monsterNames;
+
+    /**
+     * Creates the plan of an adventure.
+     *
+     * @param name               The name of the adventure.
+     * @param numberOfEncounters The number of encounters in the adventure.
+     * @param monsters           The monsters of every encounter, in the order they are stored.
+     */
+    public AdventurePlan(String name, int numberOfEncounters, List<EncounterMonster> monsters) {
+        this.name = name;
+        this.numberOfEncounters = numberOfEncounters;
+
+        int size = numberOfEncounters;
+        for (EncounterMonster monster : monsters) {
+            size = Math.max(size, monster.encounter());
+        }
+        List<List<EncounterMonster>> encounters = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            encounters.add(new ArrayList<>());
+        }
+        for (EncounterMonster monster : monsters) {
+            if (monster.encounter() > 0) {
+                encounters.get(monster.encounter() - 1).add(monster);
+            }
+        }
+
+        List<List<EncounterMonster>> resolved = new ArrayList<>(size);
+        List<List<String>> monsterNames = new ArrayList<>(size);
+        for (List<EncounterMonster> encounter : encounters) {
+            resolved.add(List.copyOf(encounter));
+            List<String> names = new ArrayList<>(encounter.size());
+            for (EncounterMonster monster : encounter) {
+                names.add("\t- " + monster.quantity() + "x " + monster.name());
+            }
+            monsterNames.add(Collections.unmodifiableList(names));
+        }
+        this.encounters = Collections.unmodifiableList(resolved);
+        this.monsterNames = Collections.unmodifiableList(monsterNames);
+    }
+
+    /**
+     * Returns the name of the adventure.
+     *
+     * @return The name of the adventure.
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * Returns the number of encounters in the adventure.
+     *
+     * @return The number of encounters.
+     */
+    public int getNumberOfEncounters() {
+        return this.numberOfEncounters;
+    }
+
+    /**
+     * Retrieves the monsters of every encounter, in the order of the encounters.
+     *
+     * @return The monsters.
+     */
+    public List<EncounterMonster> getMonsters() {
+        List<EncounterMonster> monsters = new ArrayList<>();
+        for (List<EncounterMonster> encounter : this.encounters) {
+            monsters.addAll(encounter);
+        }
+        return monsters;
+    }
+
+    /**
+     * Retrieves the monsters of an encounter.
+     *
+     * @param encounter The number of the encounter (1-based).
+     * @return The monsters of the encounter, which are none if there is no such encounter.
+     */
+    public List<EncounterMonster> getEncounter(int encounter) {
+        if (encounter < 1 || encounter > this.encounters.size()) {
+            return List.of();
+        }
+        return this.encounters.get(encounter - 1);
+    }
+
+    /**
+     * Retrieves the names and quantities of the monsters of an encounter.
+     *
+     * @param encounter The number of the encounter (1-based).
+     * @return A list of monster names and quantities in the format "quantity x monsterName",
+     *         which is empty if there is no such encounter.
+     */
+    public List<String> getMonsterNamesInEncounter(int encounter) {
+        if (encounter < 1 || encounter > this.monsterNames.size()) {
+            return List.of();
+        }
+        return this.monsterNames.get(encounter - 1);
+    }
+
+    /**
+     * Creates a new adventure from this plan, with every monster of every encounter
+     * but without any character nor battle state.
+     *
+     * @return A new Adventure.
+     */
+    public Adventure toAdventure() {
+        Adventure adventure = new Adventure(this.name, this.numberOfEncounters);
+        for (List<EncounterMonster> encounter : this.encounters) {
+            for (EncounterMonster monster : encounter) {
+                adventure.insertNewMonster(monster);
+            }
+        }
+        return adventure;
+    }
+}
@@ -0,0 +1,11 @@
+package project.business.entities.adventure;
+
+/**
+ * Record class that represents a kind of monster of an encounter, as it is stored.
+ *
+ * @param name Name of the monster.
+ * @param challenge Challenge of the monster.
+ * @param quantity How many monsters of this kind there are in the encounter.
+ * @param encounter Number of the encounter (1-based).
+ */
+public record EncounterMonster(String name, String challenge, int quantity, int encounter) {}
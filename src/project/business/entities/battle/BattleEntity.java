@@ -1,18 +1,22 @@
 package project.business.entities.battle;
 
+import project.business.Dice;
+import project.business.RandomSource;
+import project.business.entities.battle.events.BattleEventSink;
+
 /**
  * Represents an entity capable of engaging in battle.
  * This class serves as a base for all battle-related entities,
  * providing common attributes and behaviors such as attacking,
  * taking damage, and checking if the entity is alive.
  * <p>
- * Each BattleEntity has a name, hit points, initiative, and can have messages
- * associated with the attack and damage taken during a battle.
+ * Each BattleEntity has a name, hit points and initiative, and reports what
+ * it does during a battle as events to a {@link BattleEventSink}.
  * </p>
  * <p>
  * Note that this class is abstract and must be subclassed to be used.
  * Subclasses must implement the {@link #attack(BattleEntity)} and
- * methods.
+ * {@link #takeDamage(int, String)} methods.
  * </p>
  */
 public abstract class BattleEntity {
@@ -33,35 +37,34 @@ public abstract class BattleEntity {
     protected int initiative;
 
     /**
-     * A message that holds information about the damage taken.
+     * The random source this BattleEntity rolls its dice with.
      */
-    protected StringBuilder damageMessage;
+    protected RandomSource dice = Dice.source();
 
     /**
-     * A message that holds information about the interaction between entities.
+     * The sink this BattleEntity reports its battle events to.
      */
-    protected StringBuilder whoToWho;
+    protected BattleEventSink events = BattleEventSink.NONE;
 
     /**
-     * A message that holds information about the attack performed.
+     * The listener told when this BattleEntity dies or comes back.
      */
-    protected StringBuilder attackMessage;
+    private LifeListener lifeListener = LifeListener.NONE;
 
     /**
-     * Performs an attack on the specified target.
+     * Performs an attack on the specified target and reports it to the event sink.
      *
      * @param target The BattleEntity to be attacked.
-     * @return A string message describing the attack performed.
      */
-    public abstract String attack(BattleEntity target);
+    public abstract void attack(BattleEntity target);
 
     /**
      * Processes the damage taken by this BattleEntity.
      *
      * @param damage The amount of damage to be processed.
-     * @return A string message describing the damage taken.
+     * @param damageType The type of the damage.
      */
-    public abstract String takeDamage(int damage, String damageType);
+    public abstract void takeDamage(int damage, String damageType);
 
     /**
      * Retrieves the name of this BattleEntity.
@@ -81,6 +84,54 @@ public abstract class BattleEntity {
         return this.initiative;
     }
 
+    /**
+     * Sets the random source this BattleEntity rolls its dice with.
+     *
+     * @param dice The random source.
+     */
+    public void setDice(RandomSource dice) {
+        this.dice = dice;
+    }
+
+    /**
+     * Sets the sink this BattleEntity reports its battle events to.
+     *
+     * @param events The event sink.
+     */
+    public void setEventSink(BattleEventSink events) {
+        this.events = events;
+    }
+
+    /**
+     * Sets the listener told when this BattleEntity dies or comes back.
+     *
+     * @param lifeListener The life listener.
+     */
+    public void setLifeListener(LifeListener lifeListener) {
+        this.lifeListener = lifeListener;
+    }
+
+    /**
+     * Changes the hit points of this BattleEntity, telling the life listener about the change and if it
+     * dies or comes back.
+     * Every change of the hit points during a battle must go through this method.
+     *
+     * @param hitPoints The new hit points.
+     */
+    protected final void updateHitPoints(int hitPoints) {
+        if (hitPoints == this.hitPoints) {
+            return;
+        }
+        boolean wasAlive = isAlive();
+        this.hitPoints = hitPoints;
+        if (wasAlive && !isAlive()) {
+            this.lifeListener.died(this);
+        } else if (!wasAlive && isAlive()) {
+            this.lifeListener.revived(this);
+        }
+        this.lifeListener.hitPointsChanged(this);
+    }
+
     /**
      * Determines if this BattleEntity is alive based on its hit points.
      *
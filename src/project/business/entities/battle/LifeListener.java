@@ -0,0 +1,43 @@
+package project.business.entities.battle;
+
+/**
+ * Is told when the hit points of a battle entity change, and when it falls unconscious or comes back,
+ * so that the alive entities can be counted and ordered as the battle goes on instead of checking every entity.
+ */
+public interface LifeListener {
+    /**
+     * A listener that ignores every change, used when nobody is counting the alive entities.
+     */
+    LifeListener NONE = new LifeListener() {
+        @Override
+        public void died(BattleEntity entity) {}
+
+        @Override
+        public void revived(BattleEntity entity) {}
+
+        @Override
+        public void hitPointsChanged(BattleEntity entity) {}
+    };
+
+    /**
+     * Called when an alive entity drops to 0 hit points.
+     *
+     * @param entity The entity that has just died.
+     */
+    void died(BattleEntity entity);
+
+    /**
+     * Called when an entity with 0 hit points gets some hit points back.
+     *
+     * @param entity The entity that has just come back.
+     */
+    void revived(BattleEntity entity);
+
+    /**
+     * Called whenever the hit points of an entity change, after {@link #died} or {@link #revived} if the change
+     * made the entity die or come back.
+     *
+     * @param entity The entity whose hit points have changed.
+     */
+    void hitPointsChanged(BattleEntity entity);
+}
@@ -0,0 +1,137 @@
+package project.business.entities.battle;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * Order in which the battle entities of an encounter take their turns.
+ * <p>
+ * The entities are sorted once, by descending initiative, when the order is created. Entities with the same
+ * initiative keep the order they were given in, so the same encounter always plays in the same order.
+ * The turns are then taken by cycling through the sorted array, without copying it. At the end of every pass,
+ * the entities that can't take any more turns are removed in place, keeping the order of the rest.
+ */
+public final class TurnOrder implements Iterable<BattleEntity> {
+    /**
+     * The entities, sorted by their turn. Only the first {@code size} positions are used.
+     */
+    private final BattleEntity[] entities;
+
+    /**
+     * Tells which entities can be removed at the end of a pass.
+     */
+    private final Predicate<BattleEntity> removable;
+
+    /**
+     * Number of entities left.
+     */
+    private int size;
+
+    /**
+     * Position of the entity that takes the next turn.
+     */
+    private int next;
+
+    /**
+     * Creates the turn order of the given entities, where no entity is ever removed.
+     *
+     * @param entities The entities, where entities with the same initiative keep this order.
+     */
+    public TurnOrder(Collection<? extends BattleEntity> entities) {
+        this(entities, entity -> false);
+    }
+
+    /**
+     * Creates the turn order of the given entities.
+     *
+     * @param entities  The entities, where entities with the same initiative keep this order.
+     * @param removable Tells which entities can't take any more turns, and are removed at the end of a pass.
+     */
+    public TurnOrder(Collection<? extends BattleEntity> entities, Predicate<BattleEntity> removable) {
+        this.entities = entities.toArray(new BattleEntity[0]);
+        // The sort of objects is stable, so the ties keep the given order
+        Arrays.sort(this.entities, (entity1, entity2) -> Integer.compare(entity2.getInitiative(), entity1.getInitiative()));
+        this.removable = removable;
+        this.size = this.entities.length;
+        this.next = 0;
+    }
+
+    /**
+     * Returns the entity that takes the next turn, moving on to the following one.
+     * After the last entity of a pass, the removable entities are removed and the next pass starts.
+     *
+     * @return The entity that takes the turn.
+     * @throws NoSuchElementException If there are no entities.
+     */
+    public BattleEntity next() {
+        if (this.size == 0) {
+            throw new NoSuchElementException("There are no entities in the turn order");
+        }
+        BattleEntity entity = this.entities[this.next++];
+        if (this.next == this.size) {
+            removeEntities();
+            this.next = 0;
+        }
+        return entity;
+    }
+
+    /**
+     * Removes the removable entities in place, keeping the order of the rest.
+     */
+    private void removeEntities() {
+        int kept = 0;
+        for (int i = 0; i < this.size; i++) {
+            if (!this.removable.test(this.entities[i])) {
+                this.entities[kept++] = this.entities[i];
+            }
+        }
+        Arrays.fill(this.entities, kept, this.size, null);
+        this.size = kept;
+    }
+
+    /**
+     * Returns the entity at the given position of the order.
+     *
+     * @param index The position, where 0 is the entity with the highest initiative.
+     * @return The entity.
+     * @throws IndexOutOfBoundsException If there is no entity at that position.
+     */
+    public BattleEntity get(int index) {
+        Objects.checkIndex(index, this.size);
+        return this.entities[index];
+    }
+
+    /**
+     * Returns the number of entities left.
+     *
+     * @return The number of entities.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Iterates over the entities left, in their order, without taking any turn.
+     *
+     * @return An iterator over the entities.
+     */
+    @Override
+    public Iterator<BattleEntity> iterator() {
+        return new Iterator<>() {
+            private int index = 0;
+
+            @Override
+            public boolean hasNext() {
+                return this.index < size;
+            }
+
+            @Override
+            public BattleEntity next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return entities[this.index++];
+            }
+        };
+    }
+}
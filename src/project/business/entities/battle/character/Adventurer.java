@@ -1,7 +1,7 @@
 package project.business.entities.battle.character;
 
-import project.business.Dice;
 import project.business.entities.battle.BattleEntity;
+import project.business.entities.battle.events.AttackEvent;
 
 /**
  * Represents an Adventurer character in a battle.
@@ -48,9 +48,6 @@ public class Adventurer extends BattleCharacter {
         this.experiencePoints = xp;
         this.level = calculateLevel(xp);
         this.hitPoints = this.maxHitPoints = calculateHitPoints();
-        this.whoToWho = new StringBuilder();
-        this.attackMessage = new StringBuilder();
-        this.damageMessage = new StringBuilder();
         this.evolvedToWarrior = false;
         this.evolvedToChampion = false;
         this.characterType = "Adventurer";
@@ -100,78 +97,49 @@ public class Adventurer extends BattleCharacter {
      */
     @Override
     public void rollInitiative() {
-        this.initiative = Dice.valueBetween(1, 12) + this.spirit;
+        this.initiative = this.dice.valueBetween(1, 12) + this.spirit;
     }
 
     /**
-     * Performs an attack on a target BattleEntity.
+     * Performs an attack on a target BattleEntity and reports it to the event sink.
      *
      * @param target The target BattleEntity to attack.
-     * @return A string describing the result of the attack.
      */
     @Override
-    public String attack(BattleEntity target) {
-        resetMessages();
-        whoToWho.append(this.name).append(" attacks ").append(target.getName()).append(".");
-        return rollDiceAndCalculateDamageResult(target);
+    public void attack(BattleEntity target) {
+        rollDiceAndCalculateDamageResult(target);
     }
 
     /**
      * Rolls dice and calculates the damage result for an attack on a target BattleEntity.
      *
      * @param target The target BattleEntity to attack.
-     * @return A string describing the result of the attack.
      */
-    private String rollDiceAndCalculateDamageResult(BattleEntity target) {
-        this.d10 = Dice.valueBetween(1, 10);
-        this.damageResult = (Dice.valueBetween(1, 6) + this.body);
+    private void rollDiceAndCalculateDamageResult(BattleEntity target) {
+        this.d10 = this.dice.valueBetween(1, 10);
+        this.damageResult = (this.dice.valueBetween(1, 6) + this.body);
 
         if (d10 >= 2 && d10 <= 10) {
             if (d10 == 10) {
                 damageResult *= 2;
-                attackMessage.append("Critical hit and deals ").append(damageResult).append(" physical damage.");
-            } else {
-                attackMessage.append("Hits and deals ").append(damageResult).append(" physical damage.");
             }
-            this.damageMessage = new StringBuilder(target.takeDamage(damageResult, this.damageType));
+            target.takeDamage(damageResult, this.damageType);
         } else {
-            attackMessage.append("Fails and deals 0 ").append(" physical damage.");
+            damageResult = 0;
         }
 
-        return whoToWho.toString() + "\n" + attackMessage.toString() + "\n" + damageMessage.toString() + "\n";
-    }
-
-    /**
-     * Resets the messages used to construct attack and damage descriptions.
-     */
-    void resetMessages() {
-        this.whoToWho.delete(0, this.whoToWho.length());
-        this.attackMessage.delete(0, this.attackMessage.length());
-        this.damageMessage.delete(0, this.damageMessage.length());
+        this.events.accept(new AttackEvent(this, target, d10, damageResult, this.damageType, d10 == 10, !target.isAlive()));
     }
 
     /**
      * Processes damage taken by the Adventurer.
      *
      * @param damage The amount of damage taken.
-     * @return A string describing the result of taking damage.
+     * @param damageType The type of the damage.
      */
     @Override
-    public String takeDamage(int damage, String damageType) {
-        resetDamageMessage();
-        this.hitPoints -= damage;
-        if (this.hitPoints <= 0) {
-            this.hitPoints = 0;
-            this.damageMessage.append(this.name).append(" falls unconscious.\n");
-        }
-        return this.damageMessage.toString();
-    }
-
-    /**
-     * Resets the damage message used to construct damage descriptions.
-     */
-    void resetDamageMessage() {
-        this.damageMessage.delete(0, damageMessage.length());
+    public void takeDamage(int damage, String damageType) {
+        updateHitPoints(Math.max(this.hitPoints - damage, 0));
     }
 
     /**
@@ -183,11 +151,8 @@ public class Adventurer extends BattleCharacter {
         if (this.hitPoints == 0) {
             return this.name + " is unconscious";
         } else {
-            int healAmount = Dice.valueBetween(1, 8) + this.mind;
-            this.hitPoints += healAmount;
-            if (this.hitPoints > this.maxHitPoints) {
-                this.hitPoints = this.maxHitPoints;
-            }
+            int healAmount = this.dice.valueBetween(1, 8) + this.mind;
+            updateHitPoints(Math.min(this.hitPoints + healAmount, this.maxHitPoints));
             return this.name + " uses Bandage time. Heals " + healAmount + " hit points.";
         }
     }
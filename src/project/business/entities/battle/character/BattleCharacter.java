@@ -15,6 +15,11 @@ public abstract class BattleCharacter extends BattleEntity {
      */
     protected int experiencePoints;
 
+    /**
+     * The experience points earned since they were last saved.
+     */
+    private int unsavedExperiencePoints;
+
     /**
      * The character's mind attribute, influencing rude abilities.
      */
@@ -78,6 +83,7 @@ public abstract class BattleCharacter extends BattleEntity {
         StringBuilder result = new StringBuilder();
 
         this.experiencePoints += xpGainedTotal;
+        this.unsavedExperiencePoints += xpGainedTotal;
         result.append(this.name).append(" gains ").append(xpGainedTotal).append(" xp. ").append(levelUp());
         switch (BattleCharacter.this) {
             case Warrior warrior -> result.append(warrior.checkWarriorLevelUp());
@@ -125,12 +131,25 @@ public abstract class BattleCharacter extends BattleEntity {
         return this.experiencePoints;
     }
 
+    /**
+     * Retrieves the experience points earned since the last time they were taken, and marks them as saved.
+     * Storages shared by many parties add them to the stored experience points instead of replacing them,
+     * so the experience points earned by the same character in other parties are not lost.
+     *
+     * @return The experience points earned since they were last taken.
+     */
+    public int takeUnsavedXP() {
+        int xp = this.unsavedExperiencePoints;
+        this.unsavedExperiencePoints = 0;
+        return xp;
+    }
+
     /**
      * Rolls the initiative of the character by rolling a X-sided die.
      */
     protected abstract void rollInitiative();
 
     protected void setHitPoints(int healing) {
-        this.hitPoints = Math.min(this.hitPoints + healing, this.maxHitPoints);
+        updateHitPoints(Math.min(this.hitPoints + healing, this.maxHitPoints));
     }
 }
@@ -0,0 +1,52 @@
+package project.business.entities.battle.character;
+
+import project.business.entities.character.Character;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class creates the battle characters that play an adventure from the stored characters.
+ */
+public final class BattleCharacterFactory {
+    /**
+     * The constructor is private to prevent instantiation.
+     */
+    private BattleCharacterFactory() {}
+
+    /**
+     * Creates the battle character that corresponds to the class of a stored character.
+     *
+     * @param character The stored character.
+     * @return A new battle character, or null if the class of the character is unknown.
+     */
+    public static BattleCharacter createBattleCharacter(Character character) {
+        return switch (character.clas()) {
+            case "Adventurer" -> new Adventurer(character.body(), character.mind(), character.spirit(), character.name(), character.xp());
+            case "Warrior" -> new Warrior(character.body(), character.mind(), character.spirit(), character.name(), character.xp());
+            case "Champion" -> new Champion(character.body(), character.mind(), character.spirit(), character.name(), character.xp());
+            case "Cleric" -> new Cleric(character.body(), character.mind(), character.spirit(), character.name(), character.xp());
+            case "Paladin" -> new Paladin(character.body(), character.mind(), character.spirit(), character.name(), character.xp());
+            case "Mage" -> new Mage(character.body(), character.mind(), character.spirit(), character.name(), character.xp());
+            default -> null;
+        };
+    }
+
+    /**
+     * Creates a new party of battle characters from the stored characters.
+     * Characters with an unknown class are left out of the party.
+     *
+     * @param characters The stored characters.
+     * @return A list with a new battle character for every stored character.
+     */
+    public static List<BattleCharacter> createParty(List<Character> characters) {
+        List<BattleCharacter> party = new ArrayList<>();
+        for (Character character : characters) {
+            BattleCharacter battleCharacter = createBattleCharacter(character);
+            if (battleCharacter != null) {
+                party.add(battleCharacter);
+            }
+        }
+        return party;
+    }
+}
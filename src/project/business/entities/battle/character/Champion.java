@@ -30,13 +30,13 @@ public class Champion extends Warrior {
 
 
     @Override
-    public String attack(BattleEntity target) {
-        return super.attack(target);
+    public void attack(BattleEntity target) {
+        super.attack(target);
     }
 
     public String improvedBandageTime() {
         int healAmount = this.maxHitPoints - this.hitPoints;
-        this.hitPoints = this.maxHitPoints;
+        updateHitPoints(this.maxHitPoints);
         return this.name + " uses Improved Bandage Time. Heals " + healAmount + " hit points.";
     }
 
@@ -1,7 +1,8 @@
 package project.business.entities.battle.character;
 
-import project.business.Dice;
 import project.business.entities.battle.BattleEntity;
+import project.business.entities.battle.events.HealEvent;
+import project.business.entities.battle.events.SpellEvent;
 
 import java.util.List;
 
@@ -29,9 +30,6 @@ public class Cleric extends BattleCharacter {
         this.experiencePoints = xp;
         this.level = calculateLevel(xp);
         this.hitPoints = this.maxHitPoints = calculateHitPoints();
-        this.whoToWho = new StringBuilder();
-        this.attackMessage = new StringBuilder();
-        this.damageMessage = new StringBuilder();
         this.evolvedToPaladin = false;
         this.characterType = "Cleric";
         this.damageType = "Magical";
@@ -65,23 +63,42 @@ public class Cleric extends BattleCharacter {
     }
 
     /**
-     * Performs an attack on a target BattleEntity.
+     * Performs an attack on a target BattleEntity, or heals a party member if anybody needs it.
      *
      * @param target The target BattleEntity to attack.
-     * @return A string describing the result of the attack.
      */
     @Override
-    public String attack(BattleEntity target) {
-        BattleCharacter targetCharacter = (BattleCharacter) target;
-        if (targetCharacter.getHitPoints() <= targetCharacter.maxHitPoints / 2) {
-            return prayerOfHealing(target);
+    public void attack(BattleEntity target) {
+        BattleCharacter partyMemberToHeal = getPartyMemberToHeal();
+        if (partyMemberToHeal != null) {
+            prayerOfHealing(partyMemberToHeal);
         } else {
-            return notOnMyWatch(target);
+            notOnMyWatch(target);
         }
     }
 
+    /**
+     * Processes damage taken by the Cleric.
+     *
+     * @param damage The amount of damage taken.
+     * @param damageType The type of the damage.
+     */
     @Override
-    public String takeDamage(int damage, String damageType) {
+    public void takeDamage(int damage, String damageType) {
+        updateHitPoints(Math.max(this.hitPoints - damage, 0));
+    }
+
+    /**
+     * Retrieves the first conscious party member whose hit points are at half or below.
+     *
+     * @return The party member that needs healing, or null if nobody needs it.
+     */
+    private BattleCharacter getPartyMemberToHeal() {
+        for (BattleCharacter character : party) {
+            if (character.isAlive() && character.getHitPoints() <= character.maxHitPoints / 2) {
+                return character;
+            }
+        }
         return null;
     }
 
@@ -98,25 +115,23 @@ public class Cleric extends BattleCharacter {
      * Performs a healing prayer on a target BattleEntity.
      *
      * @param target The target BattleEntity to heal.
-     * @return A string describing the result of the healing.
      */
-    public String prayerOfHealing(BattleEntity target) {
+    public void prayerOfHealing(BattleEntity target) {
         BattleCharacter targetCharacter = (BattleCharacter) target;
-        int healing = Dice.valueBetween(1, 10) + this.mind;
+        int healing = this.dice.valueBetween(1, 10) + this.mind;
         targetCharacter.setHitPoints(healing);
-        return this.name + " uses Prayer of Healing. " + target.getName() + " is healed for " + healing + " points.";
+        this.events.accept(new HealEvent(this, target, "Prayer of Healing", healing));
     }
 
     /**
      * Performs an attack on a target BattleEntity.
      *
      * @param target The target BattleEntity to attack.
-     * @return A string describing the result of the attack.
      */
-    public String notOnMyWatch(BattleEntity target) {
-        int damage = Dice.valueBetween(1, 4) + this.spirit;
-        String aux = target.takeDamage(damage, "psychical");
-        return this.name + " uses Not On My Watch. " + target.getName() + " takes " + damage + " psychical damage." + aux;
+    public void notOnMyWatch(BattleEntity target) {
+        int damage = this.dice.valueBetween(1, 4) + this.spirit;
+        target.takeDamage(damage, "Psychical");
+        this.events.accept(new SpellEvent(this, target, "Not On My Watch", damage, "Psychical", !target.isAlive()));
     }
 
     /**
@@ -125,7 +140,7 @@ public class Cleric extends BattleCharacter {
      * @return A string describing the result of the self-healing.
      */
     public String prayerOfSelfHealing() {
-        int healing = Dice.valueBetween(1, 10) + this.mind;
+        int healing = this.dice.valueBetween(1, 10) + this.mind;
         this.setHitPoints(healing);
         return this.name + " uses Prayer of Self-Healing. They are healed for " + healing + " points.";
     }
@@ -153,6 +168,6 @@ public class Cleric extends BattleCharacter {
 
     @Override
     public void rollInitiative() {
-        this.initiative = Dice.valueBetween(1, 10) + this.spirit;
+        this.initiative = this.dice.valueBetween(1, 10) + this.spirit;
     }
 }
\ No newline at end of file
@@ -1,12 +1,14 @@
 package project.business.entities.battle.character;
 
-import project.business.Dice;
 import project.business.entities.battle.BattleEntity;
+import project.business.entities.battle.events.AreaSpellEvent;
+import project.business.entities.battle.events.BattleEventSink;
+import project.business.entities.battle.events.SpellEvent;
+import project.business.entities.battle.monster.AreaHit;
 import project.business.entities.battle.monster.BattleMonster;
+import project.business.entities.battle.monster.MonsterTargets;
 
-import java.util.Comparator;
 import java.util.List;
-import java.util.Objects;
 
 /**
  * Represents a Mag character in a battle.
@@ -15,7 +17,7 @@ import java.util.Objects;
 public class Mage extends BattleCharacter {
     private String characterType;
     private int shield;
-    private List<BattleMonster> monsters;
+    private MonsterTargets monsters;
 
     /**
      * Constructs a Mag character with the given attributes.
@@ -34,9 +36,6 @@ public class Mage extends BattleCharacter {
         this.experiencePoints = xp;
         this.level = this.calculateLevel(xp);
         this.hitPoints = this.maxHitPoints = this.calculateMaxHealthPoints();
-        this.whoToWho = new StringBuilder();
-        this.attackMessage = new StringBuilder();
-        this.damageMessage = new StringBuilder();
         this.characterType = "Mage";
     }
 
@@ -52,12 +51,17 @@ public class Mage extends BattleCharacter {
         return shield;
     }
 
-    public void setMonsters(List<BattleMonster> monsters) {
+    /**
+     * Sets the monsters the Mage fights against.
+     *
+     * @param monsters The monsters, which are all hit by a fireball.
+     */
+    public void setMonsters(MonsterTargets monsters) {
         this.monsters = monsters;
     }
 
     private int calculateShield() {
-        return (Dice.valueBetween(1, 6) + this.mind) * this.level;
+        return (this.dice.valueBetween(1, 6) + this.mind) * this.level;
     }
 
     /**
@@ -79,61 +83,47 @@ public class Mage extends BattleCharacter {
      * Performs an attack on a target BattleEntity.
      *
      * @param target The target BattleEntity to attack.
-     * @return A string describing the result of the attack.
      */
     @Override
-    public String attack(BattleEntity target) {
-        long aliveMonstersCount = monsters.stream().filter(monster -> monster.getHitPoints() > 0).count();
+    public void attack(BattleEntity target) {
+        int aliveMonstersCount = this.monsters.aliveCount();
 
         if (aliveMonstersCount >= 3) {
-            return fireball();
-        } else {
-            BattleMonster bm = monsters.stream()
-                    .filter(monster -> monster.getHitPoints() > 0)
-                    .max(Comparator.comparingInt(BattleMonster::getHitPoints))
-                    .orElse(null);
-
-            return bm != null ? arcaneMissile(target) : "";
+            fireball();
+        } else if (aliveMonstersCount > 0) {
+            arcaneMissile(target);
         }
     }
 
 
     /**
-     * Performs a fireball attack on a list of target BattleMonsters.
+     * Performs a fireball attack on every alive monster.
      * <p>
-     * This method initiates a fireball attack by the caster BattleEntity
-     * on a list of target BattleMonsters. The fireball inflicts magical damage
-     * which is calculated as the sum of the caster's 'mind' attribute and
-     * a random value between 1 and 4 (inclusive). Each monster in the list
-     * takes the same amount of damage.
-     *
-     * @return A string describing the result of the attack, including the names
-     *         of the target BattleMonsters and the amount of damage inflicted.
+     * The fireball inflicts psychical damage which is calculated as the sum of
+     * the caster's 'mind' attribute and a random value between 1 and 4 (inclusive).
+     * Every alive monster takes the same amount of damage at once, and the monsters
+     * hit are only looked up if somebody is listening to the events.
      */
-    public String fireball() {
-        StringBuilder result = new StringBuilder();
-        StringBuilder dies = new StringBuilder();
-        result.append(this.name).append(" attacks ");
-
-        int damage = Dice.valueBetween(1, 4) + this.mind;
-        for (BattleMonster monster : this.monsters) {
-            dies.append(monster.takeDamage(damage, "Psychical"));
-            result.append(monster.getName()).append(" ");
+    public void fireball() {
+        int damage = this.dice.valueBetween(1, 4) + this.mind;
+        boolean report = this.events != BattleEventSink.NONE;
+        AreaHit hit = this.monsters.hitAll(damage, "Psychical", report);
+
+        if (report) {
+            List<BattleMonster> monsters = this.monsters.asList();
+            this.events.accept(new AreaSpellEvent(this, AreaHit.select(monsters, hit.targets()), "Fireball", damage, "Psychical", AreaHit.select(monsters, hit.down())));
         }
-
-        return result.append("with Fireball.\n").append("They take ").append(damage).append(" psychical damage.\n").append(dies).append("\n").toString();
     }
 
     /**
      * Performs an arcane missile attack on a target BattleEntity.
      *
      * @param target The target BattleEntity to attack.
-     * @return A string describing the result of the attack.
      */
-    public String arcaneMissile(BattleEntity target) {
-        int damage = Dice.valueBetween(1, 6) + this.mind;
-        String aux = target.takeDamage(damage, "Psychical");
-        return this.name + " uses Arcane Missile.\n" + target.getName() + " takes " + damage + " magical damage.\n" + aux + "\n";
+    public void arcaneMissile(BattleEntity target) {
+        int damage = this.dice.valueBetween(1, 6) + this.mind;
+        target.takeDamage(damage, "Magical");
+        this.events.accept(new SpellEvent(this, target, "Arcane Missile", damage, "Magical", !target.isAlive()));
     }
 
     /**
@@ -141,11 +131,9 @@ public class Mage extends BattleCharacter {
      *
      * @param damage The amount of damage to take.
      * @param damageType The type of damage.
-     * @return A string describing the result of taking damage.
      */
     @Override
-    public String takeDamage(int damage, String damageType) {
-        resetDamageMessage();
+    public void takeDamage(int damage, String damageType) {
 
         if (this.shield > 0) {
             if (this.shield >= damage) {
@@ -157,17 +145,7 @@ public class Mage extends BattleCharacter {
             }
         }
 
-        this.hitPoints -= damage;
-        if (this.hitPoints <= 0) {
-            this.hitPoints = 0;
-            this.damageMessage.append(this.name).append(" falls unconscious.\n");
-        }
-
-        return this.damageMessage.toString();
-    }
-
-    private void resetDamageMessage() {
-        this.damageMessage.delete(0, damageMessage.length());
+        updateHitPoints(Math.max(this.hitPoints - damage, 0));
     }
 
     public String readABook() {
@@ -176,6 +154,6 @@ public class Mage extends BattleCharacter {
 
     @Override
     public void rollInitiative() {
-        this.initiative = this.mind + Dice.valueBetween(1, 20);
+        this.initiative = this.mind + this.dice.valueBetween(1, 20);
     }
 }
\ No newline at end of file
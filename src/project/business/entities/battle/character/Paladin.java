@@ -1,7 +1,8 @@
 package project.business.entities.battle.character;
 
-import project.business.Dice;
 import project.business.entities.battle.BattleEntity;
+import project.business.entities.battle.events.PartyHealEvent;
+import project.business.entities.battle.events.SpellEvent;
 import project.business.entities.battle.monster.BattleMonster;
 
 import java.util.List;
@@ -11,8 +12,6 @@ import java.util.List;
  * A Paladin is a type of Adventurer with specific attributes and behaviors.
  */
 public final class Paladin extends Cleric {
-    private String characterType;
-
     /**
      * Constructs a Paladin character with the given attributes.
      *
@@ -40,7 +39,7 @@ public final class Paladin extends Cleric {
      */
     @Override
     public String prayerOfGoodLuck() {
-        int increase = Dice.valueBetween(1, 3);
+        int increase = this.dice.valueBetween(1, 3);
         this.mind += increase;
         for (BattleCharacter character : this.party) {
             character.mind += increase;
@@ -52,15 +51,14 @@ public final class Paladin extends Cleric {
      * Performs an attack on a target BattleEntity.
      *
      * @param target The target BattleEntity to attack.
-     * @return A string describing the result of the attack.
      */
     @Override
-    public String attack(BattleEntity target) {
+    public void attack(BattleEntity target) {
         BattleMonster targetCharacter = (BattleMonster) target;
         if (targetCharacter.getHitPoints() <= ((BattleMonster) target).getHitPoints() / 2) {
-            return prayerOfMassHealing();
+            prayerOfMassHealing();
         } else {
-            return notOnMyWatch(target);
+            notOnMyWatch(target);
         }
     }
 
@@ -68,24 +66,41 @@ public final class Paladin extends Cleric {
      * Performs an attack on a target BattleEntity.
      *
      * @param target The target BattleEntity to attack.
-     * @return A string describing the result of the attack.
      */
-    public String notOnMyWatch(BattleEntity target) {
-        int damage = Dice.valueBetween(1, 8) + this.spirit;
-        String aux = target.takeDamage(damage, "Psychical");
-        return this.name + " attacks " + target.getName() + " with Not On My Watch.\n" + target.getName() + " takes " + damage + " psychical damage.\n" + aux + "\n";
+    @Override
+    public void notOnMyWatch(BattleEntity target) {
+        int damage = this.dice.valueBetween(1, 8) + this.spirit;
+        target.takeDamage(damage, "Psychical");
+        this.events.accept(new SpellEvent(this, target, "Not On My Watch", damage, "Psychical", !target.isAlive()));
+    }
+
+    /**
+     * Performs a mass healing action during the battle.
+     */
+    public void prayerOfMassHealing() {
+        int healing = healParty();
+        this.events.accept(new PartyHealEvent(this, "Prayer of Mass Healing", healing));
     }
 
     /**
-     * Performs a mass healing action.
+     * Performs a mass healing action during the rest stage.
      * @return A string describing the result of the mass healing.
      */
-    public String prayerOfMassHealing() {
-        int healing = Dice.valueBetween(1, 10) + this.mind;
+    public String restWithPrayerOfMassHealing() {
+        int healing = healParty();
+        return this.name + " uses Prayer of Mass Healing. All party members are healed for " + healing + " points.";
+    }
+
+    /**
+     * Heals every party member by the same amount.
+     * @return The hit points healed to every party member.
+     */
+    private int healParty() {
+        int healing = this.dice.valueBetween(1, 10) + this.mind;
         for (BattleCharacter character : this.party) {
             character.setHitPoints(healing);
         }
-        return this.name + " uses Prayer of Mass Healing. All party members are healed for " + healing + " points.";
+        return healing;
     }
 
     /**
@@ -95,12 +110,11 @@ public final class Paladin extends Cleric {
      * @param type The type of damage to take.
      */
     @Override
-    public String takeDamage(int damage, String type) {
+    public void takeDamage(int damage, String type) {
         if (type.equals("Psychical")) {
             super.takeDamage(damage / 2, type);
         } else {
             super.takeDamage(damage, type);
         }
-        return "\n";
     }
 }
\ No newline at end of file
@@ -1,7 +1,7 @@
 package project.business.entities.battle.character;
 
-import project.business.Dice;
 import project.business.entities.battle.BattleEntity;
+import project.business.entities.battle.events.AttackEvent;
 
 /**
  * Represents a Warrior character in a battle.
@@ -32,54 +32,43 @@ public class Warrior extends Adventurer {
     }
 
     /**
-     * Performs an attack on a target BattleEntity.
+     * Performs an attack on a target BattleEntity and reports it to the event sink.
      *
      * @param target The target BattleEntity to attack.
-     * @return A string describing the result of the attack.
      */
     @Override
-    public String attack(BattleEntity target) {
-        resetMessages();
-        whoToWho.append(this.name).append(" attacks ").append(target.getName()).append(".");
-        return ImprovedSwordSlash(target);
+    public void attack(BattleEntity target) {
+        ImprovedSwordSlash(target);
     }
 
     /**
      * Rolls dice and calculates the damage result for an attack on a target BattleEntity.
      *
      * @param target The target BattleEntity to attack.
-     * @return A string describing the result of the attack.
      */
-    public String ImprovedSwordSlash(BattleEntity target) {
-        this.d10 = Dice.valueBetween(1, 10);
+    public void ImprovedSwordSlash(BattleEntity target) {
+        this.d10 = this.dice.valueBetween(1, 10);
         this.damageResult = (this.d10 + this.body);
 
         if (d10 >= 2 && d10 <= 10) {
-            attackMessage.append("Hits and deals ").append(damageResult).append(" physical damage.");
-            this.damageMessage = new StringBuilder(target.takeDamage(damageResult, super.getDamageType()));
+            target.takeDamage(damageResult, super.getDamageType());
         } else {
-            attackMessage.append("Fails and deals 0 ").append(" physical damage.");
+            damageResult = 0;
         }
 
-        return whoToWho.toString() + "\n" + attackMessage.toString() + "\n" + damageMessage.toString() + "\n";
+        this.events.accept(new AttackEvent(this, target, d10, damageResult, super.getDamageType(), false, !target.isAlive()));
     }
 
     /**
      * Processes damage taken by the Warrior.
      *
      * @param damage The amount of damage taken.
-     * @return A string describing the result of taking damage.
+     * @param damageType The type of the damage.
      */
     @Override
-    public String takeDamage(int damage, String damageType) {
-        resetDamageMessage();
+    public void takeDamage(int damage, String damageType) {
         damage = damageType.equals(super.getDamageType()) ? damage : damage / 2;
-        this.hitPoints -= damage;
-        if (this.hitPoints <= 0) {
-            this.hitPoints = 0;
-            this.damageMessage.append(this.name).append(" falls unconscious.\n");
-        }
-        return this.damageMessage.toString();
+        updateHitPoints(Math.max(this.hitPoints - damage, 0));
     }
 
     protected String checkWarriorLevelUp() {
@@ -0,0 +1,17 @@
+package project.business.entities.battle.events;
+
+import project.business.entities.battle.BattleEntity;
+
+import java.util.List;
+
+/**
+ * Record class that represents an ability that damages several targets at once.
+ *
+ * @param caster Entity that uses the ability.
+ * @param targets Entities that take the damage.
+ * @param ability Name of the ability.
+ * @param damage Damage dealt to every target.
+ * @param damageType Type of the damage dealt.
+ * @param targetsDown Targets that die or fall unconscious because of the ability.
+ */
+public record AreaSpellEvent(BattleEntity caster, List<? extends BattleEntity> targets, String ability, int damage, String damageType, List<? extends BattleEntity> targetsDown) implements BattleEvent {}
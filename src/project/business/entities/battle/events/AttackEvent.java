@@ -0,0 +1,25 @@
+package project.business.entities.battle.events;
+
+import project.business.entities.battle.BattleEntity;
+
+/**
+ * Record class that represents a weapon attack, in which the attacker rolls a d10 to hit its target.
+ *
+ * @param attacker Entity that attacks.
+ * @param target Entity that is attacked.
+ * @param roll Value of the d10 rolled to hit.
+ * @param damage Damage dealt to the target, 0 if the attack fails.
+ * @param damageType Type of the damage dealt.
+ * @param critical True if the attack is a critical hit.
+ * @param targetDown True if the target dies or falls unconscious because of the attack.
+ */
+public record AttackEvent(BattleEntity attacker, BattleEntity target, int roll, int damage, String damageType, boolean critical, boolean targetDown) implements BattleEvent {
+    /**
+     * Checks if the attack hits its target.
+     *
+     * @return True if the attack hits, false if it fails.
+     */
+    public boolean hit() {
+        return this.roll >= 2;
+    }
+}
@@ -0,0 +1,9 @@
+package project.business.entities.battle.events;
+
+/**
+ * Something that happened during a battle, such as an attack or a healing.
+ * <p>
+ * Battle entities report what they do as events to a {@link BattleEventSink} instead of building
+ * messages, so the text of the battle is only rendered when somebody is going to read it.
+ */
+public sealed interface BattleEvent permits AttackEvent, SpellEvent, AreaSpellEvent, HealEvent, PartyHealEvent {}
@@ -0,0 +1,19 @@
+package project.business.entities.battle.events;
+
+/**
+ * Receives the events of a battle as they happen.
+ */
+@FunctionalInterface
+public interface BattleEventSink {
+    /**
+     * A sink that ignores every event, used when nobody is watching the battle.
+     */
+    BattleEventSink NONE = event -> {};
+
+    /**
+     * Receives an event of the battle.
+     *
+     * @param event The event that has just happened.
+     */
+    void accept(BattleEvent event);
+}
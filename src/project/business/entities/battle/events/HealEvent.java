@@ -0,0 +1,13 @@
+package project.business.entities.battle.events;
+
+import project.business.entities.battle.BattleEntity;
+
+/**
+ * Record class that represents an ability that heals a single party member during the battle.
+ *
+ * @param healer Entity that uses the ability.
+ * @param target Entity that is healed.
+ * @param ability Name of the ability.
+ * @param healing Hit points healed.
+ */
+public record HealEvent(BattleEntity healer, BattleEntity target, String ability, int healing) implements BattleEvent {}
@@ -0,0 +1,12 @@
+package project.business.entities.battle.events;
+
+import project.business.entities.battle.BattleEntity;
+
+/**
+ * Record class that represents an ability that heals every party member during the battle.
+ *
+ * @param healer Entity that uses the ability.
+ * @param ability Name of the ability.
+ * @param healing Hit points healed to every party member.
+ */
+public record PartyHealEvent(BattleEntity healer, String ability, int healing) implements BattleEvent {}
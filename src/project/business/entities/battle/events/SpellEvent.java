@@ -0,0 +1,15 @@
+package project.business.entities.battle.events;
+
+import project.business.entities.battle.BattleEntity;
+
+/**
+ * Record class that represents an ability that damages a single target and never fails.
+ *
+ * @param caster Entity that uses the ability.
+ * @param target Entity that takes the damage.
+ * @param ability Name of the ability.
+ * @param damage Damage dealt to the target.
+ * @param damageType Type of the damage dealt.
+ * @param targetDown True if the target dies or falls unconscious because of the ability.
+ */
+public record SpellEvent(BattleEntity caster, BattleEntity target, String ability, int damage, String damageType, boolean targetDown) implements BattleEvent {}
@@ -0,0 +1,29 @@
+package project.business.entities.battle.monster;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Record class with the result of damaging every alive monster at once.
+ * The monsters are identified by their index in {@link MonsterTargets#asList()}.
+ *
+ * @param targets The monsters that were alive and took the damage.
+ * @param down The monsters that died because of the damage.
+ */
+public record AreaHit(BitSet targets, BitSet down) {
+    /**
+     * Retrieves the monsters of a set from the list they are indexed in.
+     *
+     * @param monsters The monsters, as returned by {@link MonsterTargets#asList()}.
+     * @param set Either {@link #targets()} or {@link #down()}.
+     * @return The monsters of the set, in order.
+     */
+    public static List<BattleMonster> select(List<BattleMonster> monsters, BitSet set) {
+        List<BattleMonster> selected = new ArrayList<>(set.cardinality());
+        for (int i = set.nextSetBit(0); i >= 0; i = set.nextSetBit(i + 1)) {
+            selected.add(monsters.get(i));
+        }
+        return selected;
+    }
+}
@@ -1,6 +1,5 @@
 package project.business.entities.battle.monster;
 
-import project.business.Dice;
 import project.business.entities.battle.BattleEntity;
 
 /**
@@ -34,6 +33,16 @@ public abstract class BattleMonster extends BattleEntity {
      */
     protected int experiencePoints;
 
+    /**
+     * The position of this monster in the {@link MonsterHeap} of the alive monsters, or -1 if it isn't in it.
+     */
+    int heapIndex = -1;
+
+    /**
+     * The order in which this monster was tracked by the {@link MonsterHeap}, used to break ties.
+     */
+    int heapOrder;
+
     /**
      * Creates a new instance of BattleMonster with the specified name, challenge, and encounter number.
      *
@@ -89,7 +98,7 @@ public abstract class BattleMonster extends BattleEntity {
      * @param hitPoints the hit points to be set.
      */
     public void setHitPoints(int hitPoints) {
-        this.hitPoints = hitPoints;
+        updateHitPoints(hitPoints);
     }
 
     /**
@@ -101,6 +110,15 @@ public abstract class BattleMonster extends BattleEntity {
         return hitPoints;
     }
 
+    /**
+     * Retrieves the challenge level or rating of this monster.
+     *
+     * @return the challenge of this monster.
+     */
+    public String getChallenge() {
+        return challenge;
+    }
+
     /**
      * Retrieves the encounter number of this monster.
      *
@@ -117,6 +135,6 @@ public abstract class BattleMonster extends BattleEntity {
      * @param damageDice the number of dice to be rolled for the initiative calculation.
      */
     public void rollInitiative(int initiative, int damageDice) {
-        this.initiative = initiative + Dice.valueBetween(1, damageDice);
+        this.initiative = initiative + this.dice.valueBetween(1, damageDice);
     }
 }
\ No newline at end of file
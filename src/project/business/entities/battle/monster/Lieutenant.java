@@ -1,7 +1,7 @@
 package project.business.entities.battle.monster;
 
-import project.business.Dice;
 import project.business.entities.battle.BattleEntity;
+import project.business.entities.battle.events.AttackEvent;
 
 /**
  * Represents a lieutenant monster in a game, extending the properties and behaviors of a BattleMonster.
@@ -31,81 +31,49 @@ public class Lieutenant extends BattleMonster {
         this.name = name;
         this.challenge = challenge;
         this.encounterNumber = encounter;
-        this.whoToWho = new StringBuilder();
-        this.attackMessage = new StringBuilder();
-        this.damageMessage = new StringBuilder();
+    }
+
+    /**
+     * Attacks the specified target BattleEntity and reports the attack to the event sink.
+     *
+     * @param target the BattleEntity to be attacked.
+     */
+    @Override
+    public void attack(BattleEntity target) {
+        this.rollDiceAndCalculateDamageResult(target);
     }
 
     /**
      * Rolls dice and calculates the damage to be dealt to the target BattleEntity.
-     * Also builds the attack message.
      *
      * @param target the BattleEntity to receive damage.
-     * @return a String containing the attack message.
      */
-    private String rollDiceAndCalculateDamageResult(BattleEntity target) {
-        this.d10 = Dice.valueBetween(1, 10);
-        this.damageResult = Dice.valueBetween(1, this.damageDice);
+    private void rollDiceAndCalculateDamageResult(BattleEntity target) {
+        this.d10 = this.dice.valueBetween(1, 10);
+        this.damageResult = this.dice.valueBetween(1, this.damageDice);
 
         if (d10 >= 2 && d10 <= 10) {
             if (d10 == 10) {
-                this.damageResult = Dice.valueBetween(1, this.damageDice) * 2;
-                attackMessage.append("Critical hit and deals ").append(damageResult).append(" ").append(this.damageType.toLowerCase()).append(" damage.");
+                this.damageResult = this.dice.valueBetween(1, this.damageDice) * 2;
             } else {
-                this.damageResult = Dice.valueBetween(1, this.damageDice);
-                attackMessage.append("Hits and deals ").append(damageResult).append(" ").append(this.damageType.toLowerCase()).append(" damage.");
+                this.damageResult = this.dice.valueBetween(1, this.damageDice);
             }
-            this.damageMessage = new StringBuilder(target.takeDamage(damageResult, this.damageType));
+            target.takeDamage(damageResult, this.damageType);
         } else {
-            attackMessage.append("Fails and deals 0 ").append(this.damageType.toLowerCase()).append(" damage.");
+            this.damageResult = 0;
         }
 
-        return whoToWho.toString() + "\n" + attackMessage.toString() + "\n" + damageMessage.toString() + "\n";
+        this.events.accept(new AttackEvent(this, target, d10, damageResult, this.damageType, d10 == 10, !target.isAlive()));
     }
 
     /**
-     * Attacks the specified target BattleEntity and returns the attack message.
-     *
-     * @param target the BattleEntity to be attacked.
-     * @return a String containing the attack message.
-     */
-    @Override
-    public String attack(BattleEntity target) {
-        resetMessages();
-        whoToWho.append(this.name).append(" attacks ").append(target.getName()).append(".");
-        return this.rollDiceAndCalculateDamageResult(target);
-    }
-
-    /**
-     * Resets the messages related to attacks.
-     */
-    private void resetMessages() {
-        whoToWho.delete(0, whoToWho.length());
-        attackMessage.delete(0, attackMessage.length());
-        damageMessage.delete(0, damageMessage.length());
-    }
-
-    /**
-     * Takes the specified damage and returns a message about the damage taken.
+     * Takes the specified damage.
      *
      * @param damage the amount of damage to be taken.
-     * @return a String containing the message about the damage taken.
+     * @param damageType the type of the damage.
      */
     @Override
-    public String takeDamage(int damage, String damageType) {
-        resetDamageMessage();
-        this.hitPoints -= damage;
-        if (this.hitPoints <= 0) {
-            this.hitPoints = 0;
-            this.damageMessage.append(this.name).append(" dies.\n");
-        }
-        return this.damageMessage.toString();
-    }
-
-    /**
-     * Resets the damage message.
-     */
-    private void resetDamageMessage() {
-        this.damageMessage.delete(0, damageMessage.length());
+    public void takeDamage(int damage, String damageType) {
+        updateHitPoints(Math.max(this.hitPoints - damage, 0));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,558 @@
+package project.business.entities.battle.monster;
+
+import project.business.Dice;
+import project.business.RandomSource;
+import project.business.entities.adventure.EncounterMonster;
+import project.business.entities.battle.BattleEntity;
+import project.business.entities.battle.events.AttackEvent;
+import project.business.entities.battle.events.BattleEventSink;
+import project.business.entities.monster.MonsterCatalog;
+import project.business.entities.monster.MonsterTemplate;
+
+import java.util.*;
+
+/**
+ * The monsters of an encounter, kept as primitive arrays indexed by the id of every monster instead of one
+ * object per monster, for battles with thousands of monsters.
+ * <p>
+ * The hit points, initiative, damage dice, damage type and experience points of every monster are stored in
+ * their own arrays, so attacks are resolved by loops over the arrays. The alive monsters are kept in an indexed
+ * min-heap of ids ordered by hit points, like {@link MonsterHeap}.
+ * <p>
+ * Every monster can also be seen as a {@link BattleMonster} through {@link #view(int)}, which reads and writes the
+ * arrays, so characters can attack the monsters of the encounter as usual. Views are only created when asked for,
+ * and can't be put in a turn order, since their turns are driven by the ids.
+ */
+public final class MonsterArrays implements MonsterTargets {
+    /**
+     * Number of the encounter the monsters belong to.
+     */
+    private final int encounter;
+
+    /**
+     * The kinds of monsters of the encounter, their base initiative from the catalog, and the kind of every monster.
+     */
+    private final EncounterMonster[] kinds;
+    private final int[] kindInitiative;
+    private final int[] kind;
+
+    /**
+     * The state of every monster, by id.
+     */
+    private final int[] hitPoints;
+    private final int[] initiative;
+    private final int[] damageDice;
+    private final int[] damageType;
+    private final int[] experiencePoints;
+
+    /**
+     * The damage types, indexed by the values of {@code damageType}.
+     */
+    private final List<String> damageTypes;
+
+    /**
+     * The ids of the alive monsters, as a min-heap by hit points, and the position of every id in it (-1 if dead).
+     */
+    private final int[] heap;
+    private final int[] position;
+    private int alive;
+
+    /**
+     * The words of the bitsets of the monsters hit and killed by the last reported area hit, kept between hits
+     * so that area spells don't allocate them every time.
+     */
+    private final long[] targetWords;
+    private final long[] downWords;
+
+    /**
+     * The views of the monsters, created when they are first asked for.
+     */
+    private final MonsterView[] views;
+
+    /**
+     * A read-only list with the views of every monster.
+     */
+    private final List<BattleMonster> list;
+
+    /**
+     * The random source the monsters roll their dice with.
+     */
+    private RandomSource dice;
+
+    /**
+     * The sink the attacks of the monsters are reported to.
+     */
+    private BattleEventSink events;
+
+    /**
+     * Creates the monsters of an encounter, with the stats from the catalog.
+     * Monsters that are not in the catalog have no hit points, so they never take part in the battle.
+     *
+     * @param encounter The number of the encounter.
+     * @param monsters  The kinds of monsters of the encounter, with their quantities.
+     * @param catalog   The catalog of every monster.
+     */
+    public MonsterArrays(int encounter, List<EncounterMonster> monsters, MonsterCatalog catalog) {
+        int size = 0;
+        for (EncounterMonster monster : monsters) {
+            size += monster.quantity();
+        }
+
+        this.encounter = encounter;
+        this.kinds = monsters.toArray(new EncounterMonster[0]);
+        this.kindInitiative = new int[this.kinds.length];
+        this.kind = new int[size];
+        this.hitPoints = new int[size];
+        this.initiative = new int[size];
+        this.damageDice = new int[size];
+        this.damageType = new int[size];
+        this.experiencePoints = new int[size];
+        this.damageTypes = new ArrayList<>();
+        this.heap = new int[size];
+        this.position = new int[size];
+        this.targetWords = new long[(size + 63) >>> 6];
+        this.downWords = new long[this.targetWords.length];
+        this.views = new MonsterView[size];
+        this.dice = Dice.source();
+        this.events = BattleEventSink.NONE;
+
+        Arrays.fill(this.damageType, -1);
+        int id = 0;
+        for (int k = 0; k < this.kinds.length; k++) {
+            MonsterTemplate template = catalog.get(this.kinds[k].name());
+            if (template != null) {
+                this.kindInitiative[k] = template.initiative();
+            }
+            for (int i = 0; i < this.kinds[k].quantity(); i++, id++) {
+                this.kind[id] = k;
+                if (template != null) {
+                    this.hitPoints[id] = template.hitPoints();
+                    this.damageDice[id] = template.damageDice();
+                    this.damageType[id] = damageTypeIndex(template.damageType());
+                    this.experiencePoints[id] = template.xp();
+                }
+            }
+        }
+
+        // The ids are already in order, and every monster of the same kind has the same hit points
+        Arrays.fill(this.position, -1);
+        for (id = 0; id < size; id++) {
+            if (this.hitPoints[id] > 0) {
+                this.heap[this.alive] = id;
+                this.position[id] = this.alive++;
+            }
+        }
+        for (int i = (this.alive >>> 1) - 1; i >= 0; i--) {
+            siftDown(i);
+        }
+
+        this.list = new AbstractList<>() {
+            @Override
+            public BattleMonster get(int index) {
+                return view(index);
+            }
+
+            @Override
+            public int size() {
+                return MonsterArrays.this.size();
+            }
+        };
+    }
+
+    /**
+     * Sets the random source the monsters roll their dice with.
+     *
+     * @param dice The random source.
+     */
+    public void setDice(RandomSource dice) {
+        this.dice = dice;
+    }
+
+    /**
+     * Sets the sink the attacks of the monsters are reported to.
+     *
+     * @param events The event sink.
+     */
+    public void setEventSink(BattleEventSink events) {
+        this.events = events;
+    }
+
+    /**
+     * Rolls the initiative of every monster that is in the catalog, in order.
+     */
+    public void rollInitiative() {
+        for (int id = 0; id < this.initiative.length; id++) {
+            if (this.damageDice[id] > 0) {
+                rollInitiative(id);
+            }
+        }
+    }
+
+    /**
+     * Rolls the initiative of a monster, like {@link BattleMonster#rollInitiative(int, int)} does with the
+     * initiative and damage dice from the catalog.
+     *
+     * @param id The id of the monster.
+     */
+    void rollInitiative(int id) {
+        this.initiative[id] = this.kindInitiative[this.kind[id]] + this.dice.valueBetween(1, this.damageDice[id]);
+    }
+
+    /**
+     * Makes a monster attack a target, with the same rolls as {@link Minion#attack(BattleEntity)}.
+     * The attack is only reported if somebody is listening to the events.
+     *
+     * @param id     The id of the monster.
+     * @param target The entity to be attacked.
+     */
+    public void attack(int id, BattleEntity target) {
+        int d10 = this.dice.valueBetween(1, 10);
+        int damage = this.dice.valueBetween(1, this.damageDice[id]);
+        String type = getDamageType(id);
+
+        if (d10 >= 2) {
+            if (d10 == 10) {
+                damage = this.dice.valueBetween(1, this.damageDice[id]) * 2;
+            } else {
+                damage = this.dice.valueBetween(1, this.damageDice[id]);
+            }
+            target.takeDamage(damage, type);
+        } else {
+            damage = 0;
+        }
+
+        if (this.events != BattleEventSink.NONE) {
+            this.events.accept(new AttackEvent(view(id), target, d10, damage, type, d10 == 10, !target.isAlive()));
+        }
+    }
+
+    /**
+     * Makes a monster take damage.
+     *
+     * @param id     The id of the monster.
+     * @param damage The damage taken.
+     */
+    public void takeDamage(int id, int damage) {
+        setHitPoints(id, Math.max(this.hitPoints[id] - damage, 0));
+    }
+
+    /**
+     * Sets the hit points of a monster, keeping the heap of alive monsters up to date.
+     *
+     * @param id        The id of the monster.
+     * @param hitPoints The new hit points.
+     */
+    public void setHitPoints(int id, int hitPoints) {
+        int previous = this.hitPoints[id];
+        this.hitPoints[id] = hitPoints;
+        int index = this.position[id];
+        if (index < 0) {
+            if (hitPoints > 0) {
+                this.heap[this.alive] = id;
+                this.position[id] = this.alive++;
+                siftUp(this.position[id]);
+            }
+        } else if (hitPoints <= 0) {
+            removeFromHeap(index);
+        } else if (hitPoints < previous) {
+            siftUp(index);
+        } else if (hitPoints > previous) {
+            siftDown(index);
+        }
+    }
+
+    /**
+     * Deals the same damage to every alive monster at once.
+     * <p>
+     * The deaths are found with a branch-free pass over the hit points, which only packs the alive and dying
+     * monsters into the words of two bitsets when the hit is reported, and the damage is applied with another
+     * branch-free pass, which the JIT compiler turns into SIMD instructions where the CPU has them. Dead monsters
+     * have 0 hit points, so the second pass can also go through them without bringing them back. Every survivor
+     * loses the same hit points, so their order is kept and the heap only has to drop the dead ones.
+     * <p>
+     * The words of the bitsets are reused by every hit, so only the bitsets of a reported hit are allocated.
+     *
+     * @param damage     The damage taken by every monster.
+     * @param damageType The type of the damage, which the monsters don't resist.
+     * @param report     Whether the monsters hit and killed are needed.
+     * @return The monsters that took the damage and the ones that died, by id, or null if the hit is not reported.
+     */
+    @Override
+    public AreaHit hitAll(int damage, String damageType, boolean report) {
+        int size = this.hitPoints.length;
+        long anyDies = 0;
+        if (report) {
+            long[] targets = this.targetWords;
+            long[] down = this.downWords;
+            Arrays.fill(targets, 0);
+            Arrays.fill(down, 0);
+            for (int id = 0; id < size; id++) {
+                int hitPoints = this.hitPoints[id];
+                long alive = hitPoints > 0 ? 1L : 0L;
+                long dies = alive & (hitPoints <= damage ? 1L : 0L);
+                targets[id >>> 6] |= alive << id;
+                down[id >>> 6] |= dies << id;
+                anyDies |= dies;
+            }
+        } else {
+            for (int id = 0; id < size; id++) {
+                int hitPoints = this.hitPoints[id];
+                anyDies |= (hitPoints > 0 ? 1L : 0L) & (hitPoints <= damage ? 1L : 0L);
+            }
+        }
+
+        if (damage < 0) {
+            // Healing would bring the dead monsters back, so only the alive ones are touched
+            for (int i = 0; i < this.alive; i++) {
+                this.hitPoints[this.heap[i]] -= damage;
+            }
+        } else {
+            int[] hitPoints = this.hitPoints;
+            for (int id = 0; id < size; id++) {
+                hitPoints[id] = Math.max(hitPoints[id] - damage, 0);
+            }
+        }
+
+        if (anyDies != 0) {
+            removeDeadFromHeap();
+        }
+        if (!report) {
+            return null;
+        }
+        return new AreaHit(BitSet.valueOf(this.targetWords), anyDies != 0 ? BitSet.valueOf(this.downWords) : new BitSet());
+    }
+
+    /**
+     * Returns the id of the alive monster with the lowest hit points, the lowest id among ties.
+     *
+     * @return The id, or -1 if there are no alive monsters.
+     */
+    public int lowestId() {
+        return this.alive == 0 ? -1 : this.heap[0];
+    }
+
+    @Override
+    public BattleMonster lowest() {
+        return this.alive == 0 ? null : view(this.heap[0]);
+    }
+
+    @Override
+    public int aliveCount() {
+        return this.alive;
+    }
+
+    @Override
+    public List<BattleMonster> asList() {
+        return this.list;
+    }
+
+    /**
+     * Retrieves a monster as a {@link BattleMonster}, which reads and writes the arrays.
+     *
+     * @param id The id of the monster.
+     * @return The view of the monster.
+     */
+    public BattleMonster view(int id) {
+        MonsterView view = this.views[id];
+        if (view == null) {
+            EncounterMonster monster = this.kinds[this.kind[id]];
+            view = new MonsterView(this, id, monster.name(), monster.challenge(), this.encounter);
+            this.views[id] = view;
+        }
+        return view;
+    }
+
+    /**
+     * Returns the number of monsters of the encounter, alive or not.
+     *
+     * @return The number of monsters.
+     */
+    public int size() {
+        return this.hitPoints.length;
+    }
+
+    /**
+     * Returns the total experience points awarded by the monsters of the encounter.
+     *
+     * @return The experience points.
+     */
+    public int experiencePoints() {
+        int total = 0;
+        for (int xp : this.experiencePoints) {
+            total += xp;
+        }
+        return total;
+    }
+
+    /**
+     * Determines if a monster is alive.
+     *
+     * @param id The id of the monster.
+     * @return True if the monster has more than 0 hit points, false otherwise.
+     */
+    public boolean isAlive(int id) {
+        return this.hitPoints[id] > 0;
+    }
+
+    /**
+     * @param id The id of the monster.
+     * @return The hit points of the monster.
+     */
+    public int getHitPoints(int id) {
+        return this.hitPoints[id];
+    }
+
+    /**
+     * @param id The id of the monster.
+     * @return The initiative of the monster.
+     */
+    public int getInitiative(int id) {
+        return this.initiative[id];
+    }
+
+    /**
+     * @param id The id of the monster.
+     * @return The number of sides of the damage dice of the monster.
+     */
+    public int getDamageDice(int id) {
+        return this.damageDice[id];
+    }
+
+    /**
+     * @param id The id of the monster.
+     * @return The type of damage the monster deals, or null if the monster is not in the catalog.
+     */
+    public String getDamageType(int id) {
+        return this.damageType[id] < 0 ? null : this.damageTypes.get(this.damageType[id]);
+    }
+
+    /**
+     * @param id The id of the monster.
+     * @return The experience points awarded for defeating the monster.
+     */
+    public int getExperiencePoints(int id) {
+        return this.experiencePoints[id];
+    }
+
+    /*
+     * Setters used by the views.
+     */
+    void setInitiative(int id, int initiative) {
+        this.initiative[id] = initiative;
+    }
+
+    void setDamageDice(int id, int damageDice) {
+        this.damageDice[id] = damageDice;
+    }
+
+    void setDamageType(int id, String damageType) {
+        this.damageType[id] = damageTypeIndex(damageType);
+    }
+
+    void setExperiencePoints(int id, int experiencePoints) {
+        this.experiencePoints[id] = experiencePoints;
+    }
+
+    RandomSource getDice() {
+        return this.dice;
+    }
+
+    /**
+     * Returns the index of a damage type, adding it if it is new.
+     *
+     * @param type The damage type.
+     * @return The index of the damage type.
+     */
+    private int damageTypeIndex(String type) {
+        int index = this.damageTypes.indexOf(type);
+        if (index < 0) {
+            this.damageTypes.add(type);
+            index = this.damageTypes.size() - 1;
+        }
+        return index;
+    }
+
+    /**
+     * Removes every dead monster from the heap at once, and rebuilds it with the alive ones.
+     */
+    private void removeDeadFromHeap() {
+        int kept = 0;
+        for (int i = 0; i < this.alive; i++) {
+            int id = this.heap[i];
+            if (this.hitPoints[id] > 0) {
+                this.heap[kept] = id;
+                this.position[id] = kept++;
+            } else {
+                this.position[id] = -1;
+            }
+        }
+        this.alive = kept;
+        for (int i = (this.alive >>> 1) - 1; i >= 0; i--) {
+            siftDown(i);
+        }
+    }
+
+    /**
+     * Removes the id at a position of the heap, filling the hole with the last id.
+     *
+     * @param index The position of the id.
+     */
+    private void removeFromHeap(int index) {
+        this.position[this.heap[index]] = -1;
+        int last = this.heap[--this.alive];
+        if (index < this.alive) {
+            this.heap[index] = last;
+            this.position[last] = index;
+            siftUp(index);
+            siftDown(this.position[last]);
+        }
+    }
+
+    private void siftUp(int index) {
+        int id = this.heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!before(id, this.heap[parent])) {
+                break;
+            }
+            this.heap[index] = this.heap[parent];
+            this.position[this.heap[index]] = index;
+            index = parent;
+        }
+        this.heap[index] = id;
+        this.position[id] = index;
+    }
+
+    private void siftDown(int index) {
+        int id = this.heap[index];
+        int half = this.alive >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            int right = child + 1;
+            if (right < this.alive && before(this.heap[right], this.heap[child])) {
+                child = right;
+            }
+            if (!before(this.heap[child], id)) {
+                break;
+            }
+            this.heap[index] = this.heap[child];
+            this.position[this.heap[index]] = index;
+            index = child;
+        }
+        this.heap[index] = id;
+        this.position[id] = index;
+    }
+
+    /**
+     * Tells if a monster goes before another one in the heap.
+     *
+     * @param id1 The id of the first monster.
+     * @param id2 The id of the second monster.
+     * @return True if the first monster has fewer hit points, or the same and a lower id.
+     */
+    private boolean before(int id1, int id2) {
+        int hitPoints1 = this.hitPoints[id1];
+        int hitPoints2 = this.hitPoints[id2];
+        return hitPoints1 < hitPoints2 || (hitPoints1 == hitPoints2 && id1 < id2);
+    }
+}
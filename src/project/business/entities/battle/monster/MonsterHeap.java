@@ -0,0 +1,206 @@
+package project.business.entities.battle.monster;
+
+import java.util.Arrays;
+
+/**
+ * Indexed binary min-heap of the alive monsters of an adventure, ordered by their hit points.
+ * <p>
+ * Every monster keeps its position in the heap, so that a monster can be moved when its hit points change
+ * and removed when it dies in O(log n), without searching for it. Monsters with the same hit points are ordered
+ * by the order they were tracked in. The heap doesn't allocate anything once it has grown to the size of the
+ * encounter.
+ */
+public final class MonsterHeap {
+    /**
+     * The monsters of the heap. Only the first {@code size} positions are used.
+     */
+    private BattleMonster[] heap;
+
+    /**
+     * Number of monsters in the heap.
+     */
+    private int size;
+
+    /**
+     * Number of monsters tracked so far, used to order the monsters with the same hit points.
+     */
+    private int tracked;
+
+    /**
+     * Creates an empty heap.
+     */
+    public MonsterHeap() {
+        this.heap = new BattleMonster[16];
+        this.size = 0;
+        this.tracked = 0;
+    }
+
+    /**
+     * Stops tracking every monster, leaving the heap empty.
+     */
+    public void clear() {
+        Arrays.fill(this.heap, 0, this.size, null);
+        this.size = 0;
+        this.tracked = 0;
+    }
+
+    /**
+     * Starts tracking a monster, adding it to the heap if it is alive.
+     * Monsters must be tracked in order, since that is how ties are broken.
+     *
+     * @param monster The monster.
+     */
+    public void track(BattleMonster monster) {
+        monster.heapOrder = this.tracked++;
+        monster.heapIndex = -1;
+        update(monster);
+    }
+
+    /**
+     * Updates the position of a tracked monster after its hit points have changed,
+     * adding it to the heap if it has come back and removing it if it has died.
+     *
+     * @param monster The monster.
+     */
+    public void update(BattleMonster monster) {
+        int index = monster.heapIndex;
+        if (index < 0) {
+            if (monster.isAlive()) {
+                insert(monster);
+            }
+        } else if (!monster.isAlive()) {
+            remove(index);
+        } else if (!siftUp(index)) {
+            siftDown(index);
+        }
+    }
+
+    /**
+     * Retrieves the alive monster with the lowest hit points, without removing it.
+     *
+     * @return The monster, or null if there are no alive monsters.
+     */
+    public BattleMonster lowest() {
+        return this.size == 0 ? null : this.heap[0];
+    }
+
+    /**
+     * Returns the number of alive monsters.
+     *
+     * @return The number of monsters in the heap.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Retrieves the alive monsters, in no particular order.
+     *
+     * @return A copy of the monsters in the heap.
+     */
+    public BattleMonster[] toArray() {
+        return Arrays.copyOf(this.heap, this.size);
+    }
+
+    /**
+     * Adds a monster at the end of the heap and moves it up to its place.
+     *
+     * @param monster The monster.
+     */
+    private void insert(BattleMonster monster) {
+        if (this.size == this.heap.length) {
+            this.heap = Arrays.copyOf(this.heap, this.size * 2);
+        }
+        place(monster, this.size++);
+        siftUp(monster.heapIndex);
+    }
+
+    /**
+     * Removes the monster at a position, filling the hole with the last monster of the heap.
+     *
+     * @param index The position of the monster.
+     */
+    private void remove(int index) {
+        BattleMonster removed = this.heap[index];
+        BattleMonster last = this.heap[--this.size];
+        this.heap[this.size] = null;
+        removed.heapIndex = -1;
+        if (index < this.size) {
+            place(last, index);
+            if (!siftUp(index)) {
+                siftDown(index);
+            }
+        }
+    }
+
+    /**
+     * Moves the monster at a position up while it goes before its parent.
+     *
+     * @param index The position of the monster.
+     * @return True if the monster has moved, false otherwise.
+     */
+    private boolean siftUp(int index) {
+        BattleMonster monster = this.heap[index];
+        int start = index;
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!before(monster, this.heap[parent])) {
+                break;
+            }
+            place(this.heap[parent], index);
+            index = parent;
+        }
+        place(monster, index);
+        return index != start;
+    }
+
+    /**
+     * Moves the monster at a position down while any of its children goes before it.
+     *
+     * @param index The position of the monster.
+     */
+    private void siftDown(int index) {
+        BattleMonster monster = this.heap[index];
+        int half = this.size >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            int right = child + 1;
+            if (right < this.size && before(this.heap[right], this.heap[child])) {
+                child = right;
+            }
+            if (!before(this.heap[child], monster)) {
+                break;
+            }
+            place(this.heap[child], index);
+            index = child;
+        }
+        place(monster, index);
+    }
+
+    /**
+     * Puts a monster at a position of the heap, keeping its index up to date.
+     *
+     * @param monster The monster.
+     * @param index   The position.
+     */
+    private void place(BattleMonster monster, int index) {
+        this.heap[index] = monster;
+        monster.heapIndex = index;
+    }
+
+    /**
+     * Tells if a monster goes before another one in the heap.
+     *
+     * @param monster1 The first monster.
+     * @param monster2 The second monster.
+     * @return True if the first monster has fewer hit points, or the same and was tracked before.
+     */
+    private static boolean before(BattleMonster monster1, BattleMonster monster2) {
+        int hitPoints1 = monster1.getHitPoints();
+        int hitPoints2 = monster2.getHitPoints();
+        if (hitPoints1 != hitPoints2) {
+            return hitPoints1 < hitPoints2;
+        }
+        return monster1.heapOrder < monster2.heapOrder;
+    }
+}
@@ -0,0 +1,104 @@
+package project.business.entities.battle.monster;
+
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The monsters of an encounter, kept as one object per monster, with their alive monsters ordered by hit points.
+ */
+public final class MonsterRoster implements MonsterTargets {
+    /**
+     * Every monster, in the order they were added.
+     */
+    private List<BattleMonster> monsters;
+
+    /**
+     * A read-only view of the monsters.
+     */
+    private List<BattleMonster> view;
+
+    /**
+     * The alive monsters, ordered by their hit points.
+     */
+    private final MonsterHeap alive;
+
+    /**
+     * Creates a roster over a list of monsters, which must only be modified through the roster.
+     *
+     * @param monsters The list the monsters are added to.
+     */
+    public MonsterRoster(List<BattleMonster> monsters) {
+        this.alive = new MonsterHeap();
+        setMonsters(monsters);
+    }
+
+    /**
+     * Replaces the monsters of the roster, when another encounter starts.
+     *
+     * @param monsters The list the monsters are added to, which must only be modified through the roster.
+     */
+    public void setMonsters(List<BattleMonster> monsters) {
+        this.monsters = monsters;
+        this.view = Collections.unmodifiableList(monsters);
+        this.alive.clear();
+        for (BattleMonster monster : monsters) {
+            this.alive.track(monster);
+        }
+    }
+
+    /**
+     * Adds a monster to the roster.
+     *
+     * @param monster The monster.
+     */
+    public void add(BattleMonster monster) {
+        this.monsters.add(monster);
+        this.alive.track(monster);
+    }
+
+    /**
+     * Updates the order of a monster of the roster after its hit points have changed.
+     *
+     * @param monster The monster.
+     */
+    public void update(BattleMonster monster) {
+        this.alive.update(monster);
+    }
+
+    @Override
+    public int aliveCount() {
+        return this.alive.size();
+    }
+
+    @Override
+    public BattleMonster lowest() {
+        return this.alive.lowest();
+    }
+
+    @Override
+    public List<BattleMonster> asList() {
+        return this.view;
+    }
+
+    @Override
+    public AreaHit hitAll(int damage, String damageType, boolean report) {
+        if (!report) {
+            for (BattleMonster monster : this.alive.toArray()) {
+                monster.takeDamage(damage, damageType);
+            }
+            return null;
+        }
+        // Monsters are tracked in the order they are added, so their order is also their index in the list
+        BitSet targets = new BitSet(this.monsters.size());
+        BitSet down = new BitSet(this.monsters.size());
+        for (BattleMonster monster : this.alive.toArray()) {
+            targets.set(monster.heapOrder);
+            monster.takeDamage(damage, damageType);
+            if (!monster.isAlive()) {
+                down.set(monster.heapOrder);
+            }
+        }
+        return new AreaHit(targets, down);
+    }
+}
@@ -0,0 +1,41 @@
+package project.business.entities.battle.monster;
+
+import java.util.List;
+
+/**
+ * The monsters the characters fight against, as seen by the characters when they choose their targets.
+ */
+public interface MonsterTargets {
+    /**
+     * Returns the number of monsters that are alive.
+     *
+     * @return The number of alive monsters.
+     */
+    int aliveCount();
+
+    /**
+     * Retrieves the alive monster with the lowest hit points. Among monsters with the same hit points,
+     * the first one is chosen.
+     *
+     * @return The monster, or null if there are no alive monsters.
+     */
+    BattleMonster lowest();
+
+    /**
+     * Retrieves every monster, alive or not, which are the ones hit by area spells.
+     *
+     * @return The monsters, in their order.
+     */
+    List<BattleMonster> asList();
+
+    /**
+     * Deals the same damage to every alive monster at once. Monsters that are already dead are left untouched.
+     *
+     * @param damage The damage taken by every monster.
+     * @param damageType The type of the damage.
+     * @param report Whether the monsters hit and killed are needed, so they aren't looked up otherwise.
+     * @return The monsters that took the damage and the ones that died, by their index in {@link #asList()},
+     * or null if the hit is not reported.
+     */
+    AreaHit hitAll(int damage, String damageType, boolean report);
+}
@@ -0,0 +1,89 @@
+package project.business.entities.battle.monster;
+
+import project.business.entities.battle.BattleEntity;
+
+/**
+ * A monster of a {@link MonsterArrays} seen as a {@link BattleMonster}.
+ * The view has no state of its own: every attribute is read from and written to the arrays.
+ */
+final class MonsterView extends BattleMonster {
+    /**
+     * The arrays the monster is kept in.
+     */
+    private final MonsterArrays arrays;
+
+    /**
+     * The id of the monster in the arrays.
+     */
+    private final int id;
+
+    /**
+     * Creates the view of a monster.
+     *
+     * @param arrays    the arrays the monster is kept in.
+     * @param id        the id of the monster in the arrays.
+     * @param name      the name of the monster.
+     * @param challenge the challenge level or rating of the monster.
+     * @param encounter the order in which this monster is encountered.
+     */
+    MonsterView(MonsterArrays arrays, int id, String name, String challenge, int encounter) {
+        super(name, challenge, encounter);
+        this.arrays = arrays;
+        this.id = id;
+    }
+
+    @Override
+    public void attack(BattleEntity target) {
+        this.arrays.attack(this.id, target);
+    }
+
+    @Override
+    public void takeDamage(int damage, String damageType) {
+        this.arrays.takeDamage(this.id, damage);
+    }
+
+    @Override
+    public boolean isAlive() {
+        return this.arrays.isAlive(this.id);
+    }
+
+    @Override
+    public int getHitPoints() {
+        return this.arrays.getHitPoints(this.id);
+    }
+
+    @Override
+    public void setHitPoints(int hitPoints) {
+        this.arrays.setHitPoints(this.id, hitPoints);
+    }
+
+    @Override
+    public int getInitiative() {
+        return this.arrays.getInitiative(this.id);
+    }
+
+    @Override
+    public void rollInitiative(int initiative, int damageDice) {
+        this.arrays.setInitiative(this.id, initiative + this.arrays.getDice().valueBetween(1, damageDice));
+    }
+
+    @Override
+    public void setDamageDice(int damageDice) {
+        this.arrays.setDamageDice(this.id, damageDice);
+    }
+
+    @Override
+    public void setDamageType(String damageType) {
+        this.arrays.setDamageType(this.id, damageType);
+    }
+
+    @Override
+    public int getExperiencePoints() {
+        return this.arrays.getExperiencePoints(this.id);
+    }
+
+    @Override
+    public void setExperiencePoints(int experiencePoints) {
+        this.arrays.setExperiencePoints(this.id, experiencePoints);
+    }
+}
@@ -0,0 +1,55 @@
+package project.business.entities.monster;
+
+import java.util.*;
+
+/**
+ * Immutable catalog of every monster that can appear in an adventure, indexed by name.
+ */
+public final class MonsterCatalog {
+    /**
+     * The templates of the monsters, by name.
+     */
+    private final Map<String, MonsterTemplate> templates;
+
+    /**
+     * Creates a catalog with the given monsters.
+     * If two monsters share the same name, the last one is kept.
+     *
+     * @param monsters The monsters of the catalog.
+     */
+    public MonsterCatalog(List<Monster> monsters) {
+        Map<String, MonsterTemplate> templates = new LinkedHashMap<>();
+        for (Monster monster : monsters) {
+            templates.put(monster.name(), MonsterTemplate.from(monster));
+        }
+        this.templates = Collections.unmodifiableMap(templates);
+    }
+
+    /**
+     * Retrieves the template of a monster.
+     *
+     * @param name The name of the monster.
+     * @return The template of the monster, or null if there is no monster with that name.
+     */
+    public MonsterTemplate get(String name) {
+        return this.templates.get(name);
+    }
+
+    /**
+     * Retrieves the templates of every monster of the catalog.
+     *
+     * @return The templates of the monsters, in the order they were given.
+     */
+    public Collection<MonsterTemplate> getTemplates() {
+        return this.templates.values();
+    }
+
+    /**
+     * Returns the number of monsters in the catalog.
+     *
+     * @return The number of monsters.
+     */
+    public int size() {
+        return this.templates.size();
+    }
+}
@@ -0,0 +1,26 @@
+package project.business.entities.monster;
+
+/**
+ * Record class that represents the stats shared by every monster with the same name,
+ * ready to be used in a battle without any further parsing.
+ *
+ * @param name Name of the monster.
+ * @param challenge Challenge rating of the monster.
+ * @param xp Experience points awarded for defeating the monster.
+ * @param hitPoints HitPoints of the monster.
+ * @param initiative Initiative of the monster.
+ * @param damageDice Number of sides of the damage dice of the monster.
+ * @param damageType Damage type of the monster.
+ */
+public record MonsterTemplate(String name, String challenge, int xp, int hitPoints, int initiative, int damageDice, String damageType) {
+    /**
+     * Creates the template of a monster, parsing its damage dice (e.g. "d12") into its number of sides.
+     *
+     * @param monster The monster.
+     * @return The template of the monster.
+     */
+    public static MonsterTemplate from(Monster monster) {
+        return new MonsterTemplate(monster.name(), monster.challenge(), monster.xp(), monster.hitPoints(),
+                monster.initiative(), Integer.parseInt(monster.damageDice().substring(1)), monster.damageType());
+    }
+}
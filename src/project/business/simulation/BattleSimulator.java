@@ -0,0 +1,145 @@
+package project.business.simulation;
+
+import project.business.SeededRandomSource;
+import project.business.entities.adventure.Adventure;
+import project.business.entities.battle.TurnOrder;
+import project.business.entities.battle.character.BattleCharacter;
+import project.business.entities.monster.Monster;
+import project.business.entities.monster.MonsterCatalog;
+import project.business.exceptions.FinishedBattleException;
+import project.business.exceptions.NonAliveMonsterException;
+import project.business.exceptions.RepeatedPartyCharacterException;
+
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Runs a whole adventure without any user interaction.
+ * <p>
+ * The simulator follows the same rules as the interactive battle driven by the Controller:
+ * every encounter has a preparation stage, an initiative roll and a combat stage, and after
+ * every cleared encounter the party gains experience and rests. No message is shown and
+ * nothing is persisted, so many simulations can be run one after the other.
+ */
+public class BattleSimulator {
+    /**
+     * The monsters that can appear in an adventure.
+     */
+    private final MonsterCatalog catalog;
+
+    /**
+     * Constructs a BattleSimulator with the monsters that can appear in the adventures.
+     *
+     * @param monsters the list of every monster
+     */
+    public BattleSimulator(List<Monster> monsters) {
+        this(new MonsterCatalog(monsters));
+    }
+
+    /**
+     * Constructs a BattleSimulator with the catalog of the monsters that can appear in the adventures.
+     *
+     * @param catalog the catalog of every monster
+     */
+    public BattleSimulator(MonsterCatalog catalog) {
+        this.catalog = catalog;
+    }
+
+    /**
+     * Simulates an adventure with a random seed.
+     *
+     * @param adventure the adventure to be played
+     * @param party the characters that will play the adventure
+     * @return the result of the simulation, which includes the seed used to roll the dice
+     * @throws RepeatedPartyCharacterException if a character appears twice in the party
+     * @see #simulate(Adventure, List, long)
+     */
+    public SimulationResult simulate(Adventure adventure, List<BattleCharacter> party) throws RepeatedPartyCharacterException {
+        return simulate(adventure, party, ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Simulates an adventure from its first encounter until the party completes it or falls unconscious.
+     * The adventure and the party members are modified by the simulation, so they should not be reused.
+     * Every dice of the battle is rolled from the given seed, so simulating a fresh copy of the same
+     * adventure and party with the same seed replays exactly the same battle.
+     *
+     * @param adventure the adventure to be played
+     * @param party the characters that will play the adventure
+     * @param seed the seed used to roll the dice of the battle
+     * @return the result of the simulation
+     * @throws RepeatedPartyCharacterException if a character appears twice in the party
+     */
+    public SimulationResult simulate(Adventure adventure, List<BattleCharacter> party, long seed) throws RepeatedPartyCharacterException {
+        adventure.setDice(new SeededRandomSource(seed));
+        for (BattleCharacter character : party) {
+            adventure.addCharacter(character);
+        }
+
+        int rounds = 0;
+        int encountersCleared = 0;
+        int xpGained = 0;
+        boolean partyWon = true;
+        try {
+            for (int encounter = 1; encounter <= adventure.getNumberOfEncounters(); encounter++) {
+                TurnOrder battleEntities = startEncounter(adventure, encounter);
+                try {
+                    while (true) {
+                        rounds++;
+                        playRound(adventure, battleEntities);
+                    }
+                } catch (NonAliveMonsterException e) {
+                    encountersCleared++;
+                    xpGained += adventure.calculateXPGainedForEachMonster();
+                    adventure.getXPGainedForEveryCharacter();
+                    adventure.getCharacterNamesAndRestAbilities();
+                }
+            }
+        } catch (FinishedBattleException e) {
+            partyWon = false;
+        }
+
+        Map<String, Integer> hitPointsLeft = new LinkedHashMap<>();
+        for (BattleCharacter character : adventure.getCharacters()) {
+            hitPointsLeft.put(character.getName(), character.getHitPoints());
+        }
+        return new SimulationResult(seed, partyWon, encountersCleared, rounds, Collections.unmodifiableMap(hitPointsLeft), xpGained);
+    }
+
+    /**
+     * Prepares the party, sets up the monsters and rolls the initiative of an encounter.
+     *
+     * @param adventure the adventure being played
+     * @param encounter the number of the encounter
+     * @return the turn order of the battle entities, sorted by their initiative
+     */
+    private TurnOrder startEncounter(Adventure adventure, int encounter) {
+        for (BattleCharacter character : adventure.getCharacters()) {
+            adventure.prepareCharacter(character);
+        }
+        adventure.rollMonstersInitiative(encounter, this.catalog);
+        adventure.rollCharactersInitiative();
+        return adventure.getInitiativeOrder(encounter);
+    }
+
+    /**
+     * Plays a single round, in which every alive battle entity attacks once.
+     *
+     * @param adventure the adventure being played
+     * @param battleEntities the turn order of the battle entities, sorted by their initiative
+     * @throws NonAliveMonsterException if all the monsters of the encounter have died
+     * @throws FinishedBattleException if all the characters have fallen unconscious
+     */
+    private void playRound(Adventure adventure, TurnOrder battleEntities) throws NonAliveMonsterException, FinishedBattleException {
+        // A round is a whole pass, so the defeated monsters leave the turn order when it ends
+        for (int turns = battleEntities.size(); turns > 0; turns--) {
+            adventure.manageAttack(battleEntities.next());
+        }
+
+        if (adventure.allMonstersDied()) {
+            throw new NonAliveMonsterException();
+        } else if (adventure.allCharactersDied()) {
+            throw new FinishedBattleException();
+        }
+    }
+}
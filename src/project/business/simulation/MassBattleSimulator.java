@@ -0,0 +1,193 @@
+package project.business.simulation;
+
+import project.business.RandomSource;
+import project.business.SeededRandomSource;
+import project.business.entities.adventure.Adventure;
+import project.business.entities.adventure.AdventurePlan;
+import project.business.entities.battle.character.BattleCharacter;
+import project.business.entities.battle.monster.MonsterArrays;
+import project.business.entities.monster.MonsterCatalog;
+import project.business.exceptions.FinishedBattleException;
+import project.business.exceptions.NonAliveMonsterException;
+import project.business.exceptions.RepeatedPartyCharacterException;
+
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Runs a whole adventure without any user interaction, keeping the monsters of every encounter in
+ * a {@link MonsterArrays} instead of one object per monster, for encounters with thousands of monsters.
+ * <p>
+ * The simulator follows the same rules and rolls the same dice in the same order as the {@link BattleSimulator},
+ * so simulating an adventure with the same party and seed gives the same result with both simulators.
+ * The characters are still played through their {@link Adventure}, while the turns of the monsters are
+ * resolved directly on the arrays.
+ */
+public class MassBattleSimulator {
+    /**
+     * The monsters that can appear in an adventure.
+     */
+    private final MonsterCatalog catalog;
+
+    /**
+     * Constructs a MassBattleSimulator with the catalog of the monsters that can appear in the adventures.
+     *
+     * @param catalog the catalog of every monster
+     */
+    public MassBattleSimulator(MonsterCatalog catalog) {
+        this.catalog = catalog;
+    }
+
+    /**
+     * Simulates an adventure with a random seed.
+     *
+     * @param plan the plan of the adventure to be played
+     * @param party the characters that will play the adventure
+     * @return the result of the simulation, which includes the seed used to roll the dice
+     * @throws RepeatedPartyCharacterException if a character appears twice in the party
+     * @see #simulate(AdventurePlan, List, long)
+     */
+    public SimulationResult simulate(AdventurePlan plan, List<BattleCharacter> party) throws RepeatedPartyCharacterException {
+        return simulate(plan, party, ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Simulates an adventure from its first encounter until the party completes it or falls unconscious.
+     * The party members are modified by the simulation, so they should not be reused.
+     *
+     * @param plan the plan of the adventure to be played
+     * @param party the characters that will play the adventure
+     * @param seed the seed used to roll the dice of the battle
+     * @return the result of the simulation
+     * @throws RepeatedPartyCharacterException if a character appears twice in the party
+     */
+    public SimulationResult simulate(AdventurePlan plan, List<BattleCharacter> party, long seed) throws RepeatedPartyCharacterException {
+        RandomSource dice = new SeededRandomSource(seed);
+        // The adventure has no monsters of its own, the party fights the arrays of every encounter
+        Adventure adventure = new Adventure(plan.getName(), plan.getNumberOfEncounters());
+        adventure.setDice(dice);
+        for (BattleCharacter character : party) {
+            adventure.addCharacter(character);
+        }
+
+        int rounds = 0;
+        int encountersCleared = 0;
+        int xpGained = 0;
+        boolean partyWon = true;
+        try {
+            for (int encounter = 1; encounter <= plan.getNumberOfEncounters(); encounter++) {
+                MonsterArrays monsters = new MonsterArrays(encounter, plan.getEncounter(encounter), this.catalog);
+                monsters.setDice(dice);
+                adventure.setMonsterTargets(monsters);
+
+                int[] turns = startEncounter(adventure, monsters);
+                try {
+                    while (true) {
+                        rounds++;
+                        turns = playRound(adventure, monsters, turns);
+                    }
+                } catch (NonAliveMonsterException e) {
+                    encountersCleared++;
+                    int xp = monsters.experiencePoints();
+                    xpGained += xp;
+                    for (BattleCharacter character : adventure.getCharacters()) {
+                        character.addExperiencePoints(xp);
+                    }
+                    adventure.getCharacterNamesAndRestAbilities();
+                }
+            }
+        } catch (FinishedBattleException e) {
+            partyWon = false;
+        }
+
+        Map<String, Integer> hitPointsLeft = new LinkedHashMap<>();
+        for (BattleCharacter character : adventure.getCharacters()) {
+            hitPointsLeft.put(character.getName(), character.getHitPoints());
+        }
+        return new SimulationResult(seed, partyWon, encountersCleared, rounds, Collections.unmodifiableMap(hitPointsLeft), xpGained);
+    }
+
+    /**
+     * Prepares the party and rolls the initiative of an encounter.
+     * The turns are numbered with the ids of the monsters, followed by the positions of the characters
+     * offset by the number of monsters.
+     *
+     * @param adventure the adventure being played
+     * @param monsters the monsters of the encounter
+     * @return the turns, sorted by initiative, where monsters go before characters with the same initiative
+     */
+    private int[] startEncounter(Adventure adventure, MonsterArrays monsters) {
+        List<BattleCharacter> characters = adventure.getCharacters();
+        for (BattleCharacter character : characters) {
+            adventure.prepareCharacter(character);
+        }
+        monsters.rollInitiative();
+        adventure.rollCharactersInitiative();
+
+        int size = monsters.size();
+        long[] keys = new long[size + characters.size()];
+        int turns = 0;
+        for (int id = 0; id < size; id++) {
+            if (monsters.isAlive(id)) {
+                keys[turns++] = turnKey(monsters.getInitiative(id), id);
+            }
+        }
+        for (int i = 0; i < characters.size(); i++) {
+            keys[turns++] = turnKey(characters.get(i).getInitiative(), size + i);
+        }
+        Arrays.sort(keys, 0, turns);
+
+        int[] order = new int[turns];
+        for (int i = 0; i < turns; i++) {
+            order[i] = (int) keys[i];
+        }
+        return order;
+    }
+
+    /**
+     * Packs a turn in a key that sorts by descending initiative, and then by ascending turn number.
+     *
+     * @param initiative the initiative of the turn
+     * @param turn the number of the turn
+     * @return the key of the turn
+     */
+    private static long turnKey(int initiative, int turn) {
+        return ((long) -initiative << 32) | turn;
+    }
+
+    /**
+     * Plays a single round, in which every alive battle entity attacks once, and removes the turns of
+     * the monsters that have died.
+     *
+     * @param adventure the adventure being played
+     * @param monsters the monsters of the encounter
+     * @param turns the turns, sorted by initiative
+     * @return the turns of the next round
+     * @throws NonAliveMonsterException if all the monsters of the encounter have died
+     * @throws FinishedBattleException if all the characters have fallen unconscious
+     */
+    private int[] playRound(Adventure adventure, MonsterArrays monsters, int[] turns) throws NonAliveMonsterException, FinishedBattleException {
+        int size = monsters.size();
+        List<BattleCharacter> characters = adventure.getCharacters();
+        int kept = 0;
+        for (int turn : turns) {
+            if (turn >= size) {
+                adventure.manageAttack(characters.get(turn - size));
+            } else if (monsters.isAlive(turn)) {
+                monsters.attack(turn, adventure.getCharacterToAttack());
+            }
+        }
+        for (int turn : turns) {
+            if (turn >= size || monsters.isAlive(turn)) {
+                turns[kept++] = turn;
+            }
+        }
+
+        if (adventure.allMonstersDied()) {
+            throw new NonAliveMonsterException();
+        } else if (adventure.allCharactersDied()) {
+            throw new FinishedBattleException();
+        }
+        return kept == turns.length ? turns : Arrays.copyOf(turns, kept);
+    }
+}
@@ -0,0 +1,144 @@
+package project.business.simulation;
+
+import project.business.entities.adventure.Adventure;
+import project.business.entities.battle.character.BattleCharacter;
+import project.business.entities.battle.character.BattleCharacterFactory;
+import project.business.entities.character.Character;
+import project.business.exceptions.RepeatedPartyCharacterException;
+
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Estimates how likely a party is to complete an adventure by simulating it many times.
+ * <p>
+ * Every simulation plays its own copy of the adventure with its own party, so the
+ * simulations don't share any state and are spread across all the cores with a parallel stream.
+ */
+public class MonteCarloEstimator {
+    /**
+     * The simulator used to play every adventure.
+     */
+    private final BattleSimulator simulator;
+
+    /**
+     * Constructs a MonteCarloEstimator that plays the adventures with the given simulator.
+     *
+     * @param simulator the battle simulator
+     */
+    public MonteCarloEstimator(BattleSimulator simulator) {
+        this.simulator = simulator;
+    }
+
+    /**
+     * Simulates an adventure with the same party many times, with a random seed.
+     *
+     * @param adventure the adventure to be played
+     * @param party the characters that will play the adventure
+     * @param simulations the number of simulations to run
+     * @return the statistics of the simulations, which include the seed they were rolled from
+     * @throws RepeatedPartyCharacterException if a character appears twice in the party
+     * @see #estimate(Adventure, List, int, long)
+     */
+    public MonteCarloReport estimate(Adventure adventure, List<Character> party, int simulations) throws RepeatedPartyCharacterException {
+        return estimate(adventure, party, simulations, ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Simulates an adventure with the same party many times and summarizes the results.
+     * The given adventure is only used as a template and is not modified.
+     * <p>
+     * Every simulation gets its own seed, derived from the given one before the simulations start,
+     * so the results don't depend on how the simulations are spread across the threads.
+     *
+     * @param adventure the adventure to be played
+     * @param party the characters that will play the adventure
+     * @param simulations the number of simulations to run
+     * @param seed the seed every simulation seed is derived from
+     * @return the statistics of the simulations
+     * @throws RepeatedPartyCharacterException if a character appears twice in the party
+     */
+    public MonteCarloReport estimate(Adventure adventure, List<Character> party, int simulations, long seed) throws RepeatedPartyCharacterException {
+        if (simulations <= 0) {
+            throw new IllegalArgumentException("The number of simulations must be positive");
+        }
+        validateParty(adventure, party);
+
+        long[] seeds = new SplittableRandom(seed).longs(simulations).toArray();
+        List<SimulationResult> results = IntStream.range(0, simulations)
+                .parallel()
+                .mapToObj(i -> simulate(adventure, party, seeds[i]))
+                .toList();
+
+        return summarize(seed, results);
+    }
+
+    /**
+     * Checks that the party can play the adventure before starting the simulations.
+     *
+     * @param adventure the adventure to be played
+     * @param party the characters that will play the adventure
+     * @throws RepeatedPartyCharacterException if a character appears twice in the party
+     */
+    private void validateParty(Adventure adventure, List<Character> party) throws RepeatedPartyCharacterException {
+        Adventure validation = adventure.copy();
+        for (BattleCharacter character : BattleCharacterFactory.createParty(party)) {
+            validation.addCharacter(character);
+        }
+    }
+
+    /**
+     * Runs a single simulation with a fresh copy of the adventure and the party.
+     *
+     * @param adventure the adventure to be played
+     * @param party the characters that will play the adventure
+     * @param seed the seed used to roll the dice of the simulation
+     * @return the result of the simulation
+     */
+    private SimulationResult simulate(Adventure adventure, List<Character> party, long seed) {
+        try {
+            return this.simulator.simulate(adventure.copy(), BattleCharacterFactory.createParty(party), seed);
+        } catch (RepeatedPartyCharacterException e) {
+            // The party has already been validated, so this can't happen
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Summarizes the results of the simulations.
+     *
+     * @param seed the seed every simulation seed was derived from
+     * @param results the results of every simulation
+     * @return the statistics of the simulations
+     */
+    private MonteCarloReport summarize(long seed, List<SimulationResult> results) {
+        int wins = 0;
+        long totalRounds = 0;
+        int[] rounds = new int[results.size()];
+        Map<String, Integer> deaths = new LinkedHashMap<>();
+
+        for (int i = 0; i < results.size(); i++) {
+            SimulationResult result = results.get(i);
+            if (result.partyWon()) {
+                wins++;
+            }
+            totalRounds += result.rounds();
+            rounds[i] = result.rounds();
+            for (Map.Entry<String, Integer> hitPoints : result.hitPointsLeft().entrySet()) {
+                deaths.merge(hitPoints.getKey(), hitPoints.getValue() == 0 ? 1 : 0, Integer::sum);
+            }
+        }
+
+        Arrays.sort(rounds);
+        int p95Index = (int) Math.ceil(0.95 * rounds.length) - 1;
+
+        Map<String, Double> deathRates = new LinkedHashMap<>();
+        for (Map.Entry<String, Integer> death : deaths.entrySet()) {
+            deathRates.put(death.getKey(), (double) death.getValue() / results.size());
+        }
+
+        return new MonteCarloReport(seed, results.size(), (double) wins / results.size(), (double) totalRounds / results.size(),
+                rounds[p95Index], Collections.unmodifiableMap(deathRates));
+    }
+}
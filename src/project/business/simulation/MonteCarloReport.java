@@ -0,0 +1,15 @@
+package project.business.simulation;
+
+import java.util.Map;
+
+/**
+ * Record class that represents the statistics of many simulations of the same adventure and party.
+ *
+ * @param seed Seed every simulation seed was derived from, which can be used to replay all of them.
+ * @param simulations Number of simulations that were run.
+ * @param winProbability Fraction of the simulations in which the party completed the adventure.
+ * @param meanRounds Mean number of combat rounds per simulation.
+ * @param p95Rounds 95th percentile of the number of combat rounds per simulation.
+ * @param deathRates Fraction of the simulations in which each party member ended unconscious, keyed by character name.
+ */
+public record MonteCarloReport(long seed, int simulations, double winProbability, double meanRounds, int p95Rounds, Map<String, Double> deathRates) {}
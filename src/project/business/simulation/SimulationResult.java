@@ -0,0 +1,15 @@
+package project.business.simulation;
+
+import java.util.Map;
+
+/**
+ * Record class that represents the outcome of a simulated adventure.
+ *
+ * @param seed Seed the dice of the battle were rolled with, which can be used to replay it.
+ * @param partyWon True if the party cleared every encounter, false if it fell unconscious.
+ * @param encountersCleared Number of encounters the party cleared.
+ * @param rounds Number of combat rounds played across all the encounters.
+ * @param hitPointsLeft Hit points left for every party member, keyed by character name.
+ * @param xpGained Experience points gained by each party member, which is the same for all of them, from the encounters cleared.
+ */
+public record SimulationResult(long seed, boolean partyWon, int encountersCleared, int rounds, Map<String, Integer> hitPointsLeft, int xpGained) {}
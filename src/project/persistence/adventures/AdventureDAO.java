@@ -1,6 +1,6 @@
 package project.persistence.adventures;
 
-import project.business.entities.adventure.Adventure;
+import project.business.entities.adventure.AdventurePlan;
 import project.persistence.exceptions.PersistenceException;
 
 import java.util.LinkedHashMap;
@@ -47,27 +47,14 @@ public interface AdventureDAO {
     List<String> getAllAdventuresNames() throws PersistenceException;
 
     /**
-     * Retrieves an adventure by its ID from the persistent storage.
-     * This method reads adventures from a JSON file and extracts the adventure
-     * corresponding to the provided ID. The method also deserializes the adventure
-     * data into an Adventure object, including its encounters and monsters.
+     * Retrieves the plan of an adventure by its ID from the persistent storage.
+     * This method reads the adventure corresponding to the provided ID from a JSON file,
+     * resolving all of its encounters and monsters at once, so that the file doesn't have
+     * to be read again while the adventure is played.
      *
      * @param id The ID of the adventure to retrieve.
-     * @return An Adventure object representing the adventure with the specified ID.
+     * @return The plan of the adventure with the specified ID.
      * @throws PersistenceException If an issue occurs while reading from the file or if the ID is invalid.
      */
-    Adventure getAdventureByID(int id) throws PersistenceException;
-
-    /**
-     * Retrieves the names and quantities of monsters in a specific encounter within an adventure.
-     * This method searches through adventures stored in a JSON file to find the specified adventure
-     * by its name. Within this adventure, it looks for the encounter at the provided index and retrieves
-     * the names and quantities of monsters in this encounter.
-     *
-     * @param encounterIndex The index of the encounter within the adventure (1-based).
-     * @param adventureName  The name of the adventure to search within.
-     * @return A list of monster names and quantities in the format "quantity x monsterName".
-     * @throws PersistenceException If an issue occurs while reading from the file or if the adventure or encounter is not found.
-     */
-    List<String> getMonsterNamesInEncounter(int encounterIndex, String adventureName) throws PersistenceException;
+    AdventurePlan getAdventurePlanByID(int id) throws PersistenceException;
 }
@@ -0,0 +1,135 @@
+package project.persistence.adventures;
+
+import project.business.entities.adventure.AdventurePlan;
+import project.persistence.exceptions.PersistenceException;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Class that implements the AdventureDAO interface by keeping the adventures in memory,
+ * on top of another AdventureDAO that is used as the persistent storage.
+ * <p>
+ * The plans of the adventures are immutable, so a plan read once is shared by everybody who plays it,
+ * and the class can be used by many threads at the same time. Saving an adventure goes to the storage
+ * right away and forgets the adventures in memory, so they are read again the next time.
+ * <p>
+ * Changes made to the storage by anybody else after the adventures have been read are not seen.
+ */
+public class CachedAdventureDAO implements AdventureDAO {
+    /**
+     * The DAO used as the persistent storage
+     */
+    private final AdventureDAO storage;
+
+    /**
+     * The names of every adventure, or null if they haven't been read yet
+     */
+    private volatile List<String> names;
+
+    /**
+     * The plans of the adventures read so far, by ID
+     */
+    private final Map<Integer, AdventurePlan> plans;
+
+    /**
+     * Constructor of the class that sets the DAO used as the persistent storage
+     *
+     * @param storage The DAO used as the persistent storage.
+     */
+    public CachedAdventureDAO(AdventureDAO storage) {
+        this.storage = storage;
+        this.plans = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Checks if an adventure with the given name already exists, ignoring case, using the names in memory.
+     *
+     * @param adventureName The name of the adventure to check for existence.
+     * @return True if an adventure with the given name already exists, false otherwise.
+     * @throws PersistenceException If the adventures couldn't be read.
+     */
+    @Override
+    public boolean adventureAlreadyExists(String adventureName) throws PersistenceException {
+        for (String name : loadNames()) {
+            if (adventureName.equalsIgnoreCase(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Saves an adventure to the storage, and forgets the adventures in memory.
+     *
+     * @param encounters    A list of LinkedHashMaps, each representing an encounter with
+     *                      monster names (with challenges) as keys and quantities as values.
+     * @param adventureName The name of the adventure to be saved.
+     * @throws PersistenceException If an issue occurs while writing to the storage.
+     */
+    @Override
+    public synchronized void saveAdventure(List<LinkedHashMap<String, Integer>> encounters, String adventureName) throws PersistenceException {
+        try {
+            this.storage.saveAdventure(encounters, adventureName);
+        } finally {
+            this.names = null;
+            this.plans.clear();
+        }
+    }
+
+    /**
+     * Retrieves the names of all adventures, without any disk access once they have been read.
+     *
+     * @return A new list with the adventure names.
+     * @throws PersistenceException If the adventures couldn't be read.
+     */
+    @Override
+    public List<String> getAllAdventuresNames() throws PersistenceException {
+        return new ArrayList<>(loadNames());
+    }
+
+    /**
+     * Retrieves the plan of an adventure by its ID, reading it from the storage only the first time.
+     *
+     * @param id The ID of the adventure to retrieve.
+     * @return The plan of the adventure with the specified ID.
+     * @throws PersistenceException If the adventure couldn't be read or if the ID is invalid.
+     */
+    @Override
+    public AdventurePlan getAdventurePlanByID(int id) throws PersistenceException {
+        AdventurePlan plan = this.plans.get(id);
+        if (plan == null) {
+            synchronized (this) {
+                plan = this.plans.get(id);
+                if (plan == null) {
+                    plan = this.storage.getAdventurePlanByID(id);
+                    this.plans.put(id, plan);
+                }
+            }
+        }
+        return plan;
+    }
+
+    /**
+     * Reads the names of the adventures from the storage if they haven't been read yet.
+     *
+     * @return The names of every adventure, which must not be modified.
+     * @throws PersistenceException If the adventures couldn't be read.
+     */
+    private List<String> loadNames() throws PersistenceException {
+        List<String> names = this.names;
+        if (names == null) {
+            synchronized (this) {
+                names = this.names;
+                if (names == null) {
+                    names = this.storage.getAllAdventuresNames();
+                    this.names = names;
+                }
+            }
+        }
+        return names;
+    }
+}
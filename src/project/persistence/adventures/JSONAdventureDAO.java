@@ -1,13 +1,17 @@
 package project.persistence.adventures;
 
+import com.fasterxml.jackson.core.JsonParser;
 import org.json.JSONArray;
 import org.json.JSONObject;
-import project.business.entities.adventure.Adventure;
+import project.business.entities.adventure.AdventurePlan;
+import project.business.entities.adventure.EncounterMonster;
 import project.persistence.exceptions.PersistenceException;
+import project.persistence.files.AtomicFile;
+import project.persistence.files.JsonStreams;
+import project.persistence.files.Snapshot;
+import project.persistence.files.SnapshotCache;
 
-import java.io.FileWriter;
 import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
@@ -24,11 +28,25 @@ public class JSONAdventureDAO implements AdventureDAO {
      * The path to the JSON file
      */
     private final String ADVENTURES_PATH;
+    /**
+     * The JSON file, which is always replaced atomically
+     */
+    private final AtomicFile file;
+    /**
+     * Kind of the records of the snapshot of the JSON file
+     */
+    private static final short SNAPSHOT_KIND = 3;
+    /**
+     * Snapshot of the JSON file, which the adventures are loaded from
+     */
+    private final SnapshotCache<AdventurePlan> snapshot;
     /**
      * Constructor of the class that sets the path to the JSON file
      */
     public JSONAdventureDAO() {
         this.ADVENTURES_PATH = "data/adventures.json";
+        this.file = new AtomicFile(ADVENTURES_PATH);
+        this.snapshot = new SnapshotCache<>(ADVENTURES_PATH, SNAPSHOT_KIND, JSONAdventureDAO::readAdventure, JSONAdventureDAO::writeAdventure);
     }
 
     /**
@@ -43,14 +61,8 @@ public class JSONAdventureDAO implements AdventureDAO {
     @Override
     public boolean adventureAlreadyExists(String adventureName) throws PersistenceException {
         try {
-            String content = new String(Files.readAllBytes(Paths.get(ADVENTURES_PATH)));
-            JSONArray adventures = new JSONArray(content);
-
-            for (int i = 0; i < adventures.length(); i++) {
-                JSONObject adventureObject = adventures.getJSONObject(i);
-                JSONObject adventure = adventureObject.getJSONObject("adventure");
-
-                if (adventureName.equalsIgnoreCase(adventure.getString("name"))) {
+            for (AdventurePlan adventure : loadAdventures()) {
+                if (adventure != null && adventureName.equalsIgnoreCase(adventure.getName())) {
                     return true;
                 }
             }
@@ -107,17 +119,14 @@ public class JSONAdventureDAO implements AdventureDAO {
 
         JSONObject adventureWrapper = new JSONObject();
         adventureWrapper.put("adventure", adventure);
-        JSONArray mainArray;
-        try {
-            String content = new String(Files.readAllBytes(Paths.get(ADVENTURES_PATH)));
-            mainArray = new JSONArray(content);
-        } catch (IOException e) {
-            mainArray = new JSONArray();
-        }
-        mainArray.put(adventureWrapper);
 
-        try (FileWriter file = new FileWriter(ADVENTURES_PATH)) {
-            file.write(mainArray.toString());
+        try {
+            this.file.locked(() -> {
+                JSONArray mainArray = this.file.exists() ? new JSONArray(this.file.read()) : new JSONArray();
+                mainArray.put(adventureWrapper);
+                this.file.write(mainArray.toString());
+                return null;
+            });
         } catch (IOException e) {
             throw new PersistenceException("Error: Couldn't open the Adventure's file", e);
         }
@@ -135,12 +144,8 @@ public class JSONAdventureDAO implements AdventureDAO {
     public List<String> getAllAdventuresNames() throws PersistenceException {
         List<String> adventureNames = new ArrayList<>();
         try {
-            String content = new String(Files.readAllBytes(Paths.get(ADVENTURES_PATH)));
-            JSONArray adventuresArray = new JSONArray(content);
-            for (int i = 0; i < adventuresArray.length(); i++) {
-                JSONObject adventureObject = adventuresArray.getJSONObject(i).getJSONObject("adventure");
-                String adventureName = adventureObject.getString("name");
-                adventureNames.add(adventureName);
+            for (AdventurePlan adventure : loadAdventures()) {
+                adventureNames.add(adventure == null ? null : adventure.getName());
             }
         } catch (Exception e) {
             throw new PersistenceException("Error: Couldn't open the Adventure's file", e);
@@ -149,39 +154,26 @@ public class JSONAdventureDAO implements AdventureDAO {
     }
 
     /**
-     * Retrieves an adventure by its ID from the persistent storage.
-     * This method reads adventures from a JSON file and extracts the adventure
-     * corresponding to the provided ID. The method also deserializes the adventure
-     * data into an Adventure object, including its encounters and monsters.
+     * Retrieves the plan of an adventure by its ID from the persistent storage.
+     * This method reads the adventure corresponding to the provided ID from a JSON file,
+     * resolving all of its encounters and monsters at once, so that the file doesn't have
+     * to be read again while the adventure is played.
      *
      * @param id The ID of the adventure to retrieve.
-     * @return An Adventure object representing the adventure with the specified ID.
+     * @return The plan of the adventure with the specified ID.
      * @throws PersistenceException If an issue occurs while reading from the file or if the ID is invalid.
      */
     @Override
-    public Adventure getAdventureByID(int id) throws PersistenceException {
-        Adventure adventure;
+    public AdventurePlan getAdventurePlanByID(int id) throws PersistenceException {
+        AdventurePlan adventure;
         try {
-            String content = new String(Files.readAllBytes(Paths.get(ADVENTURES_PATH)));
-            JSONArray adventuresArray = new JSONArray(content);
-
-            JSONObject adventureObject = adventuresArray.getJSONObject(id).getJSONObject("adventure");
-            String name = adventureObject.getString("name");
-            int numberOfEncounters = adventureObject.getInt("numberOfEncounters");
-            JSONArray encounters = adventureObject.getJSONArray("encounters");
-            adventure = new Adventure(name, numberOfEncounters);
-
-            for (int i = 0; i < encounters.length(); i++) {
-                JSONObject encounter = encounters.getJSONObject(i);
-                JSONArray monsters = encounter.getJSONArray("monsters");
-
-                for (int j = 0; j < monsters.length(); j++) {
-                    JSONObject monsterObject = monsters.getJSONObject(j);
-                    String monsterName = monsterObject.getString("name");
-                    String challenge = monsterObject.getString("challenge");
-                    int quantity = monsterObject.getInt("quantity");
-                    adventure.insertNewMonster(monsterName, challenge, quantity, encounter.getInt("number"));
-                }
+            List<AdventurePlan> adventures = loadAdventures();
+            if (id < 0 || id >= adventures.size()) {
+                throw new IOException("There is no adventure with ID " + id);
+            }
+            adventure = adventures.get(id);
+            if (adventure == null) {
+                throw new IOException("The adventure with ID " + id + " is empty");
             }
         } catch (Exception e) {
             throw new PersistenceException("Error: Couldn't open the Adventure's file", e);
@@ -191,49 +183,150 @@ public class JSONAdventureDAO implements AdventureDAO {
     }
 
     /**
-     * Retrieves the names and quantities of monsters in a specific encounter within an adventure.
-     * This method searches through adventures stored in a JSON file to find the specified adventure
-     * by its name. Within this adventure, it looks for the encounter at the provided index and retrieves
-     * the names and quantities of monsters in this encounter.
+     * Loads every adventure, from the snapshot of the JSON file if it is up to date.
      *
-     * @param encounterIndex The index of the encounter within the adventure (1-based).
-     * @param adventureName  The name of the adventure to search within.
-     * @return A list of monster names and quantities in the format "quantity x monsterName".
-     * @throws PersistenceException If an issue occurs while reading from the file or if the adventure or encounter is not found.
+     * @return The plans of the adventures, in order, with null for the entries that have no adventure.
+     * @throws IOException If the file couldn't be read.
      */
-    @Override
-    public List<String> getMonsterNamesInEncounter(int encounterIndex, String adventureName) throws PersistenceException {
-        List<String> monsterNames = new ArrayList<>();
+    private List<AdventurePlan> loadAdventures() throws IOException {
+        return this.snapshot.load(() -> {
+            List<AdventurePlan> adventures = new ArrayList<>();
+            try (JsonParser parser = JsonStreams.openArray(Paths.get(ADVENTURES_PATH))) {
+                while (JsonStreams.nextObject(parser)) {
+                    AdventurePlan adventure = null;
+                    String field;
+                    while ((field = JsonStreams.nextField(parser)) != null) {
+                        if (field.equals("adventure")) {
+                            adventure = readAdventure(parser);
+                        } else {
+                            parser.skipChildren();
+                        }
+                    }
+                    adventures.add(adventure);
+                }
+            }
+            return adventures;
+        });
+    }
 
-        try {
-            JSONArray adventuresArray = new JSONArray(new String(Files.readAllBytes(Paths.get(ADVENTURES_PATH))));
-            JSONObject selectedAdventure = null;
-            for (int i = 0; i < adventuresArray.length(); i++) {
-                JSONObject adventureWrapper = adventuresArray.getJSONObject(i);
-                JSONObject adventure = adventureWrapper.getJSONObject("adventure");
-                if (adventure.getString("name").equals(adventureName)) {
-                    selectedAdventure = adventure;
-                    break;
+    /**
+     * Reads an adventure from the snapshot of the JSON file.
+     *
+     * @param snapshot The snapshot, placed at the start of the adventure record.
+     * @return The plan of the adventure, or null if the entry has no adventure.
+     * @throws IOException If the record is corrupt.
+     */
+    private static AdventurePlan readAdventure(Snapshot snapshot) throws IOException {
+        if (snapshot.readInt() == 0) {
+            return null;
+        }
+        String name = snapshot.readString();
+        int numberOfEncounters = snapshot.readInt();
+        int count = snapshot.readInt();
+        List<EncounterMonster> monsters = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            monsters.add(new EncounterMonster(snapshot.readString(), snapshot.readString(), snapshot.readInt(), snapshot.readInt()));
+        }
+        return new AdventurePlan(name, numberOfEncounters, monsters);
+    }
+
+    /**
+     * Writes an adventure to the snapshot of the JSON file.
+     *
+     * @param adventure The plan of the adventure, or null if the entry has no adventure.
+     * @param snapshot The writer of the snapshot.
+     */
+    private static void writeAdventure(AdventurePlan adventure, Snapshot.Writer snapshot) {
+        snapshot.writeInt(adventure == null ? 0 : 1);
+        if (adventure != null) {
+            List<EncounterMonster> monsters = adventure.getMonsters();
+            snapshot.writeString(adventure.getName());
+            snapshot.writeInt(adventure.getNumberOfEncounters());
+            snapshot.writeInt(monsters.size());
+            for (EncounterMonster monster : monsters) {
+                snapshot.writeString(monster.name());
+                snapshot.writeString(monster.challenge());
+                snapshot.writeInt(monster.quantity());
+                snapshot.writeInt(monster.encounter());
+            }
+        }
+    }
+
+    /**
+     * Reads an adventure with its encounters and monsters.
+     * Since the name and the number of encounters can come after the encounters, the monsters are kept
+     * until the whole adventure has been read.
+     *
+     * @param parser The parser, placed at the start of the adventure object.
+     * @return The plan of the adventure.
+     * @throws IOException If the file couldn't be read.
+     */
+    private AdventurePlan readAdventure(JsonParser parser) throws IOException {
+        String name = null;
+        int numberOfEncounters = 0;
+        List<EncounterMonster> monsters = new ArrayList<>();
+
+        String field;
+        while ((field = JsonStreams.nextField(parser)) != null) {
+            switch (field) {
+                case "name" -> name = parser.getText();
+                case "numberOfEncounters" -> numberOfEncounters = parser.getIntValue();
+                case "encounters" -> {
+                    while (JsonStreams.nextObject(parser)) {
+                        monsters.addAll(readEncounter(parser));
+                    }
                 }
+                default -> parser.skipChildren();
             }
+        }
+
+        if (name == null) {
+            throw new IOException("Adventure without name");
+        }
+        return new AdventurePlan(name, numberOfEncounters, monsters);
+    }
+
+    /**
+     * Reads the monsters of an encounter.
+     *
+     * @param parser The parser, placed at the start of the encounter object.
+     * @return The monsters of the encounter.
+     * @throws IOException If the file couldn't be read.
+     */
+    private List<EncounterMonster> readEncounter(JsonParser parser) throws IOException {
+        int number = 0;
+        List<EncounterMonster> monsters = new ArrayList<>();
 
-            if (selectedAdventure != null) {
-                JSONArray encountersArray = selectedAdventure.getJSONArray("encounters");
-                if (encounterIndex > 0 && encounterIndex <= encountersArray.length()) {
-                    JSONObject selectedEncounter = encountersArray.getJSONObject(encounterIndex - 1);
-                    JSONArray monsterArray = selectedEncounter.getJSONArray("monsters");
-
-                    for (int i = 0; i < monsterArray.length(); i++) {
-                        JSONObject monster = monsterArray.getJSONObject(i);
-                        String monsterName = monster.getString("name");
-                        int quantity = monster.getInt("quantity");
-                        monsterNames.add("\t- " + quantity + "x " + monsterName);
+        String field;
+        while ((field = JsonStreams.nextField(parser)) != null) {
+            switch (field) {
+                case "number" -> number = parser.getIntValue();
+                case "monsters" -> {
+                    while (JsonStreams.nextObject(parser)) {
+                        String monsterName = null;
+                        String challenge = null;
+                        int quantity = 0;
+                        String monsterField;
+                        while ((monsterField = JsonStreams.nextField(parser)) != null) {
+                            switch (monsterField) {
+                                case "name" -> monsterName = parser.getText();
+                                case "challenge" -> challenge = parser.getText();
+                                case "quantity" -> quantity = parser.getIntValue();
+                                default -> parser.skipChildren();
+                            }
+                        }
+                        monsters.add(new EncounterMonster(monsterName, challenge, quantity, 0));
                     }
                 }
+                default -> parser.skipChildren();
             }
-        } catch (IOException e) {
-            throw new PersistenceException("Error: Couldn't open the Adventure's file", e);
         }
-        return monsterNames;
+
+        // The number of the encounter can come after its monsters
+        List<EncounterMonster> result = new ArrayList<>(monsters.size());
+        for (EncounterMonster monster : monsters) {
+            result.add(new EncounterMonster(monster.name(), monster.challenge(), monster.quantity(), number));
+        }
+        return result;
     }
 }
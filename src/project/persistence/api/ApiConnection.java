@@ -1,6 +1,7 @@
 package project.persistence.api;
 
 import project.business.entities.adventure.Adventure;
+import project.business.entities.adventure.AdventurePlan;
 import project.business.entities.battle.character.BattleCharacter;
 import project.business.entities.character.Character;
 import project.business.entities.monster.Monster;
@@ -8,7 +9,14 @@ import project.persistence.exceptions.ApiServerException;
 
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
+/**
+ * Interface with the requests sent to the API.
+ * Every request has an asynchronous twin, whose future fails with an ApiServerException wrapped in a
+ * CompletionException if the server can't be reached or doesn't answer in time. The blocking methods
+ * wait for their asynchronous twin.
+ */
 public interface ApiConnection {
     boolean checkIfApiServerIsUp();
     void createCharacter(Character character);
@@ -16,11 +24,52 @@ public interface ApiConnection {
     List<Character> getCharacterByPlayerFromApi(String name);
     void deleteCharacterFromApi(int position);
     void saveAdventureToApi(List<LinkedHashMap<String, Integer>> encounters, String adventureName) throws ApiServerException;
-    Adventure getAdventureByID(int adventureIndex);
+    AdventurePlan getAdventurePlanByID(int adventureIndex);
     Character getCharacterByID(int whichCharacter);
-    List<String> getMonsterNamesInEncounter(int encounterIndex, String adventureName);
     void addCharacterToApi(Character updatedCharacter);
     List<Adventure> getAdventuresFromApi();
     List<Monster> getMonstersFromApi();
     void deleteAllCharacters() throws ApiServerException;
+
+    /**
+     * Updates the experience points (XP) and the class of the given characters in the API.
+     * <p>
+     * The API can't modify a character in place, so every changed character is deleted and posted again, which
+     * moves it to the end of the list, after the characters that haven't changed and in the order the changed
+     * ones had. The positions of the characters, as used by {@link #getCharacterByID(int)} and
+     * {@link #deleteCharacterFromApi(int)}, are therefore different after an update.
+     *
+     * @param characters The characters with their updated XP.
+     * @throws ApiServerException If the characters couldn't be updated.
+     */
+    void updateCharactersXP(List<BattleCharacter> characters) throws ApiServerException;
+
+    CompletableFuture<Boolean> checkIfApiServerIsUpAsync();
+    CompletableFuture<Void> createCharacterAsync(Character character);
+    CompletableFuture<List<Character>> getCharactersFromApiAsync();
+    CompletableFuture<List<Character>> getCharacterByPlayerFromApiAsync(String name);
+    CompletableFuture<Void> deleteCharacterFromApiAsync(int position);
+    CompletableFuture<Void> saveAdventureToApiAsync(List<LinkedHashMap<String, Integer>> encounters, String adventureName);
+    CompletableFuture<AdventurePlan> getAdventurePlanByIDAsync(int adventureIndex);
+    CompletableFuture<Character> getCharacterByIDAsync(int whichCharacter);
+    CompletableFuture<Void> addCharacterToApiAsync(Character updatedCharacter);
+    CompletableFuture<List<Adventure>> getAdventuresFromApiAsync();
+    CompletableFuture<List<Monster>> getMonstersFromApiAsync();
+    CompletableFuture<Void> deleteAllCharactersAsync();
+
+    /**
+     * Asynchronous version of {@link #updateCharactersXP(List)}, which moves the changed characters in the same way.
+     *
+     * @param characters The characters with their updated XP.
+     * @return A future completed when every character has been updated.
+     */
+    CompletableFuture<Void> updateCharactersXPAsync(List<BattleCharacter> characters);
+
+    /*
+     * Conditional requests: the future is completed with the same cached response if the collection hasn't
+     * changed since it was received, or with the new collection otherwise. A null cached response always gets it.
+     */
+    CompletableFuture<VersionedResponse<List<Adventure>>> getAdventuresFromApiIfModifiedAsync(VersionedResponse<List<Adventure>> cached);
+    CompletableFuture<VersionedResponse<List<Character>>> getCharactersFromApiIfModifiedAsync(VersionedResponse<List<Character>> cached);
+    CompletableFuture<VersionedResponse<List<Monster>>> getMonstersFromApiIfModifiedAsync(VersionedResponse<List<Monster>> cached);
 }
@@ -6,6 +6,9 @@ import org.jetbrains.annotations.NotNull;
 import org.json.JSONArray;
 import org.json.JSONObject;
 import project.business.entities.adventure.Adventure;
+import project.business.entities.adventure.AdventurePlan;
+import project.business.entities.adventure.EncounterMonster;
+import project.business.entities.battle.character.BattleCharacter;
 import project.business.entities.character.Character;
 import project.business.entities.monster.Monster;
 import project.persistence.exceptions.ApiServerException;
@@ -13,22 +16,27 @@ import project.persistence.exceptions.ApiServerException;
 import javax.net.ssl.SSLContext;
 import javax.net.ssl.TrustManager;
 import javax.net.ssl.X509TrustManager;
-import java.io.IOException;
 import java.lang.reflect.Type;
 import java.net.URI;
 import java.net.URISyntaxException;
-import java.net.URLEncoder;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
-import java.nio.charset.StandardCharsets;
 import java.security.KeyManagementException;
 import java.security.NoSuchAlgorithmException;
 import java.security.cert.X509Certificate;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -37,21 +45,50 @@ import java.util.regex.Pattern;
  * in the SimpleRPG API, it's set up to ignore SSL certificates, connecting to any server.
  * Be aware that this should NOT be used in real production environments, as verifying certificates is a
  * key part of ensuring security in the context of Internet communications
+ * <p>
+ * Every request is sent asynchronously and the blocking methods just wait for their asynchronous twin.
+ * The number of requests in flight is limited, and a request fails with an {@link ApiServerException}
+ * if the server doesn't answer in time, so a hung server can't block the program forever.
  */
 public final class ApiConnectionDAO implements ApiConnection {
+    /**
+     * Default maximum number of requests in flight at the same time
+     */
+    public static final int DEFAULT_MAX_CONCURRENT_REQUESTS = 8;
+
+    /**
+     * Default time to wait for the server to answer a request
+     */
+    public static final Duration DEFAULT_REQUEST_TIMEOUT = Duration.ofSeconds(10);
+
     private final HttpClient client;
     private final Gson gson;
     private final String API_ADVENTURES_URL;
     private final String API_CHARACTERS_URL;
     private final String API_MONSTERS_URL;
+    private final RequestLimiter limiter;
+    private final Duration requestTimeout;
 
     /**
-     * Default constructor, where the client used for HTTPS communication is set up
+     * Default constructor, where the client used for HTTPS communication is set up with the default
+     * concurrency limit and request timeout
      *
      * @throws ApiServerException If your computer doesn't support SSL at all. If you get this exception when calling the
      *                            constructor, contact the OOPD teachers.
      */
     public ApiConnectionDAO() throws ApiServerException {
+        this(DEFAULT_MAX_CONCURRENT_REQUESTS, DEFAULT_REQUEST_TIMEOUT);
+    }
+
+    /**
+     * Constructor where the client used for HTTPS communication is set up
+     *
+     * @param maxConcurrentRequests The maximum number of requests in flight at the same time.
+     * @param requestTimeout        The time to wait for the server to connect and to answer every request.
+     * @throws ApiServerException If your computer doesn't support SSL at all. If you get this exception when calling the
+     *                            constructor, contact the OOPD teachers.
+     */
+    public ApiConnectionDAO(int maxConcurrentRequests, Duration requestTimeout) throws ApiServerException {
         // We set up the URLs we will use to communicate with the API
         this.API_ADVENTURES_URL = "https://balandrau.salle.url.edu/dpoo/S1-Project_52/adventures";
         this.API_CHARACTERS_URL = "https://balandrau.salle.url.edu/dpoo/S1-Project_52/characters";
@@ -60,9 +97,17 @@ public final class ApiConnectionDAO implements ApiConnection {
         // We use a Gson object to parse JSON responses into Java objects
         this.gson = new Gson();
 
+        this.limiter = new RequestLimiter(maxConcurrentRequests);
+        this.requestTimeout = requestTimeout;
+
         // We set up the HTTPClient we will (re)use across requests, with a custom *INSECURE* SSL context
+        // The responses are handled in virtual threads, so waiting requests don't hold any platform thread
         try {
-            client = HttpClient.newBuilder().sslContext(insecureContext()).build();
+            client = HttpClient.newBuilder()
+                    .sslContext(insecureContext())
+                    .connectTimeout(requestTimeout)
+                    .executor(Executors.newVirtualThreadPerTaskExecutor())
+                    .build();
         } catch (NoSuchAlgorithmException | KeyManagementException e) {
             // Exceptions are simplified for any classes that need to catch them
             throw new ApiServerException();
@@ -75,25 +120,21 @@ public final class ApiConnectionDAO implements ApiConnection {
      *
      * @param url A String representation of the URL to read from, which will be assumed to use HTTP/HTTPS.
      * @return The contents of the URL represented as text.
-     * @throws ApiServerException If the URL is malformed or the server can't be reached.
+     * @throws ApiServerException If the URL is malformed, the server can't be reached or doesn't answer in time.
      */
     public String getFromUrl(String url) throws ApiServerException {
-        try {
-            // Define the request
-            // The default method is GET, so we don't need to specify it (but we could do so by calling .GET() before .build()
-            // The HttpRequest.Builder pattern offers a ton of customization for the request (headers, body, HTTP version...)
-            HttpRequest request = HttpRequest.newBuilder().uri(new URI(url)).build();
-
-            // We use the default BodyHandler for Strings (so we can get the body of the response as a String)
-            // Note we could also send the request asynchronously, but things would escalate in terms of coding complexity
-            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
-
-            // Just return the body
-            return response.body();
-        } catch (URISyntaxException | IOException | InterruptedException e) {
-            // Exceptions are simplified for any classes that need to catch them
-            throw new ApiServerException();
-        }
+        return await(getFromUrlAsync(url));
+    }
+
+    /**
+     * Asynchronous version of {@link #getFromUrl(String)}.
+     *
+     * @param url A String representation of the URL to read from, which will be assumed to use HTTP/HTTPS.
+     * @return A future completed with the contents of the URL, or failed with an ApiServerException.
+     */
+    public CompletableFuture<String> getFromUrlAsync(String url) {
+        // The default method is GET, so we don't need to specify it (but we could do so by calling .GET() before .build()
+        return send(url, builder -> builder).thenApply(HttpResponse::body);
     }
 
 
@@ -105,11 +146,18 @@ public final class ApiConnectionDAO implements ApiConnection {
      * @throws RuntimeException if an ApiServerException is thrown while retrieving the adventures.
      */
     public List<Adventure> getAdventuresFromApi() {
-        try {
-            return this.gson.fromJson(this.getFromUrl(this.API_ADVENTURES_URL), new TypeToken<List<Adventure>>(){}.getType());
-        } catch (ApiServerException e) {
-            throw new RuntimeException(e);
-        }
+        return join(getAdventuresFromApiAsync());
+    }
+
+    @Override
+    public CompletableFuture<List<Adventure>> getAdventuresFromApiAsync() {
+        return getAdventuresFromApiIfModifiedAsync(null).thenApply(VersionedResponse::value);
+    }
+
+    @Override
+    public CompletableFuture<VersionedResponse<List<Adventure>>> getAdventuresFromApiIfModifiedAsync(VersionedResponse<List<Adventure>> cached) {
+        return getIfModifiedAsync(this.API_ADVENTURES_URL, cached,
+                adventuresJson -> this.gson.fromJson(adventuresJson, new TypeToken<List<Adventure>>(){}.getType()));
     }
 
     /**
@@ -121,106 +169,130 @@ public final class ApiConnectionDAO implements ApiConnection {
      */
     @Override
     public List<Character> getCharactersFromApi() {
-        try {
-            return this.gson.fromJson(this.getFromUrl(this.API_CHARACTERS_URL), new TypeToken<List<Character>>(){}.getType());
-        } catch (ApiServerException e) {
-            throw new RuntimeException(e);
-        }
+        return join(getCharactersFromApiAsync());
+    }
+
+    @Override
+    public CompletableFuture<List<Character>> getCharactersFromApiAsync() {
+        return getCharactersFromApiIfModifiedAsync(null).thenApply(VersionedResponse::value);
+    }
+
+    @Override
+    public CompletableFuture<VersionedResponse<List<Character>>> getCharactersFromApiIfModifiedAsync(VersionedResponse<List<Character>> cached) {
+        return getIfModifiedAsync(this.API_CHARACTERS_URL, cached,
+                charactersJson -> this.gson.fromJson(charactersJson, new TypeToken<List<Character>>(){}.getType()));
     }
 
     @Override
     public List<Character> getCharacterByPlayerFromApi(String playerName) {
-        try {
-            return this.gson.fromJson(this.getFromUrl(this.API_CHARACTERS_URL + "?player=" + playerName), new TypeToken<List<Character>>(){}.getType());
-        } catch (ApiServerException e) {
-            throw new RuntimeException(e);
-        }
+        return join(getCharacterByPlayerFromApiAsync(playerName));
+    }
+
+    @Override
+    public CompletableFuture<List<Character>> getCharacterByPlayerFromApiAsync(String playerName) {
+        return getFromUrlAsync(this.API_CHARACTERS_URL + "?player=" + playerName)
+                .thenApply(charactersJson -> this.gson.fromJson(charactersJson, new TypeToken<List<Character>>(){}.getType()));
     }
 
     @Override
     public void deleteCharacterFromApi(int position) {
-        try {
-            HttpRequest request = HttpRequest.newBuilder().uri(new URI(this.API_CHARACTERS_URL + "/" + position)).DELETE().build();
-            client.send(request, HttpResponse.BodyHandlers.ofString());
-        } catch (URISyntaxException | IOException | InterruptedException e) {
-            throw new RuntimeException(e);
-        }
+        join(deleteCharacterFromApiAsync(position));
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteCharacterFromApiAsync(int position) {
+        return deleteFromUrlAsync(this.API_CHARACTERS_URL + "/" + position).thenApply(body -> null);
     }
 
     @Override
     public void saveAdventureToApi(List<LinkedHashMap<String, Integer>> encounters, String adventureName) throws ApiServerException {
-        try {
-            JSONObject adventure = new JSONObject();
-            adventure.put("name", adventureName);
-            adventure.put("numberOfEncounters", encounters.size());
-            JSONArray encountersArray = new JSONArray();
-
-            int encounterNumber = 1;
-            for (LinkedHashMap<String, Integer> encounter : encounters) {
-                if (encounter != null && !encounter.isEmpty()) {
-                    JSONObject encounterObject = new JSONObject();
-                    encounterObject.put("number", encounterNumber);
-
-                    JSONArray monsterArray = new JSONArray();
-                    for (Map.Entry<String, Integer> monsterEntry : encounter.entrySet()) {
-                        Pattern pattern = Pattern.compile("^(.*)\\s\\(([^)]+)\\)$");
-                        Matcher matcher = pattern.matcher(monsterEntry.getKey());
-                        if (matcher.matches()) {
-                            JSONObject monsterObject = new JSONObject();
-                            monsterObject.put("name", matcher.group(1).trim());
-                            monsterObject.put("challenge", matcher.group(2).trim());
-                            monsterObject.put("quantity", monsterEntry.getValue());
-                            monsterArray.put(monsterObject);
-                        }
+        await(saveAdventureToApiAsync(encounters, adventureName));
+    }
+
+    @Override
+    public CompletableFuture<Void> saveAdventureToApiAsync(List<LinkedHashMap<String, Integer>> encounters, String adventureName) {
+        JSONObject adventure = new JSONObject();
+        adventure.put("name", adventureName);
+        adventure.put("numberOfEncounters", encounters.size());
+        JSONArray encountersArray = new JSONArray();
+
+        int encounterNumber = 1;
+        for (LinkedHashMap<String, Integer> encounter : encounters) {
+            if (encounter != null && !encounter.isEmpty()) {
+                JSONObject encounterObject = new JSONObject();
+                encounterObject.put("number", encounterNumber);
+
+                JSONArray monsterArray = new JSONArray();
+                for (Map.Entry<String, Integer> monsterEntry : encounter.entrySet()) {
+                    Pattern pattern = Pattern.compile("^(.*)\\s\\(([^)]+)\\)$");
+                    Matcher matcher = pattern.matcher(monsterEntry.getKey());
+                    if (matcher.matches()) {
+                        JSONObject monsterObject = new JSONObject();
+                        monsterObject.put("name", matcher.group(1).trim());
+                        monsterObject.put("challenge", matcher.group(2).trim());
+                        monsterObject.put("quantity", monsterEntry.getValue());
+                        monsterArray.put(monsterObject);
                     }
-                    encounterObject.put("monsters", monsterArray);
-                    encountersArray.put(encounterObject);
                 }
-                encounterNumber++;
+                encounterObject.put("monsters", monsterArray);
+                encountersArray.put(encounterObject);
             }
-            adventure.put("encounters", encountersArray);
-
-            String adventureJson = adventure.toString();
-            this.postToUrl(this.API_ADVENTURES_URL, adventureJson);
-        } catch (ApiServerException e) {
-            throw new ApiServerException();
+            encounterNumber++;
         }
+        adventure.put("encounters", encountersArray);
+
+        String adventureJson = adventure.toString();
+        return this.postToUrlAsync(this.API_ADVENTURES_URL, adventureJson).thenApply(body -> null);
     }
 
     @Override
-    public Adventure getAdventureByID(int adventureIndex) {
-        try {
-            String adventureJson = this.getFromUrl(this.API_ADVENTURES_URL + "/" + adventureIndex);
+    public AdventurePlan getAdventurePlanByID(int adventureIndex) {
+        return join(getAdventurePlanByIDAsync(adventureIndex), "Error retrieving the adventure");
+    }
+
+    /**
+     * Retrieves the plan of the adventure at the given position, with all of its encounters resolved,
+     * so that the encounters can be queried during the battle without sending any other request.
+     *
+     * @param adventureIndex The position of the adventure.
+     * @return A future completed with the plan of the adventure, or failed with an ApiServerException.
+     */
+    @Override
+    public CompletableFuture<AdventurePlan> getAdventurePlanByIDAsync(int adventureIndex) {
+        return getFromUrlAsync(this.API_ADVENTURES_URL + "/" + adventureIndex).thenApply(adventureJson -> {
             JsonObject adventureObject = JsonParser.parseString(adventureJson).getAsJsonObject();
 
             String name = adventureObject.get("name").getAsString();
             int numberOfEncounters = adventureObject.get("numberOfEncounters").getAsInt();
             JsonArray encounters = adventureObject.getAsJsonArray("encounters");
-            Adventure adventure = new Adventure(name, numberOfEncounters);
+            List<EncounterMonster> monsters = new ArrayList<>();
 
             for (int i = 0; i < encounters.size(); i++) {
                 JsonObject encounter = encounters.get(i).getAsJsonObject();
-                JsonArray monsters = encounter.getAsJsonArray("monsters");
+                JsonArray encounterMonsters = encounter.getAsJsonArray("monsters");
 
-                for (int j = 0; j < monsters.size(); j++) {
-                    JsonObject monsterObject = monsters.get(j).getAsJsonObject();
+                for (int j = 0; j < encounterMonsters.size(); j++) {
+                    JsonObject monsterObject = encounterMonsters.get(j).getAsJsonObject();
                     String monsterName = monsterObject.get("name").getAsString();
                     String challenge = monsterObject.get("challenge").getAsString();
                     int quantity = monsterObject.get("quantity").getAsInt();
-                    adventure.insertNewMonster(monsterName, challenge, quantity, encounter.get("number").getAsInt());
+                    monsters.add(new EncounterMonster(monsterName, challenge, quantity, encounter.get("number").getAsInt()));
                 }
             }
 
-            return adventure;
-        } catch (Exception e) {
-            throw new RuntimeException("Error retrieving the adventure", e);
-        }
+            return new AdventurePlan(name, numberOfEncounters, monsters);
+        });
     }
 
     @Override
     public Character getCharacterByID(int whichCharacter) {
-        try {
-            JsonObject characterObject = JsonParser.parseString(this.getFromUrl(this.API_CHARACTERS_URL + "/" + whichCharacter)).getAsJsonObject();
+        return join(getCharacterByIDAsync(whichCharacter), "Error retrieving the character");
+    }
+
+    @Override
+    public CompletableFuture<Character> getCharacterByIDAsync(int whichCharacter) {
+        return getFromUrlAsync(this.API_CHARACTERS_URL + "/" + whichCharacter).thenApply(characterJson -> {
+            JsonObject characterObject = JsonParser.parseString(characterJson).getAsJsonObject();
 
             return new Character(characterObject.get("name").getAsString(),
                                  characterObject.get("player").getAsString(),
@@ -229,68 +301,27 @@ public final class ApiConnectionDAO implements ApiConnection {
                                  characterObject.get("mind").getAsInt(),
                                  characterObject.get("spirit").getAsInt(),
                                  characterObject.get("class").getAsString());
-        } catch (Exception e) {
-            throw new RuntimeException("Error retrieving the character", e);
-        }
+        });
     }
 
     @Override
-    public List<String> getMonsterNamesInEncounter(int encounterIndex, String adventureName) {
-        List<String> monsterNames = new ArrayList<>();
-
-        try {
-            String apiUrl = this.API_ADVENTURES_URL + "?name=" + URLEncoder.encode(adventureName, StandardCharsets.UTF_8);
-
-            String jsonAdventuresResponse = this.getFromUrl(apiUrl);
-
-            JsonArray adventuresArray = JsonParser.parseString(jsonAdventuresResponse).getAsJsonArray();
-
-            JsonObject selectedAdventure = null;
-            for (JsonElement adventureElement : adventuresArray) {
-                JsonObject adventureObject = adventureElement.getAsJsonObject();
-                if (adventureObject.get("name").getAsString().equalsIgnoreCase(adventureName)) {
-                    selectedAdventure = adventureObject;
-                    break;
-                }
-            }
-
-            if (selectedAdventure != null) {
-                JsonArray encountersArray = selectedAdventure.getAsJsonArray("encounters");
-                if (encounterIndex > 0 && encounterIndex <= encountersArray.size()) {
-                    JsonObject selectedEncounter = encountersArray.get(encounterIndex - 1).getAsJsonObject();
-                    JsonArray monsterArray = selectedEncounter.getAsJsonArray("monsters");
-
-                    for (JsonElement monsterElement : monsterArray) {
-                        JsonObject monster = monsterElement.getAsJsonObject();
-                        String monsterName = monster.get("name").getAsString();
-                        int quantity = monster.get("quantity").getAsInt();
-                        monsterNames.add("\t- " + quantity + "x " + monsterName);
-                    }
-                }
-            }
-        } catch (Exception e) {
-            throw new RuntimeException("Error retrieving the monsters", e);
-        }
-        return monsterNames;
+    public void addCharacterToApi(Character updatedCharacter) {
+        join(addCharacterToApiAsync(updatedCharacter), "Error adding the character");
     }
 
     @Override
-    public void addCharacterToApi(Character updatedCharacter) {
-        try {
-            JsonObject characterObject = new JsonObject();
-            characterObject.addProperty("name", updatedCharacter.name());
-            characterObject.addProperty("player", updatedCharacter.player());
-            characterObject.addProperty("xp", updatedCharacter.xp());
-            characterObject.addProperty("body", updatedCharacter.body());
-            characterObject.addProperty("mind", updatedCharacter.mind());
-            characterObject.addProperty("spirit", updatedCharacter.spirit());
-            characterObject.addProperty("class", updatedCharacter.clas());
-
-            String characterJson = characterObject.toString();
-            this.postToUrl(this.API_CHARACTERS_URL, characterJson);
-        } catch (Exception e) {
-            throw new RuntimeException("Error adding the character", e);
-        }
+    public CompletableFuture<Void> addCharacterToApiAsync(Character updatedCharacter) {
+        JsonObject characterObject = new JsonObject();
+        characterObject.addProperty("name", updatedCharacter.name());
+        characterObject.addProperty("player", updatedCharacter.player());
+        characterObject.addProperty("xp", updatedCharacter.xp());
+        characterObject.addProperty("body", updatedCharacter.body());
+        characterObject.addProperty("mind", updatedCharacter.mind());
+        characterObject.addProperty("spirit", updatedCharacter.spirit());
+        characterObject.addProperty("class", updatedCharacter.clas());
+
+        String characterJson = characterObject.toString();
+        return this.postToUrlAsync(this.API_CHARACTERS_URL, characterJson).thenApply(body -> null);
     }
 
     /**
@@ -301,18 +332,33 @@ public final class ApiConnectionDAO implements ApiConnection {
      * @throws RuntimeException if an ApiServerException is thrown while retrieving the monsters.
      */
     public @NotNull List<Monster> getMonstersFromApi() {
-        try {
-            String monstersJson = getFromUrl(this.API_MONSTERS_URL);
-            Type monstersListType = new TypeToken<List<Map<String, String>>>(){}.getType();
-            List<Map<String, String>> monstersMapList = this.gson.fromJson(monstersJson, monstersListType);
-            List<Monster> monsters = new ArrayList<>();
-            for (Map<String, String> monsterMap : monstersMapList) {
-                monsters.add(new Monster(monsterMap.get("name"), monsterMap.get("challenge"), Integer.parseInt(monsterMap.get("experience")), Integer.parseInt(monsterMap.get("hitPoints")), Integer.parseInt(monsterMap.get("initiative")), monsterMap.get("damageDice"), monsterMap.get("damageType")));
-            }
-            return monsters;
-        } catch (ApiServerException e) {
-            throw new RuntimeException(e);
+        return join(getMonstersFromApiAsync());
+    }
+
+    @Override
+    public CompletableFuture<List<Monster>> getMonstersFromApiAsync() {
+        return getMonstersFromApiIfModifiedAsync(null).thenApply(VersionedResponse::value);
+    }
+
+    @Override
+    public CompletableFuture<VersionedResponse<List<Monster>>> getMonstersFromApiIfModifiedAsync(VersionedResponse<List<Monster>> cached) {
+        return getIfModifiedAsync(this.API_MONSTERS_URL, cached, this::parseMonsters);
+    }
+
+    /**
+     * Parses the body of a response of the Monsters endpoint.
+     *
+     * @param monstersJson The JSON array of monsters sent by the API.
+     * @return A List of Monster objects.
+     */
+    public @NotNull List<Monster> parseMonsters(String monstersJson) {
+        Type monstersListType = new TypeToken<List<Map<String, String>>>(){}.getType();
+        List<Map<String, String>> monstersMapList = this.gson.fromJson(monstersJson, monstersListType);
+        List<Monster> monsters = new ArrayList<>();
+        for (Map<String, String> monsterMap : monstersMapList) {
+            monsters.add(new Monster(monsterMap.get("name"), monsterMap.get("challenge"), Integer.parseInt(monsterMap.get("experience")), Integer.parseInt(monsterMap.get("hitPoints")), Integer.parseInt(monsterMap.get("initiative")), monsterMap.get("damageDice"), monsterMap.get("damageType")));
         }
+        return monsters;
     }
 
 
@@ -323,22 +369,23 @@ public final class ApiConnectionDAO implements ApiConnection {
      * @param url  A String representation of the URL to post to, which will be assumed to use HTTP/HTTPS.
      * @param body The content to post, which will be sent to the server in the request body.
      * @return The contents of the response, in case the server sends anything back after posting the content.
-     * @throws ApiServerException If the URL is malformed or the server can't be reached.
+     * @throws ApiServerException If the URL is malformed, the server can't be reached or doesn't answer in time.
      */
     public String postToUrl(String url, String body) throws ApiServerException {
-        try {
-            // Define the request
-            // In this case, we have to use the .POST() and .headers() methods to define what we want (to send a string containing JSON data)
-            HttpRequest request = HttpRequest.newBuilder().uri(new URI(url)).headers("Content-Type", "application/json").POST(HttpRequest.BodyPublishers.ofString(body)).build();
-
-            // We could use a BodyHandler that discards the response body, but here we return the API's response
-            // Note we could also send the request asynchronously, but things would escalate in terms of coding complexity
-            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
-            return response.body();
-        } catch (URISyntaxException | IOException | InterruptedException e) {
-            // Exceptions are simplified for any classes that need to catch them
-            throw new ApiServerException();
-        }
+        return await(postToUrlAsync(url, body));
+    }
+
+    /**
+     * Asynchronous version of {@link #postToUrl(String, String)}.
+     *
+     * @param url  A String representation of the URL to post to, which will be assumed to use HTTP/HTTPS.
+     * @param body The content to post, which will be sent to the server in the request body.
+     * @return A future completed with the contents of the response, or failed with an ApiServerException.
+     */
+    public CompletableFuture<String> postToUrlAsync(String url, String body) {
+        // In this case, we have to use the .POST() and .headers() methods to define what we want (to send a string containing JSON data)
+        return send(url, builder -> builder.headers("Content-Type", "application/json").POST(HttpRequest.BodyPublishers.ofString(body)))
+                .thenApply(HttpResponse::body);
     }
 
 
@@ -348,25 +395,137 @@ public final class ApiConnectionDAO implements ApiConnection {
      *
      * @param url A String representation of the URL to delete from, which will be assumed to use HTTP/HTTPS.
      * @return The contents of the response, in case the server sends anything back after deleting the content.
-     * @throws ApiServerException If the URL is malformed or the server can't be reached.
+     * @throws ApiServerException If the URL is malformed, the server can't be reached or doesn't answer in time.
      */
     public String deleteFromUrl(String url) throws ApiServerException {
+        return await(deleteFromUrlAsync(url));
+    }
+
+    /**
+     * Asynchronous version of {@link #deleteFromUrl(String)}.
+     *
+     * @param url A String representation of the URL to delete from, which will be assumed to use HTTP/HTTPS.
+     * @return A future completed with the contents of the response, or failed with an ApiServerException.
+     */
+    public CompletableFuture<String> deleteFromUrlAsync(String url) {
+        return send(url, HttpRequest.Builder::DELETE).thenApply(HttpResponse::body);
+    }
+
+    /**
+     * Sends a conditional GET request, which the server only answers with the resource if it has changed
+     * since the cached response.
+     *
+     * @param url    A String representation of the URL to read from, which will be assumed to use HTTP/HTTPS.
+     * @param cached The cached response with its validators, or null to always get the resource.
+     * @param parser Parses the body of the response.
+     * @param <T> The type of the parsed response.
+     * @return A future completed with the cached response if the resource hasn't changed or with the new parsed
+     *         response otherwise, or failed with an ApiServerException.
+     */
+    private <T> CompletableFuture<VersionedResponse<T>> getIfModifiedAsync(String url, VersionedResponse<T> cached, Function<String, T> parser) {
+        return send(url, builder -> {
+            if (cached != null && cached.etag() != null) {
+                builder.header("If-None-Match", cached.etag());
+            }
+            if (cached != null && cached.lastModified() != null) {
+                builder.header("If-Modified-Since", cached.lastModified());
+            }
+            return builder;
+        }).thenApply(response -> {
+            if (cached != null && response.statusCode() == 304) {
+                return cached;
+            }
+            return new VersionedResponse<>(parser.apply(response.body()),
+                    response.headers().firstValue("ETag").orElse(null),
+                    response.headers().firstValue("Last-Modified").orElse(null));
+        });
+    }
+
+    /**
+     * Sends a request as soon as the concurrency limit allows it.
+     *
+     * @param url     A String representation of the URL of the request.
+     * @param request Sets the method and the body of the request.
+     * @return A future completed with the response, or failed with an ApiServerException if the URL is malformed,
+     *         the server can't be reached or doesn't answer in time.
+     */
+    private CompletableFuture<HttpResponse<String>> send(String url, RequestCustomizer request) {
+        HttpRequest httpRequest;
         try {
-            // Define the request
-            // The default method is GET, so we don't need to specify it (but we could do so by calling .GET() before .build()
-            // The HttpRequest.Builder pattern offers a ton of customization for the request (headers, body, HTTP version...)
-            HttpRequest request = HttpRequest.newBuilder().uri(new URI(url)).DELETE().build();
-
-            // We use the default BodyHandler for Strings (so we can get the body of the response as a String)
-            // Note we could also send the request asynchronously, but things would escalate in terms of coding complexity
-            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
-            return response.body();
-        } catch (URISyntaxException | IOException | InterruptedException e) {
-            // Exceptions are simplified for any classes that need to catch them
+            httpRequest = request.customize(HttpRequest.newBuilder().uri(new URI(url)).timeout(this.requestTimeout)).build();
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            return CompletableFuture.failedFuture(new ApiServerException());
+        }
+
+        // We use the default BodyHandler for Strings (so we can get the body of the response as a String)
+        return this.limiter.<HttpResponse<String>>submit(() -> client.sendAsync(httpRequest, HttpResponse.BodyHandlers.ofString()))
+                .exceptionallyCompose(e -> {
+                    // Exceptions are simplified for any classes that need to catch them
+                    return CompletableFuture.failedFuture(new ApiServerException());
+                });
+    }
+
+    /**
+     * Sets the method, headers and body of a request.
+     */
+    @FunctionalInterface
+    private interface RequestCustomizer {
+        /**
+         * Sets the method, headers and body of a request.
+         *
+         * @param builder The builder of the request, with its URL and timeout already set.
+         * @return The same builder.
+         */
+        HttpRequest.Builder customize(HttpRequest.Builder builder);
+    }
+
+    /**
+     * Waits for a request, simplifying its exceptions.
+     *
+     * @param future The future of the request.
+     * @param <T> The type of the result of the request.
+     * @return The result of the request.
+     * @throws ApiServerException If the request failed.
+     */
+    private <T> T await(CompletableFuture<T> future) throws ApiServerException {
+        try {
+            return future.join();
+        } catch (CompletionException | CancellationException e) {
             throw new ApiServerException();
         }
     }
 
+    /**
+     * Waits for a request, wrapping its exceptions in a RuntimeException.
+     *
+     * @param future The future of the request.
+     * @param <T> The type of the result of the request.
+     * @return The result of the request.
+     */
+    private <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    /**
+     * Waits for a request, wrapping its exceptions in a RuntimeException with the given message.
+     *
+     * @param future  The future of the request.
+     * @param message The message of the exception.
+     * @param <T> The type of the result of the request.
+     * @return The result of the request.
+     */
+    private <T> T join(CompletableFuture<T> future, String message) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw new RuntimeException(message, e.getCause());
+        }
+    }
+
     /**
      * Helper function that sets up a SSLContext designed to ignore certificates, accepting anything by default
      * NOT TO BE USED IN REAL PRODUCTION ENVIRONMENTS
@@ -396,44 +555,149 @@ public final class ApiConnectionDAO implements ApiConnection {
 
     @Override
     public boolean checkIfApiServerIsUp() {
-        try {
-            // Define the request
-            // The default method is GET, so we don't need to specify it (but we could do so by calling .GET() before .build()
-            // The HttpRequest.Builder pattern offers a ton of customization for the request (headers, body, HTTP version...)
-            HttpRequest request = HttpRequest.newBuilder().uri(new URI(this.API_MONSTERS_URL)).build();
-
-            // We use the default BodyHandler for Strings (so we can get the body of the response as a String)
-            // Note we could also send the request asynchronously, but things would escalate in terms of coding complexity
-            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
-            return response.statusCode() == 200;
-        } catch (URISyntaxException | IOException | InterruptedException e) {
-            // Exceptions are simplified for any classes that need to catch them
-            return false;
-        }
+        return checkIfApiServerIsUpAsync().join();
+    }
+
+    @Override
+    public CompletableFuture<Boolean> checkIfApiServerIsUpAsync() {
+        return send(this.API_MONSTERS_URL, builder -> builder)
+                .thenApply(response -> response.statusCode() == 200)
+                // Exceptions are simplified for any classes that need to catch them
+                .exceptionally(e -> false);
     }
 
     @Override
     public void createCharacter(Character character) {
-        try {
-            String characterJson = this.gson.toJson(character);
-            postToUrl(this.API_CHARACTERS_URL, characterJson);
-        } catch (ApiServerException e) {
-            throw new RuntimeException(e);
-        }
+        join(createCharacterAsync(character));
+    }
+
+    @Override
+    public CompletableFuture<Void> createCharacterAsync(Character character) {
+        String characterJson = this.gson.toJson(character);
+        return postToUrlAsync(this.API_CHARACTERS_URL, characterJson).thenApply(body -> null);
     }
 
     public void deleteAllCharacters() throws ApiServerException {
-        try {
-            List<Character> characters = getCharactersFromApi();
+        await(deleteAllCharactersAsync());
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteAllCharactersAsync() {
+        // The characters are deleted one after the other, always the first one, so the positions don't shift under the requests
+        return getCharactersFromApiAsync().thenCompose(characters -> {
+            CompletableFuture<Void> deletions = CompletableFuture.completedFuture(null);
             for (Character ignored : characters) {
-                HttpRequest deleteRequest = HttpRequest.newBuilder()
-                        .uri(new URI(API_CHARACTERS_URL + "/0"))
-                        .DELETE()
-                        .build();
-                client.send(deleteRequest, HttpResponse.BodyHandlers.ofString());
+                deletions = deletions.thenCompose(previous -> deleteCharacterFromApiAsync(0));
             }
-        } catch (Exception e) {
-            throw new ApiServerException();
+            return deletions;
+        });
+    }
+
+    /**
+     * Updates the experience points (XP) and the class of the given characters in the API.
+     * Only the characters that have changed are sent, see {@link #updateCharactersXPAsync(List)}.
+     *
+     * @param characters The characters with their updated XP.
+     * @throws ApiServerException If the characters couldn't be updated. No character is lost in that case.
+     */
+    @Override
+    public void updateCharactersXP(List<BattleCharacter> characters) throws ApiServerException {
+        await(updateCharactersXPAsync(characters));
+    }
+
+    /**
+     * Asynchronous version of {@link #updateCharactersXP(List)}.
+     * <p>
+     * The API can't modify a character in place, so every character whose XP or class has changed is deleted
+     * and posted again with its new values, which moves it to the end of the list. The deletions are sent one
+     * after the other, from the last position to the first one, so that no position shifts under them, and then
+     * the new values are posted one after the other, in the order the characters had in the list, so the list
+     * always ends up in the same order. Characters that haven't changed are not sent at all.
+     * <p>
+     * If anything fails, the list is read again and every deleted character that is missing is posted back,
+     * with its old values, so that a failure never loses a character.
+     *
+     * @param characters The characters with their updated XP.
+     * @return A future completed when every character has been updated, or failed with an ApiServerException.
+     */
+    @Override
+    public CompletableFuture<Void> updateCharactersXPAsync(List<BattleCharacter> characters) {
+        Map<String, BattleCharacter> updates = new HashMap<>();
+        for (BattleCharacter character : characters) {
+            updates.put(character.getName(), character);
         }
+
+        return getCharactersFromApiAsync().thenCompose(storedCharacters -> {
+            List<Integer> positions = new ArrayList<>();
+            List<Character> updatedCharacters = new ArrayList<>();
+            for (int i = storedCharacters.size() - 1; i >= 0; i--) {
+                Character character = storedCharacters.get(i);
+                BattleCharacter update = updates.get(character.name());
+                if (update != null && (character.xp() != update.getXP() || !character.clas().equals(update.getCharacterType()))) {
+                    positions.add(i);
+                    updatedCharacters.add(new Character(character.name(), character.player(), update.getXP(),
+                            character.body(), character.mind(), character.spirit(), update.getCharacterType()));
+                }
+            }
+            if (positions.isEmpty()) {
+                return CompletableFuture.<Void>completedFuture(null);
+            }
+            // Found from the last position to the first one, but posted in the order of the list
+            Collections.reverse(updatedCharacters);
+
+            List<Character> deletedCharacters = new ArrayList<>();
+            CompletableFuture<Void> deletions = CompletableFuture.completedFuture(null);
+            for (int position : positions) {
+                deletions = deletions.thenCompose(previous -> deleteCharacterFromApiAsync(position))
+                        .thenRun(() -> deletedCharacters.add(storedCharacters.get(position)));
+            }
+
+            CompletableFuture<Void> posts = deletions;
+            for (Character character : updatedCharacters) {
+                posts = posts.thenCompose(previous -> addCharacterToApiAsync(character));
+            }
+
+            return posts
+                    .exceptionallyCompose(e -> restoreCharacters(storedCharacters, deletedCharacters)
+                            .handle((restored, error) -> null)
+                            .thenCompose(restored -> CompletableFuture.failedFuture(new ApiServerException())));
+        });
+    }
+
+    /**
+     * Posts back the deleted characters that are missing from the API after a failed update, with their old values,
+     * one after the other in the order they had in the list.
+     * A character counts as missing if there are fewer characters with its name than before the update, so
+     * characters whose new values were posted before the failure are not duplicated.
+     *
+     * @param storedCharacters  The characters in the API before the update.
+     * @param deletedCharacters The characters deleted by the update.
+     * @return A future completed when the missing characters have been posted back.
+     */
+    private CompletableFuture<Void> restoreCharacters(List<Character> storedCharacters, List<Character> deletedCharacters) {
+        if (deletedCharacters.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return getCharactersFromApiAsync().thenCompose(currentCharacters -> {
+            Map<String, Integer> missing = new HashMap<>();
+            for (Character character : storedCharacters) {
+                missing.merge(character.name(), 1, Integer::sum);
+            }
+            for (Character character : currentCharacters) {
+                missing.merge(character.name(), -1, Integer::sum);
+            }
+
+            // Deleted from the last position to the first one
+            List<Character> restored = new ArrayList<>(deletedCharacters);
+            Collections.reverse(restored);
+            CompletableFuture<Void> restorations = CompletableFuture.completedFuture(null);
+            for (Character character : restored) {
+                if (missing.getOrDefault(character.name(), 0) > 0) {
+                    missing.merge(character.name(), -1, Integer::sum);
+                    restorations = restorations.thenCompose(previous -> addCharacterToApiAsync(character));
+                }
+            }
+            return restorations;
+        });
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,486 @@
+package project.persistence.api;
+
+import com.google.common.reflect.TypeToken;
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import project.business.entities.adventure.Adventure;
+import project.business.entities.adventure.AdventurePlan;
+import project.business.entities.battle.character.BattleCharacter;
+import project.business.entities.character.Character;
+import project.business.entities.monster.Monster;
+import project.persistence.exceptions.ApiServerException;
+import project.persistence.files.AtomicFile;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * Class that implements the ApiConnection interface by caching the collections of adventures, characters and
+ * monsters received from another ApiConnection, which is the one that actually talks to the API.
+ * <p>
+ * A collection is served from memory for as long as its time to live lasts. After that, the next read asks the
+ * API for the collection again with a conditional request, so the collection is only sent and parsed again if it
+ * has changed. Concurrent reads of the same collection share a single request. Every write through this class
+ * invalidates the collection it changes, so the next read always sees it. Changes made to the API by anybody else
+ * are seen once the time to live of the collection runs out.
+ * <p>
+ * The monsters, which are shared by every group and almost never change, can also be kept in a file, so that the
+ * next run of the program starts with them.
+ */
+public class CachedApiConnection implements ApiConnection {
+    /**
+     * Default time to live of the adventures
+     */
+    public static final Duration DEFAULT_ADVENTURES_TTL = Duration.ofSeconds(30);
+
+    /**
+     * Default time to live of the characters
+     */
+    public static final Duration DEFAULT_CHARACTERS_TTL = Duration.ofSeconds(10);
+
+    /**
+     * Default time to live of the monsters
+     */
+    public static final Duration DEFAULT_MONSTERS_TTL = Duration.ofHours(1);
+
+    /**
+     * The connection used to talk to the API
+     */
+    private final ApiConnection api;
+
+    /**
+     * The cached adventures
+     */
+    private final CachedCollection<Adventure> adventures;
+
+    /**
+     * The cached characters
+     */
+    private final CachedCollection<Character> characters;
+
+    /**
+     * The cached monsters
+     */
+    private final CachedCollection<Monster> monsters;
+
+    /**
+     * The file the monsters are kept in between runs, or null if they are only kept in memory
+     */
+    private final AtomicFile monstersFile;
+
+    /**
+     * Used to write and read the monsters file
+     */
+    private final Gson gson;
+
+    /**
+     * Constructor of the class with the default times to live, which only keeps the collections in memory
+     *
+     * @param api The connection used to talk to the API.
+     */
+    public CachedApiConnection(ApiConnection api) {
+        this(api, DEFAULT_ADVENTURES_TTL, DEFAULT_CHARACTERS_TTL, DEFAULT_MONSTERS_TTL, null);
+    }
+
+    /**
+     * Constructor of the class with the default times to live, which also keeps the monsters in a file
+     *
+     * @param api          The connection used to talk to the API.
+     * @param monstersPath The path to the file the monsters are kept in between runs.
+     */
+    public CachedApiConnection(ApiConnection api, String monstersPath) {
+        this(api, DEFAULT_ADVENTURES_TTL, DEFAULT_CHARACTERS_TTL, DEFAULT_MONSTERS_TTL, monstersPath);
+    }
+
+    /**
+     * Constructor of the class
+     *
+     * @param api           The connection used to talk to the API.
+     * @param adventuresTTL The time the adventures are served from memory without asking the API.
+     * @param charactersTTL The time the characters are served from memory without asking the API.
+     * @param monstersTTL   The time the monsters are served from memory without asking the API.
+     * @param monstersPath  The path to the file the monsters are kept in between runs, or null to only keep them in memory.
+     */
+    public CachedApiConnection(ApiConnection api, Duration adventuresTTL, Duration charactersTTL, Duration monstersTTL, String monstersPath) {
+        this.api = api;
+        this.gson = new Gson();
+        this.adventures = new CachedCollection<>(adventuresTTL, api::getAdventuresFromApiIfModifiedAsync);
+        this.characters = new CachedCollection<>(charactersTTL, api::getCharactersFromApiIfModifiedAsync);
+        this.monsters = new CachedCollection<>(monstersTTL, this::getMonstersAndSaveThem);
+        this.monstersFile = (monstersPath == null) ? null : new AtomicFile(monstersPath);
+        loadMonsters();
+    }
+
+    @Override
+    public boolean checkIfApiServerIsUp() {
+        return this.api.checkIfApiServerIsUp();
+    }
+
+    @Override
+    public CompletableFuture<Boolean> checkIfApiServerIsUpAsync() {
+        return this.api.checkIfApiServerIsUpAsync();
+    }
+
+    @Override
+    public void createCharacter(Character character) {
+        try {
+            this.api.createCharacter(character);
+        } finally {
+            this.characters.invalidate();
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> createCharacterAsync(Character character) {
+        return this.characters.invalidateAfter(this.api.createCharacterAsync(character));
+    }
+
+    @Override
+    public List<Character> getCharactersFromApi() {
+        return join(getCharactersFromApiAsync(), null);
+    }
+
+    @Override
+    public CompletableFuture<List<Character>> getCharactersFromApiAsync() {
+        return this.characters.get();
+    }
+
+    @Override
+    public List<Character> getCharacterByPlayerFromApi(String name) {
+        return this.api.getCharacterByPlayerFromApi(name);
+    }
+
+    @Override
+    public CompletableFuture<List<Character>> getCharacterByPlayerFromApiAsync(String name) {
+        return this.api.getCharacterByPlayerFromApiAsync(name);
+    }
+
+    @Override
+    public void deleteCharacterFromApi(int position) {
+        try {
+            this.api.deleteCharacterFromApi(position);
+        } finally {
+            this.characters.invalidate();
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteCharacterFromApiAsync(int position) {
+        return this.characters.invalidateAfter(this.api.deleteCharacterFromApiAsync(position));
+    }
+
+    @Override
+    public void saveAdventureToApi(List<LinkedHashMap<String, Integer>> encounters, String adventureName) throws ApiServerException {
+        try {
+            this.api.saveAdventureToApi(encounters, adventureName);
+        } finally {
+            this.adventures.invalidate();
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> saveAdventureToApiAsync(List<LinkedHashMap<String, Integer>> encounters, String adventureName) {
+        return this.adventures.invalidateAfter(this.api.saveAdventureToApiAsync(encounters, adventureName));
+    }
+
+    @Override
+    public AdventurePlan getAdventurePlanByID(int adventureIndex) {
+        return this.api.getAdventurePlanByID(adventureIndex);
+    }
+
+    @Override
+    public CompletableFuture<AdventurePlan> getAdventurePlanByIDAsync(int adventureIndex) {
+        return this.api.getAdventurePlanByIDAsync(adventureIndex);
+    }
+
+    /**
+     * Retrieves the character at the given position of the cached characters, which are the ones the position
+     * was chosen from.
+     *
+     * @param whichCharacter The position of the character.
+     * @return The character.
+     */
+    @Override
+    public Character getCharacterByID(int whichCharacter) {
+        return join(getCharacterByIDAsync(whichCharacter), "Error retrieving the character");
+    }
+
+    @Override
+    public CompletableFuture<Character> getCharacterByIDAsync(int whichCharacter) {
+        return this.characters.get().thenApply(characters -> characters.get(whichCharacter));
+    }
+
+    @Override
+    public void addCharacterToApi(Character updatedCharacter) {
+        try {
+            this.api.addCharacterToApi(updatedCharacter);
+        } finally {
+            this.characters.invalidate();
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> addCharacterToApiAsync(Character updatedCharacter) {
+        return this.characters.invalidateAfter(this.api.addCharacterToApiAsync(updatedCharacter));
+    }
+
+    @Override
+    public List<Adventure> getAdventuresFromApi() {
+        return join(getAdventuresFromApiAsync(), null);
+    }
+
+    @Override
+    public CompletableFuture<List<Adventure>> getAdventuresFromApiAsync() {
+        return this.adventures.get();
+    }
+
+    @Override
+    public List<Monster> getMonstersFromApi() {
+        return join(getMonstersFromApiAsync(), null);
+    }
+
+    @Override
+    public CompletableFuture<List<Monster>> getMonstersFromApiAsync() {
+        return this.monsters.get();
+    }
+
+    @Override
+    public void deleteAllCharacters() throws ApiServerException {
+        try {
+            this.api.deleteAllCharacters();
+        } finally {
+            this.characters.invalidate();
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteAllCharactersAsync() {
+        return this.characters.invalidateAfter(this.api.deleteAllCharactersAsync());
+    }
+
+    @Override
+    public void updateCharactersXP(List<BattleCharacter> characters) throws ApiServerException {
+        try {
+            this.api.updateCharactersXP(characters);
+        } finally {
+            this.characters.invalidate();
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> updateCharactersXPAsync(List<BattleCharacter> characters) {
+        return this.characters.invalidateAfter(this.api.updateCharactersXPAsync(characters));
+    }
+
+    @Override
+    public CompletableFuture<VersionedResponse<List<Adventure>>> getAdventuresFromApiIfModifiedAsync(VersionedResponse<List<Adventure>> cached) {
+        return this.api.getAdventuresFromApiIfModifiedAsync(cached);
+    }
+
+    @Override
+    public CompletableFuture<VersionedResponse<List<Character>>> getCharactersFromApiIfModifiedAsync(VersionedResponse<List<Character>> cached) {
+        return this.api.getCharactersFromApiIfModifiedAsync(cached);
+    }
+
+    @Override
+    public CompletableFuture<VersionedResponse<List<Monster>>> getMonstersFromApiIfModifiedAsync(VersionedResponse<List<Monster>> cached) {
+        return this.api.getMonstersFromApiIfModifiedAsync(cached);
+    }
+
+    /**
+     * Asks the API for the monsters if they have changed, and saves them to the monsters file when they have.
+     *
+     * @param cached The cached monsters, or null if there are none.
+     * @return A future completed with the cached monsters if they haven't changed or with the new ones otherwise.
+     */
+    private CompletableFuture<VersionedResponse<List<Monster>>> getMonstersAndSaveThem(VersionedResponse<List<Monster>> cached) {
+        return this.api.getMonstersFromApiIfModifiedAsync(cached).thenApply(response -> {
+            if (response != cached) {
+                saveMonsters(response);
+            }
+            return response;
+        });
+    }
+
+    /**
+     * Loads the monsters saved by a previous run, if there are any. They are served until their time to live,
+     * counted from when they were received, runs out.
+     */
+    private void loadMonsters() {
+        if (this.monstersFile == null || !this.monstersFile.exists()) {
+            return;
+        }
+        try {
+            JsonObject saved = JsonParser.parseString(this.monstersFile.read()).getAsJsonObject();
+            List<Monster> monsters = this.gson.fromJson(saved.get("monsters"), new TypeToken<List<Monster>>(){}.getType());
+            String etag = saved.has("etag") && !saved.get("etag").isJsonNull() ? saved.get("etag").getAsString() : null;
+            String lastModified = saved.has("lastModified") && !saved.get("lastModified").isJsonNull() ? saved.get("lastModified").getAsString() : null;
+            this.monsters.seed(new VersionedResponse<>(monsters, etag, lastModified), saved.get("receivedAt").getAsLong());
+        } catch (IOException | RuntimeException e) {
+            // The file is only a cache, the monsters are asked to the API instead
+        }
+    }
+
+    /**
+     * Saves the monsters to the monsters file, if there is one.
+     *
+     * @param response The monsters received from the API.
+     */
+    private void saveMonsters(VersionedResponse<List<Monster>> response) {
+        if (this.monstersFile == null) {
+            return;
+        }
+        JsonObject saved = new JsonObject();
+        saved.addProperty("receivedAt", System.currentTimeMillis());
+        saved.addProperty("etag", response.etag());
+        saved.addProperty("lastModified", response.lastModified());
+        saved.add("monsters", this.gson.toJsonTree(response.value()));
+        try {
+            this.monstersFile.write(saved.toString());
+        } catch (IOException e) {
+            // The file is only a cache, the next run will ask the API for the monsters
+        }
+    }
+
+    /**
+     * Waits for a read, wrapping its exceptions in a RuntimeException like the connection does.
+     *
+     * @param future  The future of the read.
+     * @param message The message of the exception, or null to use the one of the cause.
+     * @param <T> The type of the result of the read.
+     * @return The result of the read.
+     */
+    private static <T> T join(CompletableFuture<T> future, String message) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw (message == null) ? new RuntimeException(e.getCause()) : new RuntimeException(message, e.getCause());
+        }
+    }
+
+    /**
+     * A collection of the API kept in memory, together with the validators needed to ask for it again
+     * only if it has changed.
+     *
+     * @param <T> The type of the elements of the collection.
+     */
+    private static final class CachedCollection<T> {
+        /**
+         * The time the collection is served from memory without asking the API
+         */
+        private final long timeToLiveMillis;
+
+        /**
+         * Asks the API for the collection if it has changed since the given response
+         */
+        private final Function<VersionedResponse<List<T>>, CompletableFuture<VersionedResponse<List<T>>>> fetcher;
+
+        /**
+         * The last response of the API, or null if there is none
+         */
+        private VersionedResponse<List<T>> response;
+
+        /**
+         * When the last response was received or confirmed by the API, in milliseconds since the epoch
+         */
+        private long receivedAt;
+
+        /**
+         * The request in flight, shared by every read made while it lasts, or null if there is none
+         */
+        private CompletableFuture<VersionedResponse<List<T>>> request;
+
+        /**
+         * Increased by every invalidation, so that a request started before it doesn't store its outdated response
+         */
+        private long generation;
+
+        /**
+         * Constructor of the class
+         *
+         * @param timeToLive The time the collection is served from memory without asking the API.
+         * @param fetcher    Asks the API for the collection if it has changed since the given response.
+         */
+        private CachedCollection(Duration timeToLive, Function<VersionedResponse<List<T>>, CompletableFuture<VersionedResponse<List<T>>>> fetcher) {
+            this.timeToLiveMillis = timeToLive.toMillis();
+            this.fetcher = fetcher;
+        }
+
+        /**
+         * Retrieves the collection, from memory if it is still fresh or from the API otherwise.
+         *
+         * @return A future completed with a copy of the collection.
+         */
+        private synchronized CompletableFuture<List<T>> get() {
+            if (this.response != null && System.currentTimeMillis() - this.receivedAt < this.timeToLiveMillis) {
+                return CompletableFuture.completedFuture(new ArrayList<>(this.response.value()));
+            }
+            CompletableFuture<VersionedResponse<List<T>>> request = this.request;
+            if (request == null) {
+                long requestGeneration = this.generation;
+                CompletableFuture<VersionedResponse<List<T>>> newRequest = this.fetcher.apply(this.response);
+                this.request = newRequest;
+                // An already completed request is stored right away, which clears the field
+                newRequest.whenComplete((newResponse, error) -> store(newRequest, requestGeneration, newResponse));
+                request = newRequest;
+            }
+            return request.thenApply(newResponse -> new ArrayList<>(newResponse.value()));
+        }
+
+        /**
+         * Stores the response of a request, unless the collection has been invalidated since it was sent.
+         *
+         * @param completedRequest  The request that has completed.
+         * @param requestGeneration The generation when the request was sent.
+         * @param newResponse       The response, or null if the request failed.
+         */
+        private synchronized void store(CompletableFuture<VersionedResponse<List<T>>> completedRequest, long requestGeneration, VersionedResponse<List<T>> newResponse) {
+            if (this.request == completedRequest) {
+                this.request = null;
+            }
+            if (newResponse != null && this.generation == requestGeneration) {
+                this.response = newResponse;
+                this.receivedAt = System.currentTimeMillis();
+            }
+        }
+
+        /**
+         * Sets the collection received by a previous run.
+         *
+         * @param savedResponse The response received by the previous run.
+         * @param savedAt       When it was received, in milliseconds since the epoch.
+         */
+        private synchronized void seed(VersionedResponse<List<T>> savedResponse, long savedAt) {
+            this.response = savedResponse;
+            this.receivedAt = savedAt;
+        }
+
+        /**
+         * Makes the next read ask the API for the collection, still sending the validators of the last response
+         * in case the change didn't affect it.
+         */
+        private synchronized void invalidate() {
+            this.generation++;
+            this.receivedAt = 0;
+            this.request = null;
+        }
+
+        /**
+         * Invalidates the collection once a write completes, whether it succeeds or not.
+         *
+         * @param write The future of the write.
+         * @param <R> The type of the result of the write.
+         * @return A future completed like the write, after the invalidation.
+         */
+        private <R> CompletableFuture<R> invalidateAfter(CompletableFuture<R> write) {
+            return write.whenComplete((result, error) -> invalidate());
+        }
+    }
+}
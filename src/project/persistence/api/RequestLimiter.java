@@ -0,0 +1,100 @@
+package project.persistence.api;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Class that limits how many asynchronous requests are in flight at the same time.
+ * <p>
+ * Requests over the limit are queued and started, in order, as soon as a running request completes.
+ * No thread is ever blocked waiting for a slot, so the limiter can be used from the threads that
+ * complete the requests themselves.
+ */
+public final class RequestLimiter {
+    /**
+     * Maximum number of requests in flight
+     */
+    private final int maxConcurrentRequests;
+
+    /**
+     * Requests waiting for a slot, in the order they were submitted
+     */
+    private final Queue<Runnable> waiting;
+
+    /**
+     * Number of requests in flight
+     */
+    private int running;
+
+    /**
+     * Constructor of the class that sets the maximum number of requests in flight
+     *
+     * @param maxConcurrentRequests The maximum number of requests in flight, at least 1.
+     */
+    public RequestLimiter(int maxConcurrentRequests) {
+        if (maxConcurrentRequests < 1) {
+            throw new IllegalArgumentException("At least one request must be allowed");
+        }
+        this.maxConcurrentRequests = maxConcurrentRequests;
+        this.waiting = new ArrayDeque<>();
+    }
+
+    /**
+     * Starts a request as soon as there is a free slot.
+     *
+     * @param request Starts the request and returns its future.
+     * @param <T> The type of the result of the request.
+     * @return A future completed with the result of the request.
+     */
+    public <T> CompletableFuture<T> submit(Supplier<CompletableFuture<T>> request) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Runnable start = () -> {
+            CompletableFuture<T> future;
+            try {
+                future = request.get();
+            } catch (RuntimeException e) {
+                future = CompletableFuture.failedFuture(e);
+            }
+            future.whenComplete((value, error) -> {
+                release();
+                if (error != null) {
+                    result.completeExceptionally(error);
+                } else {
+                    result.complete(value);
+                }
+            });
+        };
+
+        boolean startNow;
+        synchronized (this) {
+            startNow = this.running < this.maxConcurrentRequests;
+            if (startNow) {
+                this.running++;
+            } else {
+                this.waiting.add(start);
+            }
+        }
+        if (startNow) {
+            start.run();
+        }
+        return result;
+    }
+
+    /**
+     * Frees the slot of a completed request, handing it over to the next waiting request if there is one.
+     */
+    private void release() {
+        Runnable next;
+        synchronized (this) {
+            next = this.waiting.poll();
+            if (next == null) {
+                this.running--;
+            }
+        }
+        if (next != null) {
+            next.run();
+        }
+    }
+}
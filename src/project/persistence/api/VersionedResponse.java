@@ -0,0 +1,12 @@
+package project.persistence.api;
+
+/**
+ * Record class that represents a parsed response of the API together with the validators the server sent with it,
+ * which allow asking the server for the resource again only if it has changed since.
+ *
+ * @param value The parsed response.
+ * @param etag The ETag header of the response, or null if the server didn't send it.
+ * @param lastModified The Last-Modified header of the response, or null if the server didn't send it.
+ * @param <T> The type of the parsed response.
+ */
+public record VersionedResponse<T>(T value, String etag, String lastModified) {}
@@ -0,0 +1,578 @@
+package project.persistence.characters;
+
+import project.business.entities.battle.character.BattleCharacter;
+import project.business.entities.character.Character;
+import project.persistence.exceptions.PersistenceException;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Class that implements the CharacterDAO interface by keeping every character in memory,
+ * on top of another CharacterDAO that is used as the persistent storage.
+ * <p>
+ * The characters are loaded from the storage the first time they are needed and every read is
+ * served from memory, using indexes by name and by player. Writes are applied in memory right away
+ * and persisted in the background: all the changes made while a write is pending are coalesced and
+ * saved at once, in a single commit to the storage. If only experience points have changed, just the
+ * updated characters are sent to the storage; otherwise the whole storage is rewritten. {@link #close()}
+ * must be called before exiting so that the last changes are not lost.
+ * <p>
+ * The experience points earned by a party are added to the ones in memory instead of replacing them, so when
+ * the same character plays in several parties at the same time, the experience points earned in every party
+ * are kept. If a background write fails, the whole storage is rewritten on the next attempt, which is scheduled
+ * right away, and the error is reported by {@link #close()}. Once closed, every write is rejected, since
+ * it could no longer be persisted.
+ * <p>
+ * The class can be used by many threads at the same time. Adding, replacing or deleting characters
+ * locks every character, but updating the experience points of a party only locks the stripe of every
+ * character of the party, so the parties that finish their adventures at the same time don't wait for
+ * each other.
+ * <p>
+ * Changes made to the storage by anybody else after the characters have been loaded are not seen.
+ */
+public class CachedCharacterDAO implements CharacterDAO {
+    /**
+     * Time that the changes are kept in memory before being persisted, so that writes made close together are coalesced
+     */
+    private static final long FLUSH_DELAY_MILLIS = 200;
+
+    /**
+     * Number of locks the characters are striped over, by name
+     */
+    private static final int LOCK_STRIPES = 64;
+
+    /**
+     * The classes every class evolves to, in order
+     */
+    private static final List<List<String>> EVOLUTIONS = List.of(
+            List.of("Adventurer", "Warrior", "Champion"),
+            List.of("Cleric", "Paladin"));
+
+    /**
+     * The DAO used as the persistent storage
+     */
+    private final CharacterDAO storage;
+
+    /**
+     * The thread that persists the changes in the background
+     */
+    private final ScheduledExecutorService flusher;
+
+    /**
+     * Lock that makes sure that only one snapshot is being written at a time
+     */
+    private final Object flushLock;
+
+    /**
+     * Lock of the list of characters and of its indexes: it is held for reading to read or update
+     * some characters, and for writing to add or remove characters and to take the pending changes
+     */
+    private final ReadWriteLock lock;
+
+    /**
+     * Locks that make the update of a character and the registration of its pending change atomic
+     */
+    private final Object[] stripes;
+
+    /**
+     * Every character, in the same order as in the storage, or null if they haven't been loaded yet
+     */
+    private volatile List<Entry> characters;
+
+    /**
+     * Every character, by lowercase name
+     */
+    private Map<String, Entry> charactersByName;
+
+    /**
+     * Every character, by lowercase player's name
+     */
+    private Map<String, List<Entry>> charactersByPlayer;
+
+    /**
+     * Whether the whole storage has to be rewritten on the next write
+     */
+    private boolean rewritePending;
+
+    /**
+     * Characters whose experience points have to be persisted on the next write, as they were when
+     * they were updated, by name
+     */
+    private final Map<String, Character> pendingXPUpdates;
+
+    /**
+     * Whether a background write is already scheduled
+     */
+    private final AtomicBoolean flushScheduled;
+
+    /**
+     * The error of the last failed background write, reported when closing
+     */
+    private final AtomicReference<PersistenceException> flushError;
+
+    /**
+     * Whether {@link #close()} has been called, after which the changes can no longer be persisted
+     */
+    private boolean closed;
+
+    /**
+     * A character kept in memory, which is replaced in place when its experience points are updated
+     */
+    private static final class Entry {
+        private volatile Character character;
+
+        private Entry(Character character) {
+            this.character = character;
+        }
+    }
+
+    /**
+     * Constructor of the class that sets the DAO used as the persistent storage
+     *
+     * @param storage The DAO used as the persistent storage.
+     */
+    public CachedCharacterDAO(CharacterDAO storage) {
+        this.storage = storage;
+        this.flushLock = new Object();
+        this.lock = new ReentrantReadWriteLock();
+        this.stripes = new Object[LOCK_STRIPES];
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            this.stripes[i] = new Object();
+        }
+        this.pendingXPUpdates = new ConcurrentHashMap<>();
+        this.flushScheduled = new AtomicBoolean();
+        this.flushError = new AtomicReference<>();
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "character-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Adds a new character and schedules its persistence.
+     *
+     * @param character The character to be stored.
+     * @throws PersistenceException If the characters couldn't be loaded or the DAO has been closed.
+     */
+    @Override
+    public void createCharacter(Character character) throws PersistenceException {
+        loadCharacters();
+        this.lock.writeLock().lock();
+        try {
+            checkOpen();
+            Entry entry = new Entry(character);
+            this.characters.add(entry);
+            index(entry);
+            scheduleRewrite();
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Retrieves a list of all characters, without any disk access once they have been loaded.
+     *
+     * @return A new list with every Character object.
+     * @throws PersistenceException If the characters couldn't be loaded.
+     */
+    @Override
+    public List<Character> getAllCharacters() throws PersistenceException {
+        loadCharacters();
+        this.lock.readLock().lock();
+        try {
+            List<Character> characters = new ArrayList<>(this.characters.size());
+            for (Entry entry : this.characters) {
+                characters.add(entry.character);
+            }
+            return characters;
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces every character and schedules their persistence.
+     *
+     * @param characters The list of Character objects to be stored.
+     * @throws PersistenceException If the DAO has been closed.
+     */
+    @Override
+    public void reAddCharactersToJSON(List<Character> characters) throws PersistenceException {
+        this.lock.writeLock().lock();
+        try {
+            checkOpen();
+            setCharacters(characters);
+            scheduleRewrite();
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds the experience points (XP) earned by the given characters since they were last saved to the ones in
+     * memory, updates their class and schedules their persistence. The class only changes if the character has
+     * evolved further in this party than in memory. Only the stripes of the given characters are locked, so
+     * parties with different characters are updated at the same time.
+     *
+     * @param characters The list of BattleCharacter objects with updated XP to be saved.
+     * @throws PersistenceException If the characters couldn't be loaded or the DAO has been closed.
+     */
+    @Override
+    public void updateCharactersXP(List<BattleCharacter> characters) throws PersistenceException {
+        update(characters, BattleCharacter::getName, (character, battleCharacter) -> new Character(character.name(),
+                character.player(), character.xp() + battleCharacter.takeUnsavedXP(), character.body(), character.mind(),
+                character.spirit(), evolvedClass(character.clas(), battleCharacter.getCharacterType())));
+    }
+
+    /**
+     * Replaces the experience points (XP) and the class of the given characters in memory and schedules their
+     * persistence. Only the stripes of the given characters are locked.
+     *
+     * @param characters The characters with the XP and the class to be saved.
+     * @throws PersistenceException If the characters couldn't be loaded or the DAO has been closed.
+     */
+    @Override
+    public void saveCharactersXP(List<Character> characters) throws PersistenceException {
+        update(characters, Character::name, (character, saved) -> new Character(character.name(), character.player(),
+                saved.xp(), character.body(), character.mind(), character.spirit(), saved.clas()));
+    }
+
+    /**
+     * Retrieves the character at the given position.
+     *
+     * @param index The position of the character.
+     * @return The character at that position.
+     * @throws PersistenceException If the characters couldn't be loaded.
+     */
+    @Override
+    public Character getCharacterByIndex(int index) throws PersistenceException {
+        loadCharacters();
+        this.lock.readLock().lock();
+        try {
+            return this.characters.get(index).character;
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Checks if there is a character with the given name, ignoring case, using the name index.
+     *
+     * @param name The name of the character.
+     * @return True if a character with that name exists, false otherwise.
+     * @throws PersistenceException If the characters couldn't be loaded.
+     */
+    @Override
+    public boolean characterNameExists(String name) throws PersistenceException {
+        loadCharacters();
+        this.lock.readLock().lock();
+        try {
+            return this.charactersByName.containsKey(name.toLowerCase());
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Retrieves the characters whose player's name contains the given text, ignoring case, using the player index.
+     * The characters are grouped by player.
+     *
+     * @param player The text to look for in the player's name.
+     * @return A list of the matching Character objects.
+     * @throws PersistenceException If the characters couldn't be loaded.
+     */
+    @Override
+    public List<Character> getCharactersByPlayer(String player) throws PersistenceException {
+        loadCharacters();
+        String text = player.toLowerCase();
+        List<Character> result = new ArrayList<>();
+        this.lock.readLock().lock();
+        try {
+            for (Map.Entry<String, List<Entry>> entry : this.charactersByPlayer.entrySet()) {
+                if (entry.getKey().contains(text)) {
+                    for (Entry character : entry.getValue()) {
+                        result.add(character.character);
+                    }
+                }
+            }
+        } finally {
+            this.lock.readLock().unlock();
+        }
+        return result;
+    }
+
+    /**
+     * Deletes the character with the given name and schedules the persistence of the change.
+     *
+     * @param name The name of the character to delete.
+     * @throws PersistenceException If the characters couldn't be loaded or the DAO has been closed.
+     */
+    @Override
+    public void deleteCharacter(String name) throws PersistenceException {
+        loadCharacters();
+        this.lock.writeLock().lock();
+        try {
+            checkOpen();
+            Entry entry = this.charactersByName.get(name.toLowerCase());
+            if (entry != null && entry.character.name().equals(name)) {
+                this.characters.remove(entry);
+                this.charactersByName.remove(name.toLowerCase());
+                List<Entry> playerCharacters = this.charactersByPlayer.get(entry.character.player().toLowerCase());
+                playerCharacters.remove(entry);
+                if (playerCharacters.isEmpty()) {
+                    this.charactersByPlayer.remove(entry.character.player().toLowerCase());
+                }
+                scheduleRewrite();
+            }
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Persists every pending change right away, in a single commit to the storage.
+     * The changes made while the commit is being written are left for the next one.
+     * If the commit fails, the whole storage is rewritten by a background write that is scheduled right away.
+     *
+     * @throws PersistenceException If the characters couldn't be written.
+     */
+    public void flush() throws PersistenceException {
+        synchronized (this.flushLock) {
+            // Cleared first, so the changes made from now on schedule another write whatever happens to this one
+            this.flushScheduled.set(false);
+            List<Character> snapshot = null;
+            List<Character> xpUpdates = null;
+            this.lock.writeLock().lock();
+            try {
+                if (this.rewritePending) {
+                    snapshot = new ArrayList<>(this.characters.size());
+                    for (Entry entry : this.characters) {
+                        snapshot.add(entry.character);
+                    }
+                } else if (!this.pendingXPUpdates.isEmpty()) {
+                    xpUpdates = new ArrayList<>(this.pendingXPUpdates.values());
+                } else {
+                    return;
+                }
+                this.rewritePending = false;
+                this.pendingXPUpdates.clear();
+            } finally {
+                this.lock.writeLock().unlock();
+            }
+
+            try {
+                if (snapshot != null) {
+                    this.storage.reAddCharactersToJSON(snapshot);
+                } else {
+                    this.storage.saveCharactersXP(xpUpdates);
+                }
+            } catch (PersistenceException | RuntimeException e) {
+                this.lock.writeLock().lock();
+                try {
+                    // The storage state is unknown, so the next write rewrites it completely
+                    scheduleRewrite();
+                } finally {
+                    this.lock.writeLock().unlock();
+                }
+                throw e instanceof PersistenceException persistenceException ? persistenceException
+                        : new PersistenceException("Error: Couldn't save the characters", e);
+            }
+        }
+    }
+
+    /**
+     * Stops the background writes and persists every pending change, even if an earlier background write failed.
+     * The writes made from then on are rejected.
+     *
+     * @throws PersistenceException If the characters couldn't be written, or if an earlier background write failed,
+     *                              so that the error is not lost even if the last write has succeeded.
+     */
+    public void close() throws PersistenceException {
+        this.lock.writeLock().lock();
+        try {
+            this.closed = true;
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+        this.flusher.shutdown();
+        PersistenceException earlierError = this.flushError.getAndSet(null);
+        try {
+            flush();
+        } catch (PersistenceException e) {
+            if (earlierError != null) {
+                e.addSuppressed(earlierError);
+            }
+            throw e;
+        }
+        if (earlierError != null) {
+            throw earlierError;
+        }
+    }
+
+    /**
+     * Updates some characters in memory, each one while holding the lock of its stripe, and schedules the
+     * persistence of their experience points and class.
+     *
+     * @param characters The characters to update, which are skipped if they are not stored.
+     * @param name Retrieves the name of a character to update.
+     * @param update Creates the updated character from the one in memory and the one to update.
+     * @param <T> The type of the characters to update.
+     * @throws PersistenceException If the characters couldn't be loaded or the DAO has been closed.
+     */
+    private <T> void update(List<T> characters, Function<T, String> name, BiFunction<Character, T, Character> update) throws PersistenceException {
+        loadCharacters();
+        boolean updated = false;
+        this.lock.readLock().lock();
+        try {
+            checkOpen();
+            for (T character : characters) {
+                String key = name.apply(character).toLowerCase();
+                Entry entry = this.charactersByName.get(key);
+                if (entry != null && entry.character.name().equals(name.apply(character))) {
+                    synchronized (stripe(key)) {
+                        Character updatedCharacter = update.apply(entry.character, character);
+                        entry.character = updatedCharacter;
+                        if (!this.rewritePending) {
+                            this.pendingXPUpdates.put(updatedCharacter.name(), updatedCharacter);
+                        }
+                    }
+                    updated = true;
+                }
+            }
+            if (updated) {
+                scheduleFlush();
+            }
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Loads the characters from the storage if they haven't been loaded yet.
+     *
+     * @throws PersistenceException If the characters couldn't be loaded.
+     */
+    private void loadCharacters() throws PersistenceException {
+        if (this.characters == null) {
+            this.lock.writeLock().lock();
+            try {
+                if (this.characters == null) {
+                    setCharacters(this.storage.getAllCharacters());
+                }
+            } finally {
+                this.lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Replaces every character in memory and rebuilds the indexes.
+     * Must be called while holding the write lock.
+     *
+     * @param characters The new characters.
+     */
+    private void setCharacters(List<Character> characters) {
+        List<Entry> entries = new ArrayList<>(characters.size());
+        this.charactersByName = new HashMap<>();
+        this.charactersByPlayer = new LinkedHashMap<>();
+        for (Character character : characters) {
+            Entry entry = new Entry(character);
+            entries.add(entry);
+            index(entry);
+        }
+        this.characters = entries;
+    }
+
+    /**
+     * Adds a character to the indexes.
+     * Must be called while holding the write lock.
+     *
+     * @param entry The character to index.
+     */
+    private void index(Entry entry) {
+        this.charactersByName.put(entry.character.name().toLowerCase(), entry);
+        this.charactersByPlayer.computeIfAbsent(entry.character.player().toLowerCase(), player -> new ArrayList<>()).add(entry);
+    }
+
+    /**
+     * Retrieves the lock of the stripe of a character.
+     *
+     * @param key The lowercase name of the character.
+     * @return The lock of its stripe.
+     */
+    private Object stripe(String key) {
+        return this.stripes[Math.floorMod(key.hashCode(), LOCK_STRIPES)];
+    }
+
+    /**
+     * Marks the whole storage to be rewritten and schedules a background write.
+     * Must be called while holding the write lock.
+     */
+    private void scheduleRewrite() {
+        this.rewritePending = true;
+        this.pendingXPUpdates.clear();
+        scheduleFlush();
+    }
+
+    /**
+     * Schedules a background write, unless one is already pending.
+     */
+    private void scheduleFlush() {
+        if (!this.flusher.isShutdown() && this.flushScheduled.compareAndSet(false, true)) {
+            this.flusher.schedule(this::flushInBackground, FLUSH_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Checks that the DAO hasn't been closed, so that a write isn't lost.
+     * Must be called while holding the lock.
+     *
+     * @throws PersistenceException If the DAO has been closed.
+     */
+    private void checkOpen() throws PersistenceException {
+        if (this.closed) {
+            throw new PersistenceException("Error: The characters can't be saved because the program is closing", null);
+        }
+    }
+
+    /**
+     * Persists the pending changes from the background thread, keeping the error to report it later.
+     */
+    private void flushInBackground() {
+        try {
+            flush();
+        } catch (PersistenceException e) {
+            this.flushError.set(e);
+        }
+    }
+
+    /**
+     * Chooses the class of a character that has played in a party, which only replaces the class in memory if the
+     * character has evolved further in the party, since another party may have made it evolve in the meantime.
+     *
+     * @param current The class of the character in memory.
+     * @param party The class of the character in the party.
+     * @return The class the character has now.
+     */
+    private static String evolvedClass(String current, String party) {
+        for (List<String> evolution : EVOLUTIONS) {
+            int currentStage = evolution.indexOf(current);
+            int partyStage = evolution.indexOf(party);
+            if (currentStage >= 0 && partyStage >= 0) {
+                return partyStage > currentStage ? party : current;
+            }
+        }
+        return party;
+    }
+}
@@ -4,6 +4,7 @@ import project.business.entities.battle.character.BattleCharacter;
 import project.business.entities.character.Character;
 import project.persistence.exceptions.PersistenceException;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -47,9 +48,64 @@ public interface CharacterDAO {
      * Updates the experience points (XP) of characters in the persistent storage.
      * This method reads characters from a JSON file, updates the XP of the characters
      * provided in the input list, and saves the changes back to the file.
+     * By default, the XP and the class of the battle characters are saved with {@link #saveCharactersXP(List)}.
      *
      * @param characters The list of BattleCharacter objects with updated XP to be saved.
      * @throws PersistenceException If an issue occurs while reading from or writing to the file.
      */
-    void updateCharactersXP(List<BattleCharacter> characters) throws PersistenceException;
+    default void updateCharactersXP(List<BattleCharacter> characters) throws PersistenceException {
+        List<Character> updates = new ArrayList<>(characters.size());
+        for (BattleCharacter character : characters) {
+            // Only the name, the xp and the class are saved
+            updates.add(new Character(character.getName(), null, character.getXP(), 0, 0, 0, character.getCharacterType()));
+        }
+        saveCharactersXP(updates);
+    }
+
+    /**
+     * Replaces the experience points (XP) and the class of the stored characters with the ones of the given
+     * characters, which are found by their name. The other attributes of the given characters are ignored, and
+     * the characters that are not stored are skipped.
+     *
+     * @param characters The characters with the XP and the class to be saved.
+     * @throws PersistenceException If an issue occurs while reading from or writing to the file.
+     */
+    void saveCharactersXP(List<Character> characters) throws PersistenceException;
+
+    /**
+     * Retrieves the character stored at the given position of the persistent storage.
+     *
+     * @param index The position of the character.
+     * @return The character at that position.
+     * @throws PersistenceException If an issue occurs while reading from the file.
+     * @throws IndexOutOfBoundsException If there is no character at that position.
+     */
+    Character getCharacterByIndex(int index) throws PersistenceException;
+
+    /**
+     * Checks if there is a character with the given name, ignoring case.
+     *
+     * @param name The name of the character.
+     * @return True if a character with that name exists, false otherwise.
+     * @throws PersistenceException If an issue occurs while reading from the file.
+     */
+    boolean characterNameExists(String name) throws PersistenceException;
+
+    /**
+     * Retrieves the characters whose player's name contains the given text, ignoring case.
+     *
+     * @param player The text to look for in the player's name.
+     * @return A list of the matching Character objects.
+     * @throws PersistenceException If an issue occurs while reading from the file.
+     */
+    List<Character> getCharactersByPlayer(String player) throws PersistenceException;
+
+    /**
+     * Deletes the character with the given name from the persistent storage.
+     * Nothing happens if there is no character with that name.
+     *
+     * @param name The name of the character to delete.
+     * @throws PersistenceException If an issue occurs while reading from or writing to the file.
+     */
+    void deleteCharacter(String name) throws PersistenceException;
 }
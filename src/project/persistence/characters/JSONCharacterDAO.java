@@ -1,22 +1,31 @@
 package project.persistence.characters;
 
 import com.google.gson.GsonBuilder;
+import com.fasterxml.jackson.core.JsonParser;
 import org.json.JSONArray;
 import org.json.JSONObject;
-import project.business.entities.battle.character.BattleCharacter;
 import project.business.entities.character.Character;
 import project.persistence.exceptions.PersistenceException;
+import project.persistence.files.AtomicFile;
+import project.persistence.files.JsonStreams;
+import project.persistence.files.Journal;
+import project.persistence.files.Snapshot;
+import project.persistence.files.SnapshotCache;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
 /**
- * Class that implements the CharacterDAO interface, using a JSON file as the persistence method
+ * Class that implements the CharacterDAO interface, using a JSON file as the persistence method.
+ * <p>
+ * The file is always replaced atomically. XP updates, which happen after every encounter, are appended
+ * to a journal next to the file instead of rewriting it, and the journal is folded into the file once it grows.
+ * The characters are loaded from a binary snapshot of the file while it is up to date.
  */
 public class JSONCharacterDAO implements CharacterDAO {
     /**
@@ -24,11 +33,48 @@ public class JSONCharacterDAO implements CharacterDAO {
      */
     private final String CHARACTERS_PATH;
 
+    /**
+     * Number of journal entries after which the journal is folded into the JSON file
+     */
+    private static final int MAX_JOURNAL_ENTRIES = 64;
+
+    /**
+     * The JSON file
+     */
+    private final AtomicFile file;
+
+    /**
+     * The journal of XP updates not yet folded into the JSON file
+     */
+    private final Journal journal;
+
+    /**
+     * Kind of the records of the snapshot of the JSON file
+     */
+    private static final short SNAPSHOT_KIND = 1;
+
+    /**
+     * Snapshot of the JSON file, which the characters are loaded from
+     */
+    private final SnapshotCache<Character> snapshot;
+
     /**
      * Constructor of the class that sets the path to the JSON file
      */
     public JSONCharacterDAO() {
-        this.CHARACTERS_PATH = "data/characters.json";
+        this("data/characters.json");
+    }
+
+    /**
+     * Constructor of the class that uses another JSON file, such as a copy of the characters
+     *
+     * @param path The path to the JSON file.
+     */
+    public JSONCharacterDAO(String path) {
+        this.CHARACTERS_PATH = path;
+        this.file = new AtomicFile(CHARACTERS_PATH);
+        this.journal = new Journal(CHARACTERS_PATH + ".journal");
+        this.snapshot = new SnapshotCache<>(CHARACTERS_PATH, SNAPSHOT_KIND, JSONCharacterDAO::readCharacter, JSONCharacterDAO::writeCharacter);
     }
 
     /**
@@ -45,10 +91,12 @@ public class JSONCharacterDAO implements CharacterDAO {
     @Override
     public void createCharacter(Character character) throws PersistenceException {
         try {
-            Path path = Paths.get(CHARACTERS_PATH);
-            JSONArray root = new JSONArray(new String(Files.readAllBytes(path)));
-            root.put(new JSONObject(new GsonBuilder().setPrettyPrinting().create().toJson(character)));
-            Files.write(path, root.toString().getBytes());
+            this.file.locked(() -> {
+                JSONArray root = readCharacters();
+                root.put(new JSONObject(new GsonBuilder().setPrettyPrinting().create().toJson(character)));
+                writeCharacters(root);
+                return null;
+            });
         } catch (IOException e) {
             throw new PersistenceException("Error: Couldn't open the Character's file", e);
         }
@@ -65,18 +113,7 @@ public class JSONCharacterDAO implements CharacterDAO {
     @Override
     public List<Character> getAllCharacters() throws PersistenceException {
         try {
-            JSONArray charactersJSON = new JSONArray(new String(Files.readAllBytes(Paths.get(CHARACTERS_PATH))));
-            return IntStream.range(0, charactersJSON.length())
-                    .mapToObj(charactersJSON::getJSONObject)
-                    .map(jsonObject -> new Character(
-                            jsonObject.getString("name"),
-                            jsonObject.getString("player"),
-                            jsonObject.getInt("xp"),
-                            jsonObject.getInt("body"),
-                            jsonObject.getInt("mind"),
-                            jsonObject.getInt("spirit"),
-                            jsonObject.getString("class")))
-                    .collect(Collectors.toList());
+            return this.file.locked(() -> applyJournal(loadCharacters()));
         } catch (IOException e) {
             throw new PersistenceException("Error: Couldn't open the Character's file", e);
         }
@@ -95,40 +132,280 @@ public class JSONCharacterDAO implements CharacterDAO {
         try {
             JSONArray root = new JSONArray();
             characters.forEach(character -> root.put(new JSONObject(new GsonBuilder().setPrettyPrinting().create().toJson(character))));
-            Files.write(Paths.get(CHARACTERS_PATH), root.toString().getBytes());
+            this.file.locked(() -> {
+                writeCharacters(root);
+                return null;
+            });
         } catch (IOException e) {
             throw new PersistenceException("Error: Couldn't open the Character's file", e);
         }
     }
 
     /**
-     * Updates the experience points (XP) of characters in the persistent storage.
-     * This method reads characters from a JSON file, updates the XP of the characters
-     * provided in the input list, and saves the changes back to the file.
+     * Replaces the experience points (XP) and the class of characters in the persistent storage.
+     * This method appends the new XP and class of the characters provided in the input list
+     * to the journal, and folds the journal into the JSON file once it has grown enough.
      *
-     * @param characters The list of BattleCharacter objects with updated XP to be saved.
+     * @param characters The characters with the XP and the class to be saved.
      * @throws PersistenceException If an issue occurs while reading from or writing to the file.
      */
     @Override
-    public void updateCharactersXP(List<BattleCharacter> characters) throws PersistenceException {
+    public void saveCharactersXP(List<Character> characters) throws PersistenceException {
         try {
-            Path path = Paths.get(CHARACTERS_PATH);
-            JSONArray array = new JSONArray(new String(Files.readAllBytes(path)));
-
-            for (BattleCharacter character : characters) {
-                for (int i = 0; i < array.length(); i++) {
-                    JSONObject jsonObject = array.getJSONObject(i);
-                    if (jsonObject.getString("name").equals(character.getName())) {
-                        jsonObject.put("xp", character.getXP());
-                        jsonObject.put("class", character.getCharacterType());
-                        break;
-                    }
+            List<String> entries = characters.stream()
+                    .map(character -> new JSONObject()
+                            .put("name", character.name())
+                            .put("xp", character.xp())
+                            .put("class", character.clas())
+                            .toString())
+                    .toList();
+
+            this.file.locked(() -> {
+                this.journal.append(entries);
+                if (this.journal.readEntries().size() >= MAX_JOURNAL_ENTRIES) {
+                    writeCharacters(readCharacters());
+                }
+                return null;
+            });
+        } catch (IOException e) {
+            throw new PersistenceException("Error: Couldn't open the Character's file", e);
+        }
+    }
+
+    /**
+     * Retrieves the character stored at the given position of the JSON file.
+     *
+     * @param index The position of the character.
+     * @return The character at that position.
+     * @throws PersistenceException If an issue occurs while reading from the file.
+     */
+    @Override
+    public Character getCharacterByIndex(int index) throws PersistenceException {
+        try {
+            Character character = this.file.locked(() -> {
+                List<Character> characters = loadCharacters();
+                if (index < 0 || index >= characters.size()) {
+                    return null;
                 }
+                return applyJournal(new ArrayList<>(List.of(characters.get(index)))).get(0);
+            });
+            if (character == null) {
+                throw new IndexOutOfBoundsException("There is no character at position " + index);
             }
+            return character;
+        } catch (IOException e) {
+            throw new PersistenceException("Error: Couldn't open the Character's file", e);
+        }
+    }
 
-            Files.write(path, array.toString().getBytes());
+    /**
+     * Checks if there is a character with the given name in the JSON file, ignoring case.
+     *
+     * @param name The name of the character.
+     * @return True if a character with that name exists, false otherwise.
+     * @throws PersistenceException If an issue occurs while reading from the file.
+     */
+    @Override
+    public boolean characterNameExists(String name) throws PersistenceException {
+        try {
+            for (Character character : loadCharacters()) {
+                if (character.name() != null && character.name().equalsIgnoreCase(name)) {
+                    return true;
+                }
+            }
+            return false;
         } catch (IOException e) {
             throw new PersistenceException("Error: Couldn't open the Character's file", e);
         }
     }
+
+    /**
+     * Retrieves the characters of the JSON file whose player's name contains the given text, ignoring case.
+     *
+     * @param player The text to look for in the player's name.
+     * @return A list of the matching Character objects.
+     * @throws PersistenceException If an issue occurs while reading from the file.
+     */
+    @Override
+    public List<Character> getCharactersByPlayer(String player) throws PersistenceException {
+        return getAllCharacters().stream()
+                .filter(character -> character.player().toLowerCase().contains(player.toLowerCase()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Deletes the character with the given name from the JSON file.
+     * The file is read and written while holding its lock, so that no update made in between is lost.
+     *
+     * @param name The name of the character to delete.
+     * @throws PersistenceException If an issue occurs while reading from or writing to the file.
+     */
+    @Override
+    public void deleteCharacter(String name) throws PersistenceException {
+        try {
+            this.file.locked(() -> {
+                JSONArray root = readCharacters();
+                boolean deleted = false;
+                for (int i = root.length() - 1; i >= 0; i--) {
+                    if (name.equals(root.getJSONObject(i).optString("name"))) {
+                        root.remove(i);
+                        deleted = true;
+                    }
+                }
+                if (deleted) {
+                    writeCharacters(root);
+                }
+                return null;
+            });
+        } catch (IOException e) {
+            throw new PersistenceException("Error: Couldn't open the Character's file", e);
+        }
+    }
+
+    /**
+     * Loads the characters of the JSON file, without the updates of the journal,
+     * from the snapshot of the file if it is up to date.
+     *
+     * @return The characters, in order.
+     * @throws IOException If the file couldn't be read.
+     */
+    private List<Character> loadCharacters() throws IOException {
+        return this.snapshot.load(() -> {
+            List<Character> characters = new ArrayList<>();
+            try (JsonParser parser = JsonStreams.openArray(Paths.get(CHARACTERS_PATH))) {
+                while (JsonStreams.nextObject(parser)) {
+                    characters.add(readCharacter(parser));
+                }
+            }
+            return characters;
+        });
+    }
+
+    /**
+     * Reads a character from the snapshot of the JSON file.
+     *
+     * @param snapshot The snapshot, placed at the start of the character record.
+     * @return The character.
+     * @throws IOException If the record is corrupt.
+     */
+    private static Character readCharacter(Snapshot snapshot) throws IOException {
+        return new Character(snapshot.readString(), snapshot.readString(), snapshot.readInt(), snapshot.readInt(),
+                snapshot.readInt(), snapshot.readInt(), snapshot.readString());
+    }
+
+    /**
+     * Writes a character to the snapshot of the JSON file.
+     *
+     * @param character The character.
+     * @param snapshot The writer of the snapshot.
+     */
+    private static void writeCharacter(Character character, Snapshot.Writer snapshot) {
+        snapshot.writeString(character.name());
+        snapshot.writeString(character.player());
+        snapshot.writeInt(character.xp());
+        snapshot.writeInt(character.body());
+        snapshot.writeInt(character.mind());
+        snapshot.writeInt(character.spirit());
+        snapshot.writeString(character.clas());
+    }
+
+    /**
+     * Reads a character from the JSON file.
+     *
+     * @param parser The parser, placed at the start of the character object.
+     * @return The character.
+     * @throws IOException If the file couldn't be read.
+     */
+    private Character readCharacter(JsonParser parser) throws IOException {
+        String name = null;
+        String player = null;
+        String clas = null;
+        int xp = 0;
+        int body = 0;
+        int mind = 0;
+        int spirit = 0;
+
+        String field;
+        while ((field = JsonStreams.nextField(parser)) != null) {
+            switch (field) {
+                case "name" -> name = parser.getText();
+                case "player" -> player = parser.getText();
+                case "xp" -> xp = parser.getIntValue();
+                case "body" -> body = parser.getIntValue();
+                case "mind" -> mind = parser.getIntValue();
+                case "spirit" -> spirit = parser.getIntValue();
+                case "class" -> clas = parser.getText();
+                default -> parser.skipChildren();
+            }
+        }
+        return new Character(name, player, xp, body, mind, spirit, clas);
+    }
+
+    /**
+     * Applies the XP updates of the journal to the given characters.
+     * Must be called while holding the lock of the file.
+     *
+     * @param characters The characters read from the JSON file, which are replaced by their updated version.
+     * @return The same list of characters.
+     * @throws IOException If the journal couldn't be read.
+     */
+    private List<Character> applyJournal(List<Character> characters) throws IOException {
+        List<String> entries = this.journal.readEntries();
+        if (!entries.isEmpty()) {
+            Map<String, Integer> positions = new HashMap<>();
+            for (int i = 0; i < characters.size(); i++) {
+                positions.putIfAbsent(characters.get(i).name(), i);
+            }
+            for (String entry : entries) {
+                JSONObject update = new JSONObject(entry);
+                Integer position = positions.get(update.getString("name"));
+                if (position != null) {
+                    Character character = characters.get(position);
+                    characters.set(position, new Character(character.name(), character.player(), update.getInt("xp"),
+                            character.body(), character.mind(), character.spirit(), update.getString("class")));
+                }
+            }
+        }
+        return characters;
+    }
+
+    /**
+     * Reads the characters of the JSON file, with the updates of the journal applied.
+     * Must be called while holding the lock of the file.
+     *
+     * @return The JSON array of characters.
+     * @throws IOException If the file or the journal couldn't be read.
+     */
+    private JSONArray readCharacters() throws IOException {
+        JSONArray array = new JSONArray(this.file.read());
+        List<String> entries = this.journal.readEntries();
+        if (!entries.isEmpty()) {
+            Map<String, JSONObject> charactersByName = new HashMap<>();
+            for (int i = 0; i < array.length(); i++) {
+                JSONObject character = array.getJSONObject(i);
+                charactersByName.putIfAbsent(character.getString("name"), character);
+            }
+            for (String entry : entries) {
+                JSONObject update = new JSONObject(entry);
+                JSONObject character = charactersByName.get(update.getString("name"));
+                if (character != null) {
+                    character.put("xp", update.getInt("xp"));
+                    character.put("class", update.getString("class"));
+                }
+            }
+        }
+        return array;
+    }
+
+    /**
+     * Replaces the JSON file with the given characters and clears the journal, which is already applied to them.
+     * Must be called while holding the lock of the file.
+     *
+     * @param characters The JSON array of characters.
+     * @throws IOException If the file couldn't be written.
+     */
+    private void writeCharacters(JSONArray characters) throws IOException {
+        this.file.write(characters.toString());
+        this.journal.clear();
+    }
 }
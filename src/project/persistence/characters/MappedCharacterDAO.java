@@ -0,0 +1,588 @@
+package project.persistence.characters;
+
+import project.business.entities.character.Character;
+import project.persistence.exceptions.PersistenceException;
+import project.persistence.files.AtomicFile;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+
+/**
+ * Class that implements the CharacterDAO interface with a binary file that is memory-mapped, so that reading a
+ * character only touches the pages of that character, no matter how many characters there are.
+ * <p>
+ * The file is made of a header, a slot of fixed size for every character, a hash table of the slots by name and the
+ * strings of every slot:
+ * <pre>
+ * header   magic, version, number of classes, number of characters, capacity of the hash table
+ * slots    for every character: the offsets of its name and player, its body, mind and spirit,
+ *          its xp and the offset of its class
+ * table    for every bucket, the slot + 1 of a character whose lowercase name hashes to it, or 0 if empty
+ * strings  the names of the classes, followed by every other string, each one with its length and its UTF-8 bytes
+ * </pre>
+ * A character is found by its position through its slot, and by its name through the hash table, which uses
+ * linear probing. Since the classes are always stored, the xp and the class of a character can be updated by
+ * writing the 8 bytes of its slot in place, so saving the party after an adventure costs the same no matter how
+ * many characters there are. Adding, replacing or deleting characters rewrites the whole file atomically, and is
+ * seen by every reader of the file, since readers map the file again when it has been replaced.
+ * <p>
+ * When the file doesn't exist yet, it is imported from another CharacterDAO, such as the JSON one.
+ * <p>
+ * The class only works on POSIX systems, such as Linux and macOS. A mapping can't be released on demand, so every
+ * reader keeps the file it has mapped open until the mapping is garbage collected, and Windows refuses to replace a
+ * file that is mapped, so adding, replacing or deleting characters would fail there.
+ */
+public class MappedCharacterDAO implements CharacterDAO {
+    /**
+     * The first bytes of the file, "DPOC" in ASCII
+     */
+    private static final int MAGIC = 0x44504F43;
+
+    /**
+     * The version of the layout of the file
+     */
+    private static final short VERSION = 2;
+
+    /**
+     * The size of the header and of every slot, in bytes
+     */
+    private static final int HEADER_SIZE = 16;
+    private static final int SLOT_SIZE = 28;
+
+    /**
+     * The positions of the fields of a slot
+     */
+    private static final int NAME = 0;
+    private static final int PLAYER = 4;
+    private static final int BODY = 8;
+    private static final int MIND = 12;
+    private static final int SPIRIT = 16;
+    private static final int XP = 20;
+    private static final int CLASS = 24;
+
+    /**
+     * The classes every character can evolve into, which are always stored so that a class can be updated in place
+     */
+    private static final List<String> CLASSES = List.of("Adventurer", "Warrior", "Champion", "Cleric", "Paladin", "Mage");
+
+    /**
+     * The path to the file
+     */
+    private final Path path;
+
+    /**
+     * The file, which is always replaced atomically
+     */
+    private final AtomicFile file;
+
+    /**
+     * The DAO the characters are imported from when the file doesn't exist
+     */
+    private final CharacterDAO source;
+
+    /**
+     * The current mapping of the file, or null if it hasn't been mapped yet
+     */
+    private volatile Mapping mapping;
+
+    /**
+     * Constructor of the class that sets the path to the file
+     *
+     * @param path The path to the file.
+     * @param source The DAO the characters are imported from when the file doesn't exist.
+     */
+    public MappedCharacterDAO(String path, CharacterDAO source) {
+        this.path = Paths.get(path);
+        this.file = new AtomicFile(path);
+        this.source = source;
+    }
+
+    /**
+     * Adds a new character, rewriting the file.
+     *
+     * @param character The character object to be stored.
+     * @throws PersistenceException If there is an issue reading from or writing to the file.
+     */
+    @Override
+    public void createCharacter(Character character) throws PersistenceException {
+        try {
+            this.file.locked(() -> {
+                List<Character> characters = mapping().readAll();
+                characters.add(character);
+                write(characters);
+                return null;
+            });
+        } catch (IOException e) {
+            throw new PersistenceException("Error: Couldn't open the Character's file", e);
+        }
+    }
+
+    /**
+     * Retrieves every character, in order.
+     *
+     * @return A list of Character objects.
+     * @throws PersistenceException If an issue occurs while reading from the file.
+     */
+    @Override
+    public List<Character> getAllCharacters() throws PersistenceException {
+        try {
+            return mapping().readAll();
+        } catch (IOException e) {
+            throw new PersistenceException("Error: Couldn't open the Character's file", e);
+        }
+    }
+
+    /**
+     * Replaces every character, rewriting the file.
+     *
+     * @param characters The list of Character objects to be stored.
+     * @throws PersistenceException If an issue occurs while writing to the file.
+     */
+    @Override
+    public void reAddCharactersToJSON(List<Character> characters) throws PersistenceException {
+        try {
+            this.file.locked(() -> {
+                write(characters);
+                return null;
+            });
+        } catch (IOException e) {
+            throw new PersistenceException("Error: Couldn't open the Character's file", e);
+        }
+    }
+
+    /**
+     * Updates the experience points (XP) and the class of the given characters, which are found by their name.
+     * The xp and the class of every character are written in place, and the file is only rewritten if a character
+     * has a class that is not stored yet.
+     *
+     * @param characters The characters with the XP and the class to be saved.
+     * @throws PersistenceException If an issue occurs while reading from or writing to the file.
+     */
+    @Override
+    public void saveCharactersXP(List<Character> characters) throws PersistenceException {
+        try {
+            this.file.locked(() -> {
+                Mapping mapping = mapping();
+                int[] slots = new int[characters.size()];
+                int[] classes = new int[characters.size()];
+                boolean rewrite = false;
+                for (int i = 0; i < characters.size(); i++) {
+                    slots[i] = mapping.find(characters.get(i).name(), false);
+                    classes[i] = mapping.classes.getOrDefault(characters.get(i).clas(), -1);
+                    rewrite |= slots[i] >= 0 && classes[i] < 0;
+                }
+
+                if (rewrite) {
+                    List<Character> stored = mapping.readAll();
+                    for (int i = 0; i < characters.size(); i++) {
+                        if (slots[i] >= 0) {
+                            Character old = stored.get(slots[i]);
+                            stored.set(slots[i], new Character(old.name(), old.player(), characters.get(i).xp(),
+                                    old.body(), old.mind(), old.spirit(), characters.get(i).clas()));
+                        }
+                    }
+                    write(stored);
+                } else {
+                    patch(characters, slots, classes);
+                }
+                return null;
+            });
+        } catch (IOException e) {
+            throw new PersistenceException("Error: Couldn't open the Character's file", e);
+        }
+    }
+
+    /**
+     * Retrieves the character at the given position, reading only its slot and its strings.
+     *
+     * @param index The position of the character.
+     * @return The character at that position.
+     * @throws PersistenceException If an issue occurs while reading from the file.
+     * @throws IndexOutOfBoundsException If there is no character at that position.
+     */
+    @Override
+    public Character getCharacterByIndex(int index) throws PersistenceException {
+        Mapping mapping;
+        try {
+            mapping = mapping();
+        } catch (IOException e) {
+            throw new PersistenceException("Error: Couldn't open the Character's file", e);
+        }
+        Objects.checkIndex(index, mapping.count);
+        return mapping.read(index);
+    }
+
+    /**
+     * Checks if there is a character with the given name, ignoring case, using the hash table.
+     *
+     * @param name The name of the character.
+     * @return True if a character with that name exists, false otherwise.
+     * @throws PersistenceException If an issue occurs while reading from the file.
+     */
+    @Override
+    public boolean characterNameExists(String name) throws PersistenceException {
+        try {
+            return mapping().find(name, true) >= 0;
+        } catch (IOException e) {
+            throw new PersistenceException("Error: Couldn't open the Character's file", e);
+        }
+    }
+
+    /**
+     * Retrieves the characters whose player's name contains the given text, ignoring case.
+     * Only the players of the characters are read until a character matches.
+     *
+     * @param player The text to look for in the player's name.
+     * @return A list of the matching Character objects.
+     * @throws PersistenceException If an issue occurs while reading from the file.
+     */
+    @Override
+    public List<Character> getCharactersByPlayer(String player) throws PersistenceException {
+        Mapping mapping;
+        try {
+            mapping = mapping();
+        } catch (IOException e) {
+            throw new PersistenceException("Error: Couldn't open the Character's file", e);
+        }
+        String text = player.toLowerCase();
+        List<Character> characters = new ArrayList<>();
+        for (int slot = 0; slot < mapping.count; slot++) {
+            String slotPlayer = mapping.string(mapping.field(slot, PLAYER));
+            if (slotPlayer != null && slotPlayer.toLowerCase().contains(text)) {
+                characters.add(mapping.read(slot));
+            }
+        }
+        return characters;
+    }
+
+    /**
+     * Deletes the character with the given name, rewriting the file.
+     *
+     * @param name The name of the character to delete.
+     * @throws PersistenceException If an issue occurs while reading from or writing to the file.
+     */
+    @Override
+    public void deleteCharacter(String name) throws PersistenceException {
+        try {
+            this.file.locked(() -> {
+                Mapping mapping = mapping();
+                int slot = mapping.find(name, false);
+                if (slot >= 0) {
+                    List<Character> characters = mapping.readAll();
+                    characters.remove(slot);
+                    write(characters);
+                }
+                return null;
+            });
+        } catch (IOException e) {
+            throw new PersistenceException("Error: Couldn't open the Character's file", e);
+        }
+    }
+
+    /**
+     * Returns the current mapping of the file, mapping it again if the file has been replaced,
+     * and importing the characters if it doesn't exist.
+     *
+     * @return The mapping.
+     * @throws IOException If the file couldn't be read or the characters couldn't be imported.
+     */
+    private Mapping mapping() throws IOException {
+        Mapping mapping = this.mapping;
+        Object key;
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(this.path, BasicFileAttributes.class);
+            key = Objects.requireNonNullElse(attributes.fileKey(), attributes.lastModifiedTime());
+            if (mapping != null && mapping.key.equals(key) && mapping.size == attributes.size()) {
+                return mapping;
+            }
+        } catch (NoSuchFileException e) {
+            return this.file.locked(() -> {
+                if (!Files.exists(this.path)) {
+                    try {
+                        write(this.source.getAllCharacters());
+                    } catch (PersistenceException imported) {
+                        throw new IOException(imported.getMessage(), imported);
+                    }
+                }
+                return mapping();
+            });
+        }
+
+        synchronized (this) {
+            if (this.mapping == mapping) {
+                this.mapping = new Mapping(this.path, key);
+            }
+            return this.mapping;
+        }
+    }
+
+    /**
+     * Writes the xp and the class of some characters in their slots, and forces them to disk.
+     * Must be called while holding the lock of the file.
+     *
+     * @param characters The characters.
+     * @param slots The slot of every character, or -1 for the ones that are not stored.
+     * @param classes The offset of the class of every character.
+     * @throws IOException If the file couldn't be written.
+     */
+    private void patch(List<Character> characters, int[] slots, int[] classes) throws IOException {
+        ByteBuffer patch = ByteBuffer.allocate(2 * Integer.BYTES);
+        try (FileChannel channel = FileChannel.open(this.path, StandardOpenOption.WRITE)) {
+            for (int i = 0; i < characters.size(); i++) {
+                if (slots[i] >= 0) {
+                    long position = HEADER_SIZE + (long) slots[i] * SLOT_SIZE + XP;
+                    patch.clear();
+                    patch.putInt(characters.get(i).xp()).putInt(classes[i]).flip();
+                    while (patch.hasRemaining()) {
+                        channel.write(patch, position + patch.position());
+                    }
+                }
+            }
+            channel.force(false);
+        }
+    }
+
+    /**
+     * Replaces the file with the given characters.
+     * Must be called while holding the lock of the file.
+     *
+     * @param characters The characters.
+     * @throws IOException If the file couldn't be written.
+     */
+    private void write(List<Character> characters) throws IOException {
+        int count = characters.size();
+        int capacity = Integer.highestOneBit(Math.max(count * 2, 8) - 1) << 1;
+
+        // The classes go first, so they can be found without reading the slots
+        Set<String> classes = new LinkedHashSet<>(CLASSES);
+        for (Character character : characters) {
+            if (character.clas() != null) {
+                classes.add(character.clas());
+            }
+        }
+
+        Map<String, Integer> offsets = new HashMap<>();
+        ByteBuffer[] strings = {ByteBuffer.allocate(Math.max(count * 32, 256))};
+        for (String clas : classes) {
+            putString(clas, offsets, strings);
+        }
+        ByteBuffer head = ByteBuffer.allocate(HEADER_SIZE + count * SLOT_SIZE + capacity * Integer.BYTES);
+        head.putInt(MAGIC).putShort(VERSION).putShort((short) classes.size()).putInt(count).putInt(capacity);
+
+        for (Character character : characters) {
+            head.putInt(putString(character.name(), offsets, strings))
+                    .putInt(putString(character.player(), offsets, strings))
+                    .putInt(character.body())
+                    .putInt(character.mind())
+                    .putInt(character.spirit())
+                    .putInt(character.xp())
+                    .putInt(putString(character.clas(), offsets, strings));
+        }
+
+        int table = head.position();
+        for (int slot = 0; slot < count; slot++) {
+            String name = characters.get(slot).name();
+            if (name != null) {
+                int bucket = bucket(name, capacity);
+                while (head.getInt(table + bucket * Integer.BYTES) != 0) {
+                    bucket = (bucket + 1) & (capacity - 1);
+                }
+                head.putInt(table + bucket * Integer.BYTES, slot + 1);
+            }
+        }
+
+        head.position(head.capacity());
+        this.file.write(head.flip(), strings[0].flip());
+    }
+
+    /**
+     * Adds a string to the strings of the file, unless it has already been added.
+     *
+     * @param string The string, or null.
+     * @param offsets The offset of every string added so far.
+     * @param strings The buffer with the strings, which is replaced by a bigger one when it is full.
+     * @return The offset of the string, or -1 if it is null.
+     */
+    private static int putString(String string, Map<String, Integer> offsets, ByteBuffer[] strings) {
+        if (string == null) {
+            return -1;
+        }
+        Integer offset = offsets.get(string);
+        if (offset == null) {
+            byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+            if (strings[0].remaining() < Integer.BYTES + bytes.length) {
+                strings[0] = ByteBuffer.allocate(Math.max(strings[0].capacity() * 2, strings[0].position() + Integer.BYTES + bytes.length))
+                        .put(strings[0].flip());
+            }
+            offset = strings[0].position();
+            offsets.put(string, offset);
+            strings[0].putInt(bytes.length).put(bytes);
+        }
+        return offset;
+    }
+
+    /**
+     * Computes the bucket of a name in the hash table, which doesn't depend on the case of the name.
+     *
+     * @param name The name.
+     * @param capacity The capacity of the hash table, which is a power of two.
+     * @return The bucket.
+     */
+    private static int bucket(String name, int capacity) {
+        int hash = name.toLowerCase().hashCode();
+        return (hash ^ (hash >>> 16)) & (capacity - 1);
+    }
+
+    /**
+     * Class that represents a mapping of the whole file, which is never modified once it has been written.
+     */
+    private static final class Mapping {
+        /**
+         * The key of the mapped file, which changes when the file is replaced, and its size
+         */
+        private final Object key;
+        private final long size;
+
+        /**
+         * The bytes of the file
+         */
+        private final ByteBuffer buffer;
+
+        /**
+         * The number of characters and the capacity of the hash table
+         */
+        private final int count;
+        private final int capacity;
+
+        /**
+         * The positions of the hash table and of the strings
+         */
+        private final int table;
+        private final int strings;
+
+        /**
+         * The offset of every class
+         */
+        private final Map<String, Integer> classes;
+
+        /**
+         * Maps a file.
+         *
+         * @param path The path to the file.
+         * @param key The key of the file.
+         * @throws IOException If the file couldn't be mapped or is not a character file.
+         */
+        private Mapping(Path path, Object key) throws IOException {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                this.size = channel.size();
+                if (this.size < HEADER_SIZE || this.size > Integer.MAX_VALUE) {
+                    throw new IOException("Not a character file: " + path);
+                }
+                this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, this.size);
+            }
+            this.key = key;
+            if (this.buffer.getInt(0) != MAGIC || this.buffer.getShort(4) != VERSION) {
+                throw new IOException("Not a character file: " + path);
+            }
+            this.count = this.buffer.getInt(8);
+            this.capacity = this.buffer.getInt(12);
+            this.table = HEADER_SIZE + this.count * SLOT_SIZE;
+            this.strings = this.table + this.capacity * Integer.BYTES;
+            if (this.count < 0 || this.capacity < 0 || Integer.bitCount(this.capacity) > 1 || this.strings > this.size) {
+                throw new IOException("Corrupt character file: " + path);
+            }
+
+            this.classes = new HashMap<>();
+            int offset = 0;
+            for (int i = 0; i < this.buffer.getShort(6); i++) {
+                String clas = string(offset);
+                this.classes.put(clas, offset);
+                offset += Integer.BYTES + clas.getBytes(StandardCharsets.UTF_8).length;
+            }
+        }
+
+        /**
+         * Reads a field of a slot.
+         *
+         * @param slot The slot.
+         * @param field The position of the field in the slot.
+         * @return The value of the field.
+         */
+        private int field(int slot, int field) {
+            return this.buffer.getInt(HEADER_SIZE + slot * SLOT_SIZE + field);
+        }
+
+        /**
+         * Reads a string.
+         *
+         * @param offset The offset of the string, or -1.
+         * @return The string, or null if the offset is -1.
+         */
+        private String string(int offset) {
+            if (offset < 0) {
+                return null;
+            }
+            int position = this.strings + offset;
+            byte[] bytes = new byte[this.buffer.getInt(position)];
+            this.buffer.get(position + Integer.BYTES, bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        /**
+         * Reads the character of a slot.
+         *
+         * @param slot The slot.
+         * @return The character.
+         */
+        private Character read(int slot) {
+            return new Character(string(field(slot, NAME)), string(field(slot, PLAYER)), field(slot, XP),
+                    field(slot, BODY), field(slot, MIND), field(slot, SPIRIT), string(field(slot, CLASS)));
+        }
+
+        /**
+         * Reads every character.
+         *
+         * @return A new list with the characters, in order.
+         */
+        private List<Character> readAll() {
+            List<Character> characters = new ArrayList<>(this.count);
+            for (int slot = 0; slot < this.count; slot++) {
+                characters.add(read(slot));
+            }
+            return characters;
+        }
+
+        /**
+         * Finds the slot of a character by its name, using the hash table.
+         *
+         * @param name The name.
+         * @param ignoreCase Whether the case of the name is ignored.
+         * @return The first slot with that name, or -1 if there is none.
+         */
+        private int find(String name, boolean ignoreCase) {
+            if (this.capacity == 0) {
+                return -1;
+            }
+            int found = -1;
+            for (int bucket = bucket(name, this.capacity); ; bucket = (bucket + 1) & (this.capacity - 1)) {
+                int slot = this.buffer.getInt(this.table + bucket * Integer.BYTES) - 1;
+                if (slot < 0) {
+                    return found;
+                }
+                String slotName = string(field(slot, NAME));
+                if ((ignoreCase ? name.equalsIgnoreCase(slotName) : name.equals(slotName)) && (found < 0 || slot < found)) {
+                    found = slot;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package project.persistence.files;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Class that reads and writes a whole file without ever leaving it half written.
+ * <p>
+ * The new content is written to a temporary file in the same directory, forced to disk and then
+ * renamed over the original file in a single atomic step, so a crash leaves either the old or the new
+ * content, and readers never need a lock. Writers are serialized with a lock on a sidecar ".lock" file,
+ * which protects against other processes, and with an in-memory lock, which protects against other
+ * threads of this process.
+ */
+public class AtomicFile {
+    /**
+     * In-memory locks of every file, shared by all the instances that point to the same file
+     */
+    private static final Map<Path, ReentrantLock> THREAD_LOCKS = new ConcurrentHashMap<>();
+
+    /**
+     * Locks on the sidecar files currently held by this process
+     */
+    private static final Map<Path, FileLock> FILE_LOCKS = new ConcurrentHashMap<>();
+
+    /**
+     * The path to the file
+     */
+    private final Path path;
+
+    /**
+     * The path to the sidecar file used to lock the file across processes
+     */
+    private final Path lockPath;
+
+    /**
+     * Action that is run while holding the lock of the file
+     *
+     * @param <T> The type of the result of the action
+     */
+    @FunctionalInterface
+    public interface LockedAction<T> {
+        /**
+         * Runs the action.
+         *
+         * @return The result of the action.
+         * @throws IOException If the action fails.
+         */
+        T run() throws IOException;
+    }
+
+    /**
+     * Constructor of the class that sets the path to the file
+     *
+     * @param path The path to the file.
+     */
+    public AtomicFile(String path) {
+        this.path = Paths.get(path).toAbsolutePath().normalize();
+        this.lockPath = this.path.resolveSibling(this.path.getFileName() + ".lock");
+    }
+
+    /**
+     * Checks if the file exists.
+     *
+     * @return True if the file exists, false otherwise.
+     */
+    public boolean exists() {
+        return Files.exists(this.path);
+    }
+
+    /**
+     * Reads the whole content of the file.
+     *
+     * @return The content of the file.
+     * @throws IOException If the file couldn't be read.
+     */
+    public String read() throws IOException {
+        return Files.readString(this.path, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Replaces the whole content of the file atomically.
+     *
+     * @param content The new content of the file.
+     * @throws IOException If the file couldn't be written. The file keeps its old content in that case.
+     */
+    public void write(String content) throws IOException {
+        write(StandardCharsets.UTF_8.encode(content));
+    }
+
+    /**
+     * Replaces the whole content of the file atomically with some binary content.
+     *
+     * @param content The buffers with the new content of the file, which are written one after the other.
+     * @throws IOException If the file couldn't be written. The file keeps its old content in that case.
+     */
+    public void write(ByteBuffer... content) throws IOException {
+        locked(() -> {
+            Path temporary = Files.createTempFile(this.path.getParent(), this.path.getFileName().toString(), ".tmp");
+            try {
+                copyPermissions(temporary);
+                try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                    for (ByteBuffer buffer : content) {
+                        while (buffer.hasRemaining()) {
+                            channel.write(buffer);
+                        }
+                    }
+                    channel.force(true);
+                }
+                Files.move(temporary, this.path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                forceDirectory();
+            } finally {
+                Files.deleteIfExists(temporary);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Runs an action while holding the lock of the file, so that no other writer can change it in between.
+     * Used to read, modify and write the file without losing the updates of other writers.
+     * The lock is reentrant, so the action can write the file.
+     *
+     * @param action The action to run.
+     * @param <T> The type of the result of the action.
+     * @return The result of the action.
+     * @throws IOException If the lock couldn't be acquired or the action fails.
+     */
+    public <T> T locked(LockedAction<T> action) throws IOException {
+        ReentrantLock threadLock = THREAD_LOCKS.computeIfAbsent(this.path, path -> new ReentrantLock());
+        threadLock.lock();
+        try {
+            if (threadLock.getHoldCount() == 1) {
+                FileChannel channel = FileChannel.open(this.lockPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                try {
+                    FILE_LOCKS.put(this.path, channel.lock());
+                } catch (IOException e) {
+                    channel.close();
+                    throw e;
+                }
+            }
+            return action.run();
+        } finally {
+            if (threadLock.getHoldCount() == 1) {
+                FileLock fileLock = FILE_LOCKS.remove(this.path);
+                if (fileLock != null) {
+                    fileLock.channel().close();
+                }
+            }
+            threadLock.unlock();
+        }
+    }
+
+    /**
+     * Gives the temporary file the same permissions as the file it is going to replace,
+     * since temporary files are only readable by their owner.
+     *
+     * @param temporary The path to the temporary file.
+     */
+    private void copyPermissions(Path temporary) {
+        try {
+            if (Files.exists(this.path)) {
+                Files.setPosixFilePermissions(temporary, Files.getPosixFilePermissions(this.path));
+            }
+        } catch (IOException | UnsupportedOperationException e) {
+            // Not a POSIX file system, the default permissions are kept
+        }
+    }
+
+    /**
+     * Forces the directory of the file to disk, so that the rename survives a crash.
+     * Some platforms don't allow opening a directory, in which case the rename is left to the file system.
+     */
+    private void forceDirectory() {
+        try (FileChannel directory = FileChannel.open(this.path.getParent(), StandardOpenOption.READ)) {
+            directory.force(true);
+        } catch (IOException e) {
+            // Not supported on this platform
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package project.persistence.files;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Class that represents an append-only journal of small changes, one entry per line.
+ * <p>
+ * Appending a change is much cheaper than rewriting the whole document it applies to, and the
+ * journal is folded back into the document once it grows. Every append is forced to disk. If a crash
+ * interrupts an append, the incomplete last line is ignored when the journal is read, and it is cut off
+ * before the next append, so that it never merges with the entries appended after it.
+ * <p>
+ * The journal has no lock of its own: it must be used while holding the lock of the document it belongs to.
+ */
+public class Journal {
+    /**
+     * The path to the journal file
+     */
+    private final Path path;
+
+    /**
+     * Constructor of the class that sets the path to the journal file
+     *
+     * @param path The path to the journal file.
+     */
+    public Journal(String path) {
+        this.path = Paths.get(path);
+    }
+
+    /**
+     * Appends some entries to the journal and forces them to disk.
+     * An incomplete last line left by an interrupted append is cut off first.
+     *
+     * @param entries The entries to append, which must not contain line breaks.
+     * @throws IOException If the journal couldn't be written.
+     */
+    public void append(List<String> entries) throws IOException {
+        StringBuilder lines = new StringBuilder();
+        for (String entry : entries) {
+            lines.append(entry).append('\n');
+        }
+        try (FileChannel channel = FileChannel.open(this.path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.READ)) {
+            long end = completeLength(channel);
+            if (end < channel.size()) {
+                channel.truncate(end);
+            }
+            ByteBuffer buffer = StandardCharsets.UTF_8.encode(lines.toString());
+            while (buffer.hasRemaining()) {
+                end += channel.write(buffer, end);
+            }
+            channel.force(false);
+        }
+    }
+
+    /**
+     * Finds the length of the journal without its incomplete last line, if there is one.
+     *
+     * @param channel The channel of the journal.
+     * @return The position right after the last line break, or 0 if there is none.
+     * @throws IOException If the journal couldn't be read.
+     */
+    private static long completeLength(FileChannel channel) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(4096);
+        long end = channel.size();
+        while (end > 0) {
+            long start = Math.max(0, end - buffer.capacity());
+            buffer.clear().limit((int) (end - start));
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, start + buffer.position()) < 0) {
+                    throw new IOException("The journal has been truncated while reading it");
+                }
+            }
+            for (int i = buffer.limit() - 1; i >= 0; i--) {
+                if (buffer.get(i) == '\n') {
+                    return start + i + 1;
+                }
+            }
+            end = start;
+        }
+        return 0;
+    }
+
+    /**
+     * Reads every complete entry of the journal, in the order they were appended.
+     *
+     * @return The entries of the journal, or an empty list if there is no journal.
+     * @throws IOException If the journal couldn't be read.
+     */
+    public List<String> readEntries() throws IOException {
+        List<String> entries = new ArrayList<>();
+        if (!Files.exists(this.path)) {
+            return entries;
+        }
+
+        String content = Files.readString(this.path, StandardCharsets.UTF_8);
+        int start = 0;
+        int end;
+        while ((end = content.indexOf('\n', start)) >= 0) {
+            if (end > start) {
+                entries.add(content.substring(start, end));
+            }
+            start = end + 1;
+        }
+        return entries;
+    }
+
+    /**
+     * Deletes every entry of the journal, once they have been folded into the document.
+     *
+     * @throws IOException If the journal couldn't be deleted.
+     */
+    public void clear() throws IOException {
+        Files.deleteIfExists(this.path);
+    }
+}
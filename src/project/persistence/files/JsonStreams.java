@@ -0,0 +1,100 @@
+package project.persistence.files;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Helpers to read a JSON array of objects token by token, without loading the whole document in memory.
+ * <p>
+ * The usual loop reads the objects of the array one at a time and the fields of every object one at a time,
+ * skipping the values that are not needed:
+ * <pre>
+ * try (JsonParser parser = JsonStreams.openArray(path)) {
+ *     while (JsonStreams.nextObject(parser)) {
+ *         String field;
+ *         while ((field = JsonStreams.nextField(parser)) != null) {
+ *             if (field.equals("name")) { ... parser.getText() ... } else { parser.skipChildren(); }
+ *         }
+ *     }
+ * }
+ * </pre>
+ */
+public final class JsonStreams {
+    /**
+     * Factory shared by every parser, which is thread-safe once configured
+     */
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    /**
+     * Private constructor to prevent instantiation of this class.
+     */
+    private JsonStreams() {}
+
+    /**
+     * Opens a file that contains a JSON array, leaving the parser right after the start of the array.
+     *
+     * @param path The path to the file.
+     * @return The parser, which must be closed.
+     * @throws IOException If the file couldn't be opened or doesn't start with an array.
+     */
+    public static JsonParser openArray(Path path) throws IOException {
+        return openArray(Files.newInputStream(path));
+    }
+
+    /**
+     * Opens a stream that contains a JSON array, leaving the parser right after the start of the array.
+     *
+     * @param input The stream, which is closed with the parser.
+     * @return The parser, which must be closed.
+     * @throws IOException If the stream couldn't be read or doesn't start with an array.
+     */
+    public static JsonParser openArray(InputStream input) throws IOException {
+        JsonParser parser = JSON_FACTORY.createParser(input);
+        if (parser.nextToken() != JsonToken.START_ARRAY) {
+            parser.close();
+            throw new JsonParseException(parser, "Expected a JSON array");
+        }
+        return parser;
+    }
+
+    /**
+     * Moves to the next object of an array.
+     *
+     * @param parser The parser, placed inside an array.
+     * @return True if the parser is now at the start of an object, false if the array has ended.
+     * @throws IOException If the stream couldn't be read or the next element is not an object.
+     */
+    public static boolean nextObject(JsonParser parser) throws IOException {
+        JsonToken token = parser.nextToken();
+        if (token == JsonToken.START_OBJECT) {
+            return true;
+        } else if (token == JsonToken.END_ARRAY) {
+            return false;
+        }
+        throw new JsonParseException(parser, "Expected a JSON object");
+    }
+
+    /**
+     * Moves to the value of the next field of an object.
+     * The value must be read or skipped with {@link JsonParser#skipChildren()} before moving to the next field.
+     *
+     * @param parser The parser, placed inside an object.
+     * @return The name of the field, or null if the object has ended.
+     * @throws IOException If the stream couldn't be read.
+     */
+    public static String nextField(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.FIELD_NAME) {
+            return null;
+        }
+        String field = parser.getCurrentName();
+        parser.nextToken();
+        return field;
+    }
+}
@@ -0,0 +1,414 @@
+package project.persistence.files;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32C;
+
+/**
+ * Class that reads a compact binary copy of a JSON file, which is much faster to load than parsing the JSON.
+ * <p>
+ * A snapshot is compiled from the JSON file it belongs to, which is still the format that is imported, exported
+ * and written, and remembers the size and modification time of that file. A snapshot whose JSON file has changed
+ * since it was compiled is stale, and is never read. The layout of the file is:
+ * <pre>
+ * header   magic, version, kind, source modification time, source size, source key,
+ *          number of strings, number of records, checksum of the header and the string table
+ * strings  the offset where every string starts and ends, followed by the UTF-8 bytes of every string
+ * records  for every record, its length, the checksum of its content and its content
+ * </pre>
+ * Every string is stored once in the string table, and records refer to strings by their index, so names that are
+ * repeated, like the classes of the characters, take 4 bytes per record. Records are made of ints and string indexes
+ * only. The file is memory-mapped, and strings are only decoded the first time they are read.
+ */
+public final class Snapshot {
+    /**
+     * The version of the layout, which changes whenever the layout of the header or of the records changes
+     */
+    public static final short VERSION = 1;
+
+    /**
+     * The first bytes of every snapshot, "DPOO" in ASCII
+     */
+    private static final int MAGIC = 0x44504F4F;
+
+    /**
+     * The size of the header, in bytes
+     */
+    private static final int HEADER_SIZE = 44;
+
+    /**
+     * The position of the checksum in the header, which covers everything before it and the string table
+     */
+    private static final int CHECKSUM_POSITION = 40;
+
+    /**
+     * The bytes of the snapshot
+     */
+    private final ByteBuffer buffer;
+
+    /**
+     * The number of records of the snapshot
+     */
+    private final int recordCount;
+
+    /**
+     * The position of the string offsets, and the position of the bytes of the strings
+     */
+    private final int stringOffsets;
+    private final int stringBytes;
+
+    /**
+     * The strings that have already been decoded, by index
+     */
+    private final String[] strings;
+
+    /**
+     * The position where the content of the current record ends
+     */
+    private int recordEnd;
+
+    /**
+     * The checksum used to check every record, and the bytes of the last string that has been decoded,
+     * which are reused to avoid allocating them for every record and string
+     */
+    private final CRC32C recordChecksum;
+    private byte[] stringScratch;
+
+    /**
+     * Record class that identifies the content of the JSON file a snapshot is compiled from.
+     * Files are always replaced by a new one when they change, so their key also changes.
+     *
+     * @param modified The modification time of the file, in nanoseconds.
+     * @param size The size of the file.
+     * @param key The hash of the key of the file in the file system, or 0 if it has none.
+     */
+    public record Source(long modified, long size, long key) {
+        /**
+         * Reads the attributes of a JSON file that identify its content.
+         *
+         * @param path The path to the file.
+         * @return The source.
+         * @throws IOException If the attributes of the file couldn't be read.
+         */
+        public static Source of(Path path) throws IOException {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            return new Source(attributes.lastModifiedTime().to(TimeUnit.NANOSECONDS), attributes.size(), Objects.hashCode(attributes.fileKey()));
+        }
+    }
+
+    /**
+     * Constructor of the class, once the header has been checked
+     *
+     * @param buffer The bytes of the snapshot.
+     * @param stringCount The number of strings.
+     * @param recordCount The number of records.
+     */
+    private Snapshot(ByteBuffer buffer, int stringCount, int recordCount) {
+        this.buffer = buffer;
+        this.recordCount = recordCount;
+        this.stringOffsets = HEADER_SIZE;
+        this.stringBytes = HEADER_SIZE + (stringCount + 1) * Integer.BYTES;
+        this.strings = new String[stringCount];
+        this.recordChecksum = new CRC32C();
+        this.stringScratch = new byte[64];
+        this.recordEnd = this.stringBytes + buffer.getInt(this.stringOffsets + stringCount * Integer.BYTES);
+        buffer.position(this.recordEnd);
+    }
+
+    /**
+     * Opens the snapshot of a JSON file, if it is up to date.
+     *
+     * @param path The path to the snapshot.
+     * @param kind The kind of records the snapshot must have.
+     * @param source The JSON file the snapshot must have been compiled from.
+     * @return The snapshot, placed before its first record, or null if there is no snapshot, it has another version
+     * or kind, or it was compiled from another version of the JSON file.
+     * @throws IOException If the snapshot couldn't be read or is corrupt.
+     */
+    public static Snapshot open(Path path, short kind, Source source) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_SIZE || channel.size() > Integer.MAX_VALUE) {
+                return null;
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+
+        if (buffer.getInt(0) != MAGIC || buffer.getShort(4) != VERSION || buffer.getShort(6) != kind
+                || !new Source(buffer.getLong(8), buffer.getLong(16), buffer.getLong(24)).equals(source)) {
+            return null;
+        }
+
+        int stringCount = buffer.getInt(32);
+        int recordCount = buffer.getInt(36);
+        long stringsEnd = HEADER_SIZE + (stringCount + 1L) * Integer.BYTES;
+        if (stringCount < 0 || recordCount < 0 || stringsEnd > buffer.limit()) {
+            throw new IOException("Corrupt snapshot " + path);
+        }
+        int stringsLength = buffer.getInt((int) stringsEnd - Integer.BYTES);
+        stringsEnd += stringsLength;
+        if (stringsLength < 0 || stringsEnd > buffer.limit() || headerChecksum(buffer, (int) stringsEnd) != buffer.getInt(CHECKSUM_POSITION)) {
+            throw new IOException("Corrupt snapshot " + path);
+        }
+        return new Snapshot(buffer, stringCount, recordCount);
+    }
+
+    /**
+     * Returns the number of records of the snapshot.
+     *
+     * @return The number of records.
+     */
+    public int recordCount() {
+        return this.recordCount;
+    }
+
+    /**
+     * Moves to the start of the content of the next record, checking that it is not corrupt.
+     *
+     * @return True if the snapshot is now placed at a record, false if there are no more records.
+     * @throws IOException If the record is corrupt.
+     */
+    public boolean nextRecord() throws IOException {
+        this.buffer.position(this.recordEnd);
+        if (!this.buffer.hasRemaining()) {
+            return false;
+        } else if (this.buffer.remaining() < 2 * Integer.BYTES) {
+            throw new IOException("Corrupt snapshot record at " + this.recordEnd);
+        }
+        int length = this.buffer.getInt();
+        int checksum = this.buffer.getInt();
+        int start = this.buffer.position();
+        if (length < 0 || length > this.buffer.remaining()) {
+            throw new IOException("Corrupt snapshot record at " + (start - 2 * Integer.BYTES));
+        }
+
+        int limit = this.buffer.limit();
+        this.buffer.limit(start + length);
+        this.recordChecksum.reset();
+        this.recordChecksum.update(this.buffer);
+        this.buffer.limit(limit).position(start);
+        if ((int) this.recordChecksum.getValue() != checksum) {
+            throw new IOException("Corrupt snapshot record at " + (start - 2 * Integer.BYTES));
+        }
+        this.recordEnd = start + length;
+        return true;
+    }
+
+    /**
+     * Reads the next int of the current record.
+     *
+     * @return The int.
+     * @throws IOException If the record has no more content.
+     */
+    public int readInt() throws IOException {
+        if (this.buffer.position() + Integer.BYTES > this.recordEnd) {
+            throw new IOException("Snapshot record too short");
+        }
+        return this.buffer.getInt();
+    }
+
+    /**
+     * Reads the next string of the current record.
+     *
+     * @return The string, which is the same instance every time it is read, or null.
+     * @throws IOException If the record has no more content or refers to a string that doesn't exist.
+     */
+    public String readString() throws IOException {
+        int index = readInt();
+        if (index == -1) {
+            return null;
+        } else if (index < 0 || index >= this.strings.length) {
+            throw new IOException("Snapshot string " + index + " doesn't exist");
+        }
+
+        String string = this.strings[index];
+        if (string == null) {
+            int start = this.buffer.getInt(this.stringOffsets + index * Integer.BYTES);
+            int end = this.buffer.getInt(this.stringOffsets + (index + 1) * Integer.BYTES);
+            if (this.stringScratch.length < end - start) {
+                this.stringScratch = new byte[Math.max(end - start, 2 * this.stringScratch.length)];
+            }
+            this.buffer.get(this.stringBytes + start, this.stringScratch, 0, end - start);
+            string = new String(this.stringScratch, 0, end - start, StandardCharsets.UTF_8);
+            this.strings[index] = string;
+        }
+        return string;
+    }
+
+    /**
+     * Computes the checksum of a range of a buffer, without moving it.
+     *
+     * @param buffer The buffer.
+     * @param start The start of the range.
+     * @param end The end of the range.
+     * @return The checksum.
+     */
+    private static int checksum(ByteBuffer buffer, int start, int end) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(start, end - start));
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Computes the checksum of the header, except for the checksum itself, and the string table.
+     *
+     * @param buffer The buffer that starts with the header.
+     * @param stringsEnd The end of the string table.
+     * @return The checksum.
+     */
+    private static int headerChecksum(ByteBuffer buffer, int stringsEnd) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(0, CHECKSUM_POSITION));
+        crc.update(buffer.slice(HEADER_SIZE, stringsEnd - HEADER_SIZE));
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Class that compiles a snapshot, one record at a time.
+     */
+    public static final class Writer {
+        /**
+         * The kind of records of the snapshot
+         */
+        private final short kind;
+
+        /**
+         * The index of every string, and the strings in order
+         */
+        private final Map<String, Integer> indexes;
+        private final List<byte[]> strings;
+
+        /**
+         * The records written so far, and the content of the current record
+         */
+        private ByteBuffer records;
+        private int recordStart;
+        private int recordCount;
+
+        /**
+         * Constructor of the class that starts an empty snapshot
+         *
+         * @param kind The kind of records of the snapshot.
+         */
+        public Writer(short kind) {
+            this.kind = kind;
+            this.indexes = new HashMap<>();
+            this.strings = new ArrayList<>();
+            this.records = ByteBuffer.allocate(4096);
+            this.recordStart = -1;
+        }
+
+        /**
+         * Starts a new record.
+         */
+        public void beginRecord() {
+            endRecord();
+            ensureCapacity(2 * Integer.BYTES);
+            this.recordStart = this.records.position();
+            this.records.position(this.recordStart + 2 * Integer.BYTES);
+            this.recordCount++;
+        }
+
+        /**
+         * Writes an int to the current record.
+         *
+         * @param value The int.
+         */
+        public void writeInt(int value) {
+            ensureCapacity(Integer.BYTES);
+            this.records.putInt(value);
+        }
+
+        /**
+         * Writes a string to the current record, which is stored only once in the snapshot.
+         *
+         * @param value The string, or null.
+         */
+        public void writeString(String value) {
+            if (value == null) {
+                writeInt(-1);
+                return;
+            }
+            Integer index = this.indexes.get(value);
+            if (index == null) {
+                index = this.strings.size();
+                this.indexes.put(value, index);
+                this.strings.add(value.getBytes(StandardCharsets.UTF_8));
+            }
+            writeInt(index);
+        }
+
+        /**
+         * Writes the snapshot to a file, replacing it atomically.
+         *
+         * @param file The snapshot file.
+         * @param source The JSON file the snapshot has been compiled from.
+         * @throws IOException If the file couldn't be written.
+         */
+        public void save(AtomicFile file, Source source) throws IOException {
+            endRecord();
+
+            int stringsLength = 0;
+            for (byte[] string : this.strings) {
+                stringsLength += string.length;
+            }
+            ByteBuffer head = ByteBuffer.allocate(HEADER_SIZE + (this.strings.size() + 1) * Integer.BYTES + stringsLength);
+            head.putInt(MAGIC).putShort(VERSION).putShort(this.kind)
+                    .putLong(source.modified()).putLong(source.size()).putLong(source.key())
+                    .putInt(this.strings.size()).putInt(this.recordCount).putInt(0);
+            int offset = 0;
+            for (byte[] string : this.strings) {
+                head.putInt(offset);
+                offset += string.length;
+            }
+            head.putInt(offset);
+            for (byte[] string : this.strings) {
+                head.put(string);
+            }
+            head.putInt(CHECKSUM_POSITION, headerChecksum(head, head.capacity()));
+
+            file.write(head.flip(), this.records.flip());
+        }
+
+        /**
+         * Finishes the current record, if any, filling in its length and checksum.
+         */
+        private void endRecord() {
+            if (this.recordStart >= 0) {
+                int start = this.recordStart + 2 * Integer.BYTES;
+                int length = this.records.position() - start;
+                this.records.putInt(this.recordStart, length);
+                this.records.putInt(this.recordStart + Integer.BYTES, checksum(this.records, start, start + length));
+                this.recordStart = -1;
+            }
+        }
+
+        /**
+         * Makes room for some more bytes in the records.
+         *
+         * @param bytes The number of bytes.
+         */
+        private void ensureCapacity(int bytes) {
+            if (this.records.remaining() < bytes) {
+                ByteBuffer bigger = ByteBuffer.allocate(Math.max(this.records.capacity() * 2, this.records.position() + bytes));
+                this.records = bigger.put(this.records.flip());
+            }
+        }
+    }
+}
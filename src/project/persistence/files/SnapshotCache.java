@@ -0,0 +1,153 @@
+package project.persistence.files;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Class that loads the records of a JSON file from its {@link Snapshot}, which is kept next to it.
+ * <p>
+ * When the snapshot is missing, stale or corrupt, the JSON file is parsed instead, and the snapshot is compiled
+ * again from what has been parsed, so the next load is fast again. The snapshot is only a faster copy of the JSON
+ * file, so the records are still returned if it can't be written.
+ *
+ * @param <T> The type of the records.
+ */
+public class SnapshotCache<T> {
+    /**
+     * Action that parses every record of the JSON file
+     *
+     * @param <T> The type of the records
+     */
+    @FunctionalInterface
+    public interface JsonLoader<T> {
+        /**
+         * Parses the records.
+         *
+         * @return The records, in order.
+         * @throws IOException If the JSON file couldn't be read.
+         */
+        List<T> load() throws IOException;
+    }
+
+    /**
+     * Action that reads a record from a snapshot
+     *
+     * @param <T> The type of the records
+     */
+    @FunctionalInterface
+    public interface RecordReader<T> {
+        /**
+         * Reads a record.
+         *
+         * @param snapshot The snapshot, placed at the start of the record.
+         * @return The record.
+         * @throws IOException If the record is corrupt.
+         */
+        T read(Snapshot snapshot) throws IOException;
+    }
+
+    /**
+     * Action that writes a record to a snapshot
+     *
+     * @param <T> The type of the records
+     */
+    @FunctionalInterface
+    public interface RecordWriter<T> {
+        /**
+         * Writes the content of a record, which has already been started.
+         *
+         * @param record The record.
+         * @param writer The writer of the snapshot.
+         */
+        void write(T record, Snapshot.Writer writer);
+    }
+
+    /**
+     * The path to the JSON file
+     */
+    private final Path source;
+
+    /**
+     * The path to the snapshot, and the snapshot file itself
+     */
+    private final Path path;
+    private final AtomicFile file;
+
+    /**
+     * The kind of records of the snapshot
+     */
+    private final short kind;
+
+    /**
+     * How the records are read from and written to the snapshot
+     */
+    private final RecordReader<T> reader;
+    private final RecordWriter<T> writer;
+
+    /**
+     * Constructor of the class that keeps the snapshot of a JSON file next to it, with the ".snapshot" extension
+     *
+     * @param sourcePath The path to the JSON file.
+     * @param kind The kind of records of the snapshot, which tells snapshots of different files apart.
+     * @param reader How the records are read from the snapshot.
+     * @param writer How the records are written to the snapshot.
+     */
+    public SnapshotCache(String sourcePath, short kind, RecordReader<T> reader, RecordWriter<T> writer) {
+        this.source = Paths.get(sourcePath);
+        this.path = Paths.get(sourcePath + ".snapshot");
+        this.file = new AtomicFile(sourcePath + ".snapshot");
+        this.kind = kind;
+        this.reader = reader;
+        this.writer = writer;
+    }
+
+    /**
+     * Loads every record, from the snapshot if it is up to date, or from the JSON file otherwise.
+     *
+     * @param json How the records are parsed from the JSON file.
+     * @return The records, in the order of the JSON file.
+     * @throws IOException If the JSON file couldn't be read.
+     */
+    public List<T> load(JsonLoader<T> json) throws IOException {
+        // The source is read before the JSON file, so a change in between leaves a stale snapshot, never a wrong one
+        Snapshot.Source source = Snapshot.Source.of(this.source);
+        try {
+            Snapshot snapshot = Snapshot.open(this.path, this.kind, source);
+            if (snapshot != null) {
+                List<T> records = new ArrayList<>(snapshot.recordCount());
+                while (snapshot.nextRecord()) {
+                    records.add(this.reader.read(snapshot));
+                }
+                return records;
+            }
+        } catch (IOException e) {
+            // The snapshot is corrupt, so it is compiled again
+        }
+
+        List<T> records = json.load();
+        compile(records, source);
+        return records;
+    }
+
+    /**
+     * Compiles the snapshot from the records of the JSON file.
+     *
+     * @param records The records.
+     * @param source The JSON file the records have been parsed from.
+     */
+    private void compile(List<T> records, Snapshot.Source source) {
+        Snapshot.Writer snapshot = new Snapshot.Writer(this.kind);
+        for (T record : records) {
+            snapshot.beginRecord();
+            this.writer.write(record, snapshot);
+        }
+        try {
+            snapshot.save(this.file, source);
+        } catch (IOException e) {
+            // The JSON file is still there, it will be parsed again next time
+        }
+    }
+}
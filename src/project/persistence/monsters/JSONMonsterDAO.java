@@ -1,18 +1,20 @@
 package project.persistence.monsters;
 
-import org.json.JSONArray;
-import org.json.JSONObject;
+import com.fasterxml.jackson.core.JsonParser;
 import project.business.entities.monster.Monster;
+import project.business.entities.monster.MonsterCatalog;
 import project.persistence.exceptions.PersistenceException;
+import project.persistence.files.JsonStreams;
+import project.persistence.files.Snapshot;
+import project.persistence.files.SnapshotCache;
 
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
 /**
  * Class that implements the MonsterDAO interface
@@ -23,11 +25,32 @@ public class JSONMonsterDAO implements MonsterDAO {
      */
     private final String MONSTERS_PATH;
 
+    /**
+     * Kind of the records of the snapshot of the monsters.json file
+     */
+    private static final short SNAPSHOT_KIND = 2;
+
+    /**
+     * Snapshot of the monsters.json file, which the monsters are loaded from
+     */
+    private final SnapshotCache<Monster> snapshot;
+
+    /**
+     * Catalog loaded from the monsters.json file, or null if it hasn't been loaded yet
+     */
+    private MonsterCatalog catalog;
+
+    /**
+     * Last modification time of the monsters.json file when the catalog was loaded
+     */
+    private FileTime catalogModifiedTime;
+
     /**
      * Constructor for the JSONMonsterDAO class that sets the path to the monsters.json file
      */
     public JSONMonsterDAO() {
         this.MONSTERS_PATH = "data/monsters.json";
+        this.snapshot = new SnapshotCache<>(MONSTERS_PATH, SNAPSHOT_KIND, JSONMonsterDAO::readMonster, JSONMonsterDAO::writeMonster);
     }
 
     /**
@@ -50,13 +73,8 @@ public class JSONMonsterDAO implements MonsterDAO {
     public List<String> getAllMonsterNameAndChallenge() throws PersistenceException {
         List<String> result = new ArrayList<>();
         try {
-            String content = new String(Files.readAllBytes(Paths.get(MONSTERS_PATH)));
-            JSONArray jsonArray = new JSONArray(content);
-            for (int i = 0; i < jsonArray.length(); i++) {
-                JSONObject jsonObject = jsonArray.getJSONObject(i);
-                String name = jsonObject.getString("name");
-                String challenge = jsonObject.getString("challenge");
-                result.add(name + " (" + challenge + ")");
+            for (Monster monster : this.snapshot.load(this::parseMonsters)) {
+                result.add(monster.name() + " (" + monster.challenge() + ")");
             }
         } catch (IOException e) {
             throw new PersistenceException("Error: Couldn't open the Monster's file", e);
@@ -73,20 +91,106 @@ public class JSONMonsterDAO implements MonsterDAO {
     @Override
     public List<Monster> getAllMonsters() throws PersistenceException {
         try {
-            JSONArray monstersJSON = new JSONArray(new String(Files.readAllBytes(Paths.get(MONSTERS_PATH))));
-            return IntStream.range(0, monstersJSON.length())
-                    .mapToObj(monstersJSON::getJSONObject)
-                    .map(jsonObject -> new Monster(
-                            jsonObject.getString("name"),
-                            jsonObject.getString("challenge"),
-                            jsonObject.getInt("experience"),
-                            jsonObject.getInt("hitPoints"),
-                            jsonObject.getInt("initiative"),
-                            jsonObject.getString("damageDice"),
-                            jsonObject.getString("damageType")))
-                    .collect(Collectors.toList());
+            return this.snapshot.load(this::parseMonsters);
         } catch (IOException e) {
             throw new PersistenceException("Error: Getting all monsters", e);
         }
     }
+
+    /**
+     * Method that gets the catalog of every monster from the monsters.json file.
+     * The file is only read again if it has been modified since the last time the catalog was loaded.
+     *
+     * @return the catalog of the monsters
+     * @throws PersistenceException if the file couldn't be opened
+     */
+    @Override
+    public synchronized MonsterCatalog getMonsterCatalog() throws PersistenceException {
+        try {
+            FileTime modifiedTime = Files.getLastModifiedTime(Paths.get(MONSTERS_PATH));
+            if (this.catalog == null || !modifiedTime.equals(this.catalogModifiedTime)) {
+                this.catalog = new MonsterCatalog(getAllMonsters());
+                this.catalogModifiedTime = modifiedTime;
+            }
+            return this.catalog;
+        } catch (IOException e) {
+            throw new PersistenceException("Error: Getting the monster catalog", e);
+        }
+    }
+
+    /**
+     * Method that parses every monster of the monsters.json file
+     *
+     * @return a list of all the monsters
+     * @throws IOException if the file couldn't be read
+     */
+    private List<Monster> parseMonsters() throws IOException {
+        List<Monster> monsters = new ArrayList<>();
+        try (JsonParser parser = JsonStreams.openArray(Paths.get(MONSTERS_PATH))) {
+            while (JsonStreams.nextObject(parser)) {
+                monsters.add(readMonster(parser));
+            }
+        }
+        return monsters;
+    }
+
+    /**
+     * Method that reads a monster from the monsters.json file
+     *
+     * @param parser the parser, placed at the start of the monster object
+     * @return the monster
+     * @throws IOException if the file couldn't be read
+     */
+    private Monster readMonster(JsonParser parser) throws IOException {
+        String name = null;
+        String challenge = null;
+        String damageDice = null;
+        String damageType = null;
+        int experience = 0;
+        int hitPoints = 0;
+        int initiative = 0;
+
+        String field;
+        while ((field = JsonStreams.nextField(parser)) != null) {
+            switch (field) {
+                case "name" -> name = parser.getText();
+                case "challenge" -> challenge = parser.getText();
+                case "experience" -> experience = parser.getIntValue();
+                case "hitPoints" -> hitPoints = parser.getIntValue();
+                case "initiative" -> initiative = parser.getIntValue();
+                case "damageDice" -> damageDice = parser.getText();
+                case "damageType" -> damageType = parser.getText();
+                default -> parser.skipChildren();
+            }
+        }
+        return new Monster(name, challenge, experience, hitPoints, initiative, damageDice, damageType);
+    }
+
+    /**
+     * Method that reads a monster from the snapshot of the monsters.json file
+     *
+     * @param snapshot the snapshot, placed at the start of the monster record
+     * @return the monster
+     * @throws IOException if the record is corrupt
+     */
+    private static Monster readMonster(Snapshot snapshot) throws IOException {
+        return new Monster(snapshot.readString(), snapshot.readString(), snapshot.readInt(), snapshot.readInt(),
+                snapshot.readInt(), snapshot.readString(), snapshot.readString());
+    }
+
+    /**
+     * Method that writes a monster to the snapshot of the monsters.json file
+     *
+     * @param monster the monster
+     * @param snapshot the writer of the snapshot
+     */
+    private static void writeMonster(Monster monster, Snapshot.Writer snapshot) {
+        snapshot.writeString(monster.name());
+        snapshot.writeString(monster.challenge());
+        snapshot.writeInt(monster.xp());
+        snapshot.writeInt(monster.hitPoints());
+        snapshot.writeInt(monster.initiative());
+        snapshot.writeString(monster.damageDice());
+        snapshot.writeString(monster.damageType());
+    }
 }
@@ -1,6 +1,7 @@
 package project.persistence.monsters;
 
 import project.business.entities.monster.Monster;
+import project.business.entities.monster.MonsterCatalog;
 import project.persistence.exceptions.PersistenceException;
 
 import java.util.List;
@@ -31,4 +32,12 @@ public interface MonsterDAO {
      * @throws PersistenceException if the file couldn't be opened
      */
     List<Monster> getAllMonsters() throws PersistenceException;
+
+    /**
+     * Method that gets the catalog of every monster, indexed by name
+     *
+     * @return the catalog of the monsters
+     * @throws PersistenceException if the file couldn't be opened
+     */
+    MonsterCatalog getMonsterCatalog() throws PersistenceException;
 }
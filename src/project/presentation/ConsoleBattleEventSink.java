@@ -0,0 +1,91 @@
+package project.presentation;
+
+import project.business.entities.battle.BattleEntity;
+import project.business.entities.battle.events.*;
+import project.business.entities.battle.monster.BattleMonster;
+
+import java.util.List;
+
+/**
+ * Battle event sink that renders every event of the battle as text and shows it through the menu.
+ */
+public class ConsoleBattleEventSink implements BattleEventSink {
+    /**
+     * The menu used to show the battle messages.
+     */
+    private final Menu menu;
+
+    /**
+     * Creates a new console sink that shows the battle messages through the given menu.
+     *
+     * @param menu The menu.
+     */
+    public ConsoleBattleEventSink(Menu menu) {
+        this.menu = menu;
+    }
+
+    /**
+     * Renders the event and shows it.
+     *
+     * @param event The event that has just happened.
+     */
+    @Override
+    public void accept(BattleEvent event) {
+        menu.showAttackMsg(render(event));
+    }
+
+    /**
+     * Renders an event of the battle as the message shown to the user.
+     *
+     * @param event The event to render.
+     * @return The message describing the event.
+     */
+    public static String render(BattleEvent event) {
+        StringBuilder message = new StringBuilder();
+        switch (event) {
+            case AttackEvent attack -> {
+                message.append(attack.attacker().getName()).append(" attacks ").append(attack.target().getName()).append(".\n");
+                if (!attack.hit()) {
+                    message.append("Fails and deals 0 ");
+                } else if (attack.critical()) {
+                    message.append("Critical hit and deals ").append(attack.damage()).append(" ");
+                } else {
+                    message.append("Hits and deals ").append(attack.damage()).append(" ");
+                }
+                message.append(attack.damageType().toLowerCase()).append(" damage.\n");
+                appendDown(message, attack.targetDown() ? List.of(attack.target()) : List.of());
+            }
+            case SpellEvent spell -> {
+                message.append(spell.caster().getName()).append(" uses ").append(spell.ability()).append(".\n");
+                message.append(spell.target().getName()).append(" takes ").append(spell.damage()).append(" ").append(spell.damageType().toLowerCase()).append(" damage.\n");
+                appendDown(message, spell.targetDown() ? List.of(spell.target()) : List.of());
+            }
+            case AreaSpellEvent spell -> {
+                message.append(spell.caster().getName()).append(" attacks ");
+                for (BattleEntity target : spell.targets()) {
+                    message.append(target.getName()).append(" ");
+                }
+                message.append("with ").append(spell.ability()).append(".\n");
+                message.append("They take ").append(spell.damage()).append(" ").append(spell.damageType().toLowerCase()).append(" damage.\n");
+                appendDown(message, spell.targetsDown());
+            }
+            case HealEvent heal -> message.append(heal.healer().getName()).append(" uses ").append(heal.ability()).append(". ")
+                    .append(heal.target().getName()).append(" is healed for ").append(heal.healing()).append(" points.\n");
+            case PartyHealEvent heal -> message.append(heal.healer().getName()).append(" uses ").append(heal.ability())
+                    .append(". All party members are healed for ").append(heal.healing()).append(" points.\n");
+        }
+        return message.append("\n").toString();
+    }
+
+    /**
+     * Appends a line for every entity that has died or fallen unconscious.
+     *
+     * @param message The message being rendered.
+     * @param down The entities that have died or fallen unconscious.
+     */
+    private static void appendDown(StringBuilder message, List<? extends BattleEntity> down) {
+        for (BattleEntity entity : down) {
+            message.append(entity.getName()).append(entity instanceof BattleMonster ? " dies.\n" : " falls unconscious.\n");
+        }
+    }
+}
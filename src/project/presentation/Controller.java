@@ -2,6 +2,7 @@ package project.presentation;
 
 import project.business.*;
 import project.business.entities.battle.BattleEntity;
+import project.business.entities.battle.TurnOrder;
 import project.business.entities.character.Character;
 import project.business.exceptions.*;
 import project.persistence.exceptions.ApiServerException;
@@ -56,6 +57,7 @@ public class Controller {
         this.monsterManager = monsterManager;
         this.battleManager = battleManager;
         this.menu = menu;
+        this.battleManager.setEventSink(new ConsoleBattleEventSink(menu));
         this.apiConnection = false;
     }
 
@@ -120,7 +122,7 @@ public class Controller {
      * @throws ContinueAdventureException If the adventure is not finished.
      */
     private void startBattle(int encounter) throws FinishedBattleException, ContinueAdventureException, PersistenceException, ApiServerException {
-        Deque<BattleEntity> battleEntities = battleManager.getBattleQueue();
+        TurnOrder battleEntities = battleManager.getBattleQueue();
         int cont = 0;
         int round = 1;
         menu.showBattleHeader();
@@ -128,14 +130,13 @@ public class Controller {
 
         while (true) {
             try {
-                BattleEntity poll = battleEntities.pollFirst();
-                menu.showAttackMsg(battleManager.manageAttack(poll));
-                battleEntities.addLast(poll);
+                BattleEntity poll = battleEntities.next();
+                battleManager.manageAttack(poll);
                 cont = battleManager.checkIfIsAlive(cont, poll);
 
                 if (battleManager.getAliveEntities() == cont) {
                     menu.showEndRoundMsg(round);
-                    int[] res = battleManager.handleCharacterAndMonstersDies(battleEntities, cont, round);
+                    int[] res = battleManager.handleCharacterAndMonstersDies(cont, round);
                     cont = res[0]; round = res[1];
 
                     menu.combatStage(battleManager.getCharacterNamesAndHitPoints(), round);
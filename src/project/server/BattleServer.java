@@ -0,0 +1,167 @@
+package project.server;
+
+import project.business.BattleManager;
+import project.business.CharacterInterface;
+import project.business.CharacterManager;
+import project.persistence.adventures.AdventureDAO;
+import project.persistence.api.ApiConnection;
+import project.persistence.characters.CharacterDAO;
+import project.persistence.monsters.MonsterDAO;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Server that hosts many adventure sessions at the same time, one for every connected player.
+ * <p>
+ * Every session runs on its own virtual thread and has its own adventure, party and random source,
+ * while the characters, the adventures and the monsters are shared by every session, so the DAOs
+ * must be thread-safe, such as the cached ones. Only the local data files are used, not the API.
+ * <p>
+ * The players talk to the server with a line-based protocol: every line sent is a command, which is
+ * answered with some lines of text followed by a line that starts with "OK" or "ERROR". The commands are:
+ * <pre>
+ * ADVENTURES          lists the adventures
+ * ADVENTURE number    chooses the adventure to play
+ * CHARACTERS          lists the characters
+ * JOIN number         adds a character to the party of the chosen adventure
+ * PARTY               lists the party of the chosen adventure
+ * PLAY                plays the chosen adventure with the party, answering "OK won" or "OK lost"
+ * QUIT                ends the session
+ * </pre>
+ */
+public class BattleServer implements AutoCloseable {
+    /**
+     * The shared data access objects.
+     */
+    private final AdventureDAO adventureDAO;
+    private final CharacterDAO characterDAO;
+    private final MonsterDAO monsterDAO;
+    private final ApiConnection apiDAO;
+
+    /**
+     * The character manager, which is shared by every session.
+     */
+    private final CharacterInterface characterManager;
+
+    /**
+     * The socket the players connect to.
+     */
+    private final ServerSocket serverSocket;
+
+    /**
+     * The connections of the sessions that are still running.
+     */
+    private final Set<Socket> sockets;
+
+    /**
+     * Released when {@link #run()} has returned, once every session has finished.
+     */
+    private final CountDownLatch stopped;
+
+    /**
+     * Creates a new server that listens on the given port.
+     *
+     * @param port The port, or 0 to use any free port.
+     * @param adventureDAO The adventure data access object, which must be thread-safe.
+     * @param characterDAO The character data access object, which must be thread-safe.
+     * @param monsterDAO The monster data access object, which must be thread-safe.
+     * @param apiDAO The api data access object.
+     * @throws IOException If the port couldn't be opened.
+     */
+    public BattleServer(int port, AdventureDAO adventureDAO, CharacterDAO characterDAO, MonsterDAO monsterDAO, ApiConnection apiDAO) throws IOException {
+        this.adventureDAO = adventureDAO;
+        this.characterDAO = characterDAO;
+        this.monsterDAO = monsterDAO;
+        this.apiDAO = apiDAO;
+        this.characterManager = new CharacterManager(characterDAO, apiDAO);
+        this.serverSocket = new ServerSocket(port);
+        this.sockets = ConcurrentHashMap.newKeySet();
+        this.stopped = new CountDownLatch(1);
+    }
+
+    /**
+     * @return the port the server listens on
+     */
+    public int getPort() {
+        return this.serverSocket.getLocalPort();
+    }
+
+    /**
+     * Accepts players until the server is closed, starting a session for every one of them.
+     * When the server is closed, it waits for the sessions that are still running to finish.
+     */
+    public void run() {
+        try (ExecutorService sessions = Executors.newVirtualThreadPerTaskExecutor()) {
+            while (!this.serverSocket.isClosed()) {
+                try {
+                    Socket socket = this.serverSocket.accept();
+                    this.sockets.add(socket);
+                    if (this.serverSocket.isClosed()) {
+                        // Accepted while closing, after the connections have been closed
+                        disconnect(socket);
+                    }
+                    BattleManager battleManager = new BattleManager(this.adventureDAO, this.characterDAO, this.monsterDAO, this.apiDAO);
+                    Session session = new Session(socket, this.characterManager, battleManager, ThreadLocalRandom.current().nextLong());
+                    sessions.execute(() -> {
+                        try {
+                            session.run();
+                        } finally {
+                            this.sockets.remove(socket);
+                        }
+                    });
+                } catch (IOException e) {
+                    // The server has been closed, or the player has disconnected while connecting
+                }
+            }
+        } finally {
+            this.stopped.countDown();
+        }
+    }
+
+    /**
+     * Stops accepting players and disconnects every player, so their sessions end as soon as they have finished
+     * the command they are running. An adventure being played is played until the end, so the experience points
+     * of the party are saved, but the player no longer sees it.
+     */
+    @Override
+    public void close() {
+        try {
+            this.serverSocket.close();
+        } catch (IOException e) {
+            // Nothing else can be done
+        }
+        for (Socket socket : this.sockets) {
+            disconnect(socket);
+        }
+    }
+
+    /**
+     * Waits until {@link #run()} has returned, which is when every session has finished after {@link #close()}.
+     *
+     * @throws InterruptedException If the thread is interrupted while waiting.
+     */
+    public void awaitStopped() throws InterruptedException {
+        this.stopped.await();
+    }
+
+    /**
+     * Closes the connection of a player, which makes their session stop reading commands.
+     *
+     * @param socket The connection.
+     */
+    private static void disconnect(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            // The player has already disconnected
+        }
+    }
+}
@@ -0,0 +1,316 @@
+package project.server;
+
+import project.business.BattleInterface;
+import project.business.CharacterInterface;
+import project.business.SeededRandomSource;
+import project.business.entities.battle.BattleEntity;
+import project.business.entities.battle.TurnOrder;
+import project.business.entities.character.Character;
+import project.business.exceptions.FinishedBattleException;
+import project.business.exceptions.NonAliveMonsterException;
+import project.business.exceptions.RepeatedPartyCharacterException;
+import project.persistence.exceptions.PersistenceException;
+import project.presentation.ConsoleBattleEventSink;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * A session of a player connected to the battle server.
+ * <p>
+ * Every session has its own battle manager, and so its own adventure and party, and rolls its dice
+ * with its own random source, so sessions never share any battle state. The session reads one command
+ * per line and answers it with some lines of text, followed by a line that starts with "OK" or "ERROR".
+ */
+class Session implements Runnable {
+    /**
+     * The number of characters a party must have to start an adventure.
+     */
+    private static final int MIN_PARTY_SIZE = 3;
+
+    /**
+     * The connection with the player.
+     */
+    private final Socket socket;
+
+    /**
+     * The character manager, which is shared with the other sessions.
+     */
+    private final CharacterInterface characterManager;
+
+    /**
+     * The battle manager of the session.
+     */
+    private final BattleInterface battleManager;
+
+    /**
+     * The seed of the random source of the session, so that its battles can be replayed.
+     */
+    private final long seed;
+
+    /**
+     * Where the answers are written to.
+     */
+    private PrintWriter out;
+
+    /**
+     * Whether an adventure has been chosen and not played yet.
+     */
+    private boolean adventureChosen;
+
+    /**
+     * Creates a new session.
+     *
+     * @param socket The connection with the player.
+     * @param characterManager The character manager.
+     * @param battleManager The battle manager of the session, which must not be used by any other session.
+     * @param seed The seed of the random source of the session.
+     */
+    Session(Socket socket, CharacterInterface characterManager, BattleInterface battleManager, long seed) {
+        this.socket = socket;
+        this.characterManager = characterManager;
+        this.battleManager = battleManager;
+        this.seed = seed;
+        this.battleManager.setDice(new SeededRandomSource(seed));
+        this.battleManager.setEventSink(event -> send(ConsoleBattleEventSink.render(event)));
+    }
+
+    /**
+     * Reads and answers the commands of the player until they quit or disconnect.
+     */
+    @Override
+    public void run() {
+        try (Socket socket = this.socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8))) {
+            this.out = new PrintWriter(socket.getOutputStream(), false, StandardCharsets.UTF_8);
+            send("Welcome to the tavern! Your seed is " + this.seed + ".");
+            ok();
+
+            String line;
+            while ((line = in.readLine()) != null) {
+                String[] command = line.trim().split("\\s+", 2);
+                if (command[0].equalsIgnoreCase("QUIT")) {
+                    ok();
+                    break;
+                }
+                try {
+                    execute(command[0].toUpperCase(), command.length > 1 ? command[1] : "");
+                } catch (PersistenceException | RepeatedPartyCharacterException | IllegalArgumentException e) {
+                    error(e.getMessage());
+                } catch (RuntimeException e) {
+                    // Such as a character deleted by another session in the middle of the command, which must
+                    // not end the session without an answer, nor hide a bug, so it is also logged on the server
+                    System.err.println("Session " + this.seed + ": \"" + line + "\" failed");
+                    e.printStackTrace();
+                    error("The command couldn't be completed (" + e.getClass().getSimpleName() + "), try again.");
+                }
+            }
+        } catch (IOException e) {
+            // The player has disconnected, so there is nobody to tell
+        }
+    }
+
+    /**
+     * Executes a command of the player.
+     *
+     * @param command The name of the command, in uppercase.
+     * @param argument The rest of the line.
+     * @throws PersistenceException If the characters or the adventures couldn't be read or written.
+     * @throws RepeatedPartyCharacterException If a character joins the party twice.
+     */
+    private void execute(String command, String argument) throws PersistenceException, RepeatedPartyCharacterException {
+        switch (command) {
+            case "HELP" -> {
+                send("ADVENTURES, ADVENTURE <number>, CHARACTERS, JOIN <number>, PARTY, PLAY, QUIT");
+                ok();
+            }
+            case "ADVENTURES" -> {
+                List<String> names = this.battleManager.getAllAdventuresNames();
+                for (int i = 0; i < names.size(); i++) {
+                    send((i + 1) + ". " + names.get(i));
+                }
+                ok();
+            }
+            case "ADVENTURE" -> {
+                int adventure = number(argument, this.battleManager.getAllAdventuresNames().size());
+                this.battleManager.setAdventure(adventure - 1);
+                this.adventureChosen = true;
+                ok(this.battleManager.getAdventureName());
+            }
+            case "CHARACTERS" -> {
+                List<Character> characters = this.characterManager.listAllCharacters();
+                for (int i = 0; i < characters.size(); i++) {
+                    send((i + 1) + ". " + characters.get(i).name());
+                }
+                ok();
+            }
+            case "JOIN" -> {
+                checkAdventureChosen();
+                List<Character> characters = this.characterManager.listAllCharacters();
+                if (this.battleManager.getNumCharacters() >= this.battleManager.getMaxCharactersInBattle(characters.size())) {
+                    throw new IllegalArgumentException("The party is full.");
+                }
+                this.battleManager.addCharacter(this.characterManager.getCharacterByID(number(argument, characters.size()) - 1));
+                ok(String.valueOf(this.battleManager.getNumCharacters()));
+            }
+            case "PARTY" -> {
+                checkAdventureChosen();
+                this.battleManager.getCharacterNames(this.battleManager.getNumCharacters()).forEach(this::send);
+                ok();
+            }
+            case "PLAY" -> {
+                checkAdventureChosen();
+                if (this.battleManager.getNumCharacters() < MIN_PARTY_SIZE) {
+                    throw new IllegalArgumentException("There must be at least " + MIN_PARTY_SIZE + " characters in the party.");
+                }
+                this.adventureChosen = false;
+                ok(play() ? "won" : "lost");
+            }
+            default -> throw new IllegalArgumentException("Unknown command. Type HELP to see the commands.");
+        }
+    }
+
+    /**
+     * Plays every encounter of the chosen adventure with the party, following the same stages as the
+     * interactive battle, and saves the experience points of the party after every cleared encounter.
+     *
+     * @return True if the party has completed the adventure, false if it has fallen unconscious.
+     * @throws PersistenceException If the monsters couldn't be read or the characters couldn't be saved.
+     */
+    private boolean play() throws PersistenceException {
+        send("Starting " + this.battleManager.getAdventureName() + ".");
+        for (int encounter = 1; encounter <= this.battleManager.getEncounters(); encounter++) {
+            send("Encounter " + encounter + ":");
+            this.battleManager.getMonsterNamesInEncounter(encounter).forEach(this::send);
+            for (int i = 0; i < this.battleManager.getNumCharacters(); i++) {
+                send(this.battleManager.prepareCharacter(this.battleManager.getCharacter(i)));
+            }
+            send("Rolling initiative...");
+            this.battleManager.getInitiativeOrder(encounter).forEach(this::send);
+
+            if (!fight()) {
+                send("Tavern keeper: \"Lad, wake up. Yes, your party fell unconscious.\"");
+                return false;
+            }
+
+            send("All enemies are defeated.");
+            this.battleManager.getXPGainedForEveryCharacter().forEach(this::send);
+            this.battleManager.getCharacterNamesAndRestAbilities().forEach(this::send);
+            this.battleManager.updateCharactersXP();
+        }
+        send("Congratulations, your party completed " + this.battleManager.getAdventureName() + ".");
+        return true;
+    }
+
+    /**
+     * Plays the combat stage of an encounter until one of the sides is defeated.
+     *
+     * @return True if every monster has died, false if every character has fallen unconscious.
+     */
+    private boolean fight() {
+        TurnOrder battleEntities = this.battleManager.getBattleQueue();
+        int cont = 0;
+        int round = 1;
+        send("Round " + round + ":");
+        this.battleManager.getCharacterNamesAndHitPoints().forEach(this::send);
+        try {
+            while (true) {
+                BattleEntity poll = battleEntities.next();
+                this.battleManager.manageAttack(poll);
+                cont = this.battleManager.checkIfIsAlive(cont, poll);
+
+                if (this.battleManager.getAliveEntities() == cont) {
+                    send("End of round " + round + ".");
+                    int[] res = this.battleManager.handleCharacterAndMonstersDies(cont, round);
+                    cont = res[0];
+                    round = res[1];
+                    send("Round " + round + ":");
+                    this.battleManager.getCharacterNamesAndHitPoints().forEach(this::send);
+                }
+            }
+        } catch (NonAliveMonsterException e) {
+            return true;
+        } catch (FinishedBattleException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Checks that an adventure has been chosen and not played yet.
+     *
+     * @throws IllegalArgumentException If there is no adventure to play.
+     */
+    private void checkAdventureChosen() {
+        if (!this.adventureChosen) {
+            throw new IllegalArgumentException("Choose an adventure first.");
+        }
+    }
+
+    /**
+     * Parses a number chosen from a list of the given size.
+     *
+     * @param argument The text of the number.
+     * @param max The size of the list.
+     * @return The number, from 1 to the size of the list.
+     * @throws IllegalArgumentException If the text is not a number of the list.
+     */
+    private static int number(String argument, int max) {
+        try {
+            int number = Integer.parseInt(argument.trim());
+            if (number >= 1 && number <= max) {
+                return number;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below, together with the numbers out of range
+        }
+        throw new IllegalArgumentException("Choose a number between 1 and " + max + ".");
+    }
+
+    /**
+     * Sends some text to the player, line by line, skipping the empty lines.
+     *
+     * @param text The text, or null to send nothing.
+     */
+    private void send(String text) {
+        if (text != null) {
+            for (String line : text.split("\n")) {
+                if (!line.isBlank()) {
+                    this.out.println(line);
+                }
+            }
+        }
+    }
+
+    /**
+     * Ends an answer successfully.
+     */
+    private void ok() {
+        this.out.println("OK");
+        this.out.flush();
+    }
+
+    /**
+     * Ends an answer successfully, with a result.
+     *
+     * @param result The result of the command.
+     */
+    private void ok(String result) {
+        this.out.println("OK " + result);
+        this.out.flush();
+    }
+
+    /**
+     * Ends an answer with an error.
+     *
+     * @param message The message of the error.
+     */
+    private void error(String message) {
+        this.out.println("ERROR " + message);
+        this.out.flush();
+    }
+}
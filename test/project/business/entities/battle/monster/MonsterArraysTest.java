@@ -0,0 +1,119 @@
+package project.business.entities.battle.monster;
+
+import org.junit.jupiter.api.Test;
+import project.business.entities.adventure.EncounterMonster;
+import project.business.entities.monster.Monster;
+import project.business.entities.monster.MonsterCatalog;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests of the monsters of an encounter, checking the area hits against a naive loop over the monsters.
+ */
+class MonsterArraysTest {
+    private static final MonsterCatalog CATALOG = new MonsterCatalog(List.of(
+            new Monster("Goblin", "Minion", 10, 7, 2, "d6", "Physical"),
+            new Monster("Orc", "Lieutenant", 50, 15, 1, "d8", "Physical")));
+
+    private static final List<EncounterMonster> MONSTERS = List.of(
+            new EncounterMonster("Goblin", "Minion", 90, 1),
+            new EncounterMonster("Ghost", "Minion", 5, 1),
+            new EncounterMonster("Orc", "Lieutenant", 60, 1));
+
+    @Test
+    void createsTheMonstersFromTheCatalog() {
+        MonsterArrays monsters = new MonsterArrays(1, MONSTERS, CATALOG);
+
+        assertEquals(155, monsters.size());
+        assertEquals(150, monsters.aliveCount());
+        assertEquals(7, monsters.getHitPoints(0));
+        assertEquals(0, monsters.getHitPoints(90));
+        assertEquals(15, monsters.getHitPoints(154));
+        assertEquals(0, monsters.lowestId());
+    }
+
+    @Test
+    void hitsEveryMonsterLikeANaiveLoop() {
+        Random random = new Random(42);
+        for (int round = 0; round < 200; round++) {
+            MonsterArrays monsters = new MonsterArrays(1, MONSTERS, CATALOG);
+            int[] hitPoints = new int[monsters.size()];
+            for (int id = 0; id < hitPoints.length; id++) {
+                hitPoints[id] = random.nextInt(4) == 0 ? 0 : random.nextInt(30) + 1;
+                monsters.setHitPoints(id, hitPoints[id]);
+            }
+
+            for (int hit = 0; hit < 5; hit++) {
+                int damage = random.nextInt(24) - 3;
+                BitSet targets = new BitSet();
+                BitSet down = new BitSet();
+                for (int id = 0; id < hitPoints.length; id++) {
+                    if (hitPoints[id] > 0) {
+                        targets.set(id);
+                        if (hitPoints[id] <= damage) {
+                            down.set(id);
+                        }
+                        hitPoints[id] = Math.max(hitPoints[id] - damage, 0);
+                    }
+                }
+
+                AreaHit areaHit = monsters.hitAll(damage, "Magical", true);
+
+                assertEquals(targets, areaHit.targets());
+                assertEquals(down, areaHit.down());
+                assertState(hitPoints, monsters);
+            }
+        }
+    }
+
+    @Test
+    void hitsEveryMonsterWithoutReporting() {
+        Random random = new Random(7);
+        MonsterArrays reported = new MonsterArrays(1, MONSTERS, CATALOG);
+        MonsterArrays unreported = new MonsterArrays(1, MONSTERS, CATALOG);
+        for (int id = 0; id < reported.size(); id++) {
+            int hitPoints = random.nextInt(30);
+            reported.setHitPoints(id, hitPoints);
+            unreported.setHitPoints(id, hitPoints);
+        }
+
+        for (int hit = 0; hit < 20; hit++) {
+            int damage = random.nextInt(8) - 1;
+            reported.hitAll(damage, "Magical", true);
+            assertNull(unreported.hitAll(damage, "Magical", false));
+
+            int[] hitPoints = new int[reported.size()];
+            for (int id = 0; id < hitPoints.length; id++) {
+                hitPoints[id] = reported.getHitPoints(id);
+            }
+            assertState(hitPoints, unreported);
+        }
+    }
+
+    /**
+     * Checks that the monsters have the given hit points, and that the lowest alive monster and the number of
+     * alive monsters are the ones a naive loop finds.
+     *
+     * @param hitPoints The expected hit points of every monster.
+     * @param monsters  The monsters.
+     */
+    private static void assertState(int[] hitPoints, MonsterArrays monsters) {
+        int alive = 0;
+        int lowest = -1;
+        for (int id = 0; id < hitPoints.length; id++) {
+            assertEquals(hitPoints[id], monsters.getHitPoints(id));
+            if (hitPoints[id] > 0) {
+                alive++;
+                if (lowest < 0 || hitPoints[id] < hitPoints[lowest]) {
+                    lowest = id;
+                }
+            }
+        }
+        assertEquals(alive, monsters.aliveCount());
+        assertEquals(lowest, monsters.lowestId());
+    }
+}
@@ -0,0 +1,72 @@
+package project.business.entities.battle.monster;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests of the heap of alive monsters, checking it against a naive search for the lowest monster.
+ */
+class MonsterHeapTest {
+    @Test
+    void isEmptyWithoutAliveMonsters() {
+        MonsterHeap heap = new MonsterHeap();
+        Minion minion = new Minion("Goblin", "Minion", 1);
+        minion.setHitPoints(0);
+        heap.track(minion);
+
+        assertNull(heap.lowest());
+        assertEquals(0, heap.size());
+    }
+
+    @Test
+    void findsTheLowestMonsterLikeANaiveSearch() {
+        Random random = new Random(42);
+        MonsterHeap heap = new MonsterHeap();
+        for (int round = 0; round < 50; round++) {
+            heap.clear();
+            List<BattleMonster> monsters = new ArrayList<>();
+            for (int i = 0; i < 40; i++) {
+                Minion minion = new Minion("Goblin " + i, "Minion", 1);
+                minion.setHitPoints(random.nextInt(10));
+                monsters.add(minion);
+                heap.track(minion);
+            }
+            assertLowest(monsters, heap);
+
+            for (int change = 0; change < 200; change++) {
+                BattleMonster monster = monsters.get(random.nextInt(monsters.size()));
+                monster.setHitPoints(random.nextInt(12));
+                heap.update(monster);
+                assertLowest(monsters, heap);
+            }
+        }
+    }
+
+    /**
+     * Checks that the heap has the alive monsters, and that its lowest monster is the one with the lowest hit
+     * points that was tracked first.
+     *
+     * @param monsters The tracked monsters, in the order they were tracked.
+     * @param heap     The heap.
+     */
+    private static void assertLowest(List<BattleMonster> monsters, MonsterHeap heap) {
+        BattleMonster lowest = null;
+        int alive = 0;
+        for (BattleMonster monster : monsters) {
+            if (monster.isAlive()) {
+                alive++;
+                if (lowest == null || monster.getHitPoints() < lowest.getHitPoints()) {
+                    lowest = monster;
+                }
+            }
+        }
+        assertEquals(alive, heap.size());
+        assertEquals(alive, heap.toArray().length);
+        assertSame(lowest, heap.lowest());
+    }
+}
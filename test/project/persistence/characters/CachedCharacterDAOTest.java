@@ -0,0 +1,230 @@
+package project.persistence.characters;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import project.business.entities.battle.character.BattleCharacter;
+import project.business.entities.battle.character.BattleCharacterFactory;
+import project.business.entities.character.Character;
+import project.persistence.exceptions.PersistenceException;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests of the cached characters, and of how the experience points of the parties are merged and persisted.
+ */
+class CachedCharacterDAOTest {
+    @TempDir
+    Path directory;
+
+    private JSONCharacterDAO json;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        this.json = new JSONCharacterDAO(this.directory.resolve("characters.json").toString());
+        this.json.reAddCharactersToJSON(new ArrayList<>(List.of(
+                new Character("Ann", "Player", 350, 1, 1, 1, "Adventurer"),
+                new Character("Pal", "Player", 500, 1, 1, 1, "Paladin"))));
+    }
+
+    @Test
+    void keepsTheXPOfTwoPartiesWithTheSameCharacter() throws Exception {
+        CachedCharacterDAO characterDAO = new CachedCharacterDAO(this.json);
+        BattleCharacter first = BattleCharacterFactory.createBattleCharacter(characterDAO.getCharacterByIndex(0));
+        BattleCharacter second = BattleCharacterFactory.createBattleCharacter(characterDAO.getCharacterByIndex(0));
+        BattleCharacter paladin = BattleCharacterFactory.createBattleCharacter(characterDAO.getCharacterByIndex(1));
+
+        first.addExperiencePoints(50);
+        second.addExperiencePoints(30);
+        paladin.addExperiencePoints(5);
+        characterDAO.updateCharactersXP(List.of(first, paladin));
+        characterDAO.updateCharactersXP(List.of(second));
+        characterDAO.close();
+
+        assertEquals(new Character("Ann", "Player", 430, 1, 1, 1, "Warrior"), this.json.getCharacterByIndex(0));
+        assertEquals(new Character("Pal", "Player", 505, 1, 1, 1, "Paladin"), this.json.getCharacterByIndex(1));
+    }
+
+    @Test
+    void keepsTheXPOfPartiesUpdatingAtTheSameTime() throws Exception {
+        CachedCharacterDAO characterDAO = new CachedCharacterDAO(this.json);
+        Character stored = characterDAO.getCharacterByIndex(1);
+        int parties = 8;
+        int adventures = 100;
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(parties)) {
+            List<Future<?>> results = new ArrayList<>();
+            for (int i = 0; i < parties; i++) {
+                results.add(executor.submit(() -> {
+                    BattleCharacter character = BattleCharacterFactory.createBattleCharacter(stored);
+                    for (int j = 0; j < adventures; j++) {
+                        character.addExperiencePoints(1);
+                        characterDAO.updateCharactersXP(List.of(character));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+        }
+
+        assertEquals(500 + parties * adventures, characterDAO.getCharacterByIndex(1).xp());
+        characterDAO.close();
+        assertEquals(500 + parties * adventures, this.json.getCharacterByIndex(1).xp());
+    }
+
+    @Test
+    void savesTheXPOfTheUpdateAndNotTheLaterOne() throws Exception {
+        CachedCharacterDAO characterDAO = new CachedCharacterDAO(this.json);
+        BattleCharacter character = BattleCharacterFactory.createBattleCharacter(characterDAO.getCharacterByIndex(0));
+
+        character.addExperiencePoints(50);
+        characterDAO.updateCharactersXP(List.of(character));
+        character.addExperiencePoints(1);
+        characterDAO.flush();
+
+        assertEquals(400, this.json.getCharacterByIndex(0).xp());
+        characterDAO.close();
+        assertEquals(400, this.json.getCharacterByIndex(0).xp());
+    }
+
+    @Test
+    void savesTheXPOfACharacterWithAnUnknownClass() throws Exception {
+        this.json.createCharacter(new Character("Bard", "Player", 10, 0, 0, 0, "Bard"));
+        CachedCharacterDAO characterDAO = new CachedCharacterDAO(this.json);
+
+        characterDAO.saveCharactersXP(List.of(new Character("Bard", null, 77, 0, 0, 0, "Bard")));
+        characterDAO.close();
+
+        assertEquals(new Character("Bard", "Player", 77, 0, 0, 0, "Bard"), this.json.getCharacterByIndex(2));
+    }
+
+    @Test
+    void retriesAFailedWrite() throws Exception {
+        FailingCharacterDAO storage = new FailingCharacterDAO(this.json, 1);
+        CachedCharacterDAO characterDAO = new CachedCharacterDAO(storage);
+        BattleCharacter character = BattleCharacterFactory.createBattleCharacter(characterDAO.getCharacterByIndex(0));
+
+        character.addExperiencePoints(10);
+        characterDAO.updateCharactersXP(List.of(character));
+        try {
+            characterDAO.flush();
+        } catch (PersistenceException e) {
+            // The failure may have been taken by the background write instead
+        }
+        characterDAO.flush();
+        assertEquals(0, storage.failures.get());
+        assertEquals(360, this.json.getCharacterByIndex(0).xp());
+
+        character.addExperiencePoints(10);
+        assertDoesNotThrow(() -> characterDAO.updateCharactersXP(List.of(character)));
+        characterDAO.createCharacter(new Character("New", "Player", 0, 0, 0, 0, "Mage"));
+        try {
+            characterDAO.close();
+        } catch (PersistenceException e) {
+            // The failed background write is reported, after the last changes have been saved
+        }
+
+        List<Character> characters = this.json.getAllCharacters();
+        assertEquals(3, characters.size());
+        assertEquals(370, characters.get(0).xp());
+    }
+
+    @Test
+    void reportsTheFailedWriteOnClose() throws Exception {
+        FailingCharacterDAO storage = new FailingCharacterDAO(this.json, Integer.MAX_VALUE);
+        CachedCharacterDAO characterDAO = new CachedCharacterDAO(storage);
+
+        characterDAO.saveCharactersXP(List.of(new Character("Ann", null, 999, 0, 0, 0, "Champion")));
+
+        assertThrows(PersistenceException.class, characterDAO::close);
+        assertEquals(350, this.json.getCharacterByIndex(0).xp());
+    }
+
+    @Test
+    void rejectsTheWritesAfterClosing() throws Exception {
+        CachedCharacterDAO characterDAO = new CachedCharacterDAO(this.json);
+        BattleCharacter character = BattleCharacterFactory.createBattleCharacter(characterDAO.getCharacterByIndex(0));
+        characterDAO.close();
+
+        character.addExperiencePoints(10);
+        assertThrows(PersistenceException.class, () -> characterDAO.updateCharactersXP(List.of(character)));
+        assertThrows(PersistenceException.class, () -> characterDAO.createCharacter(new Character("New", "Player", 0, 0, 0, 0, "Mage")));
+        assertThrows(PersistenceException.class, () -> characterDAO.deleteCharacter("Ann"));
+        assertEquals(2, this.json.getAllCharacters().size());
+        assertEquals(350, this.json.getCharacterByIndex(0).xp());
+    }
+
+    /**
+     * Storage whose writes fail a given number of times before being made.
+     */
+    private static class FailingCharacterDAO implements CharacterDAO {
+        private final CharacterDAO storage;
+        private final AtomicInteger failures;
+
+        private FailingCharacterDAO(CharacterDAO storage, int failures) {
+            this.storage = storage;
+            this.failures = new AtomicInteger(failures);
+        }
+
+        private void fail() throws PersistenceException {
+            if (this.failures.getAndUpdate(failures -> Math.max(failures - 1, 0)) > 0) {
+                throw new PersistenceException("Error: The write failed", new IOException());
+            }
+        }
+
+        @Override
+        public void createCharacter(Character character) throws PersistenceException {
+            fail();
+            this.storage.createCharacter(character);
+        }
+
+        @Override
+        public List<Character> getAllCharacters() throws PersistenceException {
+            return this.storage.getAllCharacters();
+        }
+
+        @Override
+        public void reAddCharactersToJSON(List<Character> characters) throws PersistenceException {
+            fail();
+            this.storage.reAddCharactersToJSON(characters);
+        }
+
+        @Override
+        public void saveCharactersXP(List<Character> characters) throws PersistenceException {
+            fail();
+            this.storage.saveCharactersXP(characters);
+        }
+
+        @Override
+        public Character getCharacterByIndex(int index) throws PersistenceException {
+            return this.storage.getCharacterByIndex(index);
+        }
+
+        @Override
+        public boolean characterNameExists(String name) throws PersistenceException {
+            return this.storage.characterNameExists(name);
+        }
+
+        @Override
+        public List<Character> getCharactersByPlayer(String player) throws PersistenceException {
+            return this.storage.getCharactersByPlayer(player);
+        }
+
+        @Override
+        public void deleteCharacter(String name) throws PersistenceException {
+            fail();
+            this.storage.deleteCharacter(name);
+        }
+    }
+}
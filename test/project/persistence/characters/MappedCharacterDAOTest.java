@@ -0,0 +1,145 @@
+package project.persistence.characters;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import project.business.entities.battle.character.BattleCharacter;
+import project.business.entities.battle.character.BattleCharacterFactory;
+import project.business.entities.character.Character;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests of the memory-mapped characters, and of the xp updates that are written in place.
+ */
+class MappedCharacterDAOTest {
+    private static final int CHARACTERS = 1000;
+
+    private static final String[] CLASSES = {"Adventurer", "Warrior", "Champion", "Cleric", "Paladin", "Mage"};
+
+    @TempDir
+    Path directory;
+
+    private Path path;
+    private JSONCharacterDAO json;
+    private List<Character> characters;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        this.path = this.directory.resolve("characters.store");
+        this.json = new JSONCharacterDAO(this.directory.resolve("characters.json").toString());
+        this.characters = new ArrayList<>();
+        for (int i = 0; i < CHARACTERS; i++) {
+            this.characters.add(new Character("Character " + i, "Player " + i % 10, i, i % 3 - 1, i % 5 - 2, i % 4 - 1, CLASSES[i % CLASSES.length]));
+        }
+        new MappedCharacterDAO(this.path.toString(), this.json).reAddCharactersToJSON(this.characters);
+    }
+
+    @Test
+    void readsTheCharactersBack() throws Exception {
+        MappedCharacterDAO characterDAO = new MappedCharacterDAO(this.path.toString(), this.json);
+
+        assertEquals(this.characters, characterDAO.getAllCharacters());
+        assertEquals(this.characters.get(123), characterDAO.getCharacterByIndex(123));
+        assertTrue(characterDAO.characterNameExists("character 999"));
+        assertFalse(characterDAO.characterNameExists("Character 1000"));
+        assertEquals(100, characterDAO.getCharactersByPlayer("player 7").size());
+    }
+
+    @Test
+    void importsTheCharactersWhenThereIsNoFile() throws Exception {
+        this.json.reAddCharactersToJSON(this.characters.subList(0, 10));
+        MappedCharacterDAO characterDAO = new MappedCharacterDAO(this.directory.resolve("imported.store").toString(), this.json);
+
+        assertEquals(this.characters.subList(0, 10), characterDAO.getAllCharacters());
+    }
+
+    @Test
+    void patchesTheXPInPlaceAndAnotherDAOReadsIt() throws Exception {
+        MappedCharacterDAO writer = new MappedCharacterDAO(this.path.toString(), this.json);
+        MappedCharacterDAO reader = new MappedCharacterDAO(this.path.toString(), this.json);
+        // The reader maps the file before the update
+        assertEquals(this.characters.get(500), reader.getCharacterByIndex(500));
+        Object fileKey = fileKey();
+
+        List<BattleCharacter> party = BattleCharacterFactory.createParty(List.of(this.characters.get(500), this.characters.get(501)));
+        party.get(0).addExperiencePoints(1000);
+        party.get(1).addExperiencePoints(7);
+        writer.updateCharactersXP(party);
+
+        assertEquals(fileKey, fileKey(), "The file must be patched, not replaced");
+        for (MappedCharacterDAO characterDAO : List.of(reader, new MappedCharacterDAO(this.path.toString(), this.json))) {
+            Character first = characterDAO.getCharacterByIndex(500);
+            assertEquals(1500, first.xp());
+            assertEquals(party.get(0).getCharacterType(), first.clas());
+            assertEquals(this.characters.get(500).player(), first.player());
+            assertEquals(this.characters.get(500).body(), first.body());
+            assertEquals(508, characterDAO.getCharacterByIndex(501).xp());
+            assertEquals(this.characters.get(499), characterDAO.getCharacterByIndex(499));
+            assertEquals(this.characters.get(502), characterDAO.getCharacterByIndex(502));
+        }
+    }
+
+    @Test
+    void patchesTheClassInPlace() throws Exception {
+        MappedCharacterDAO characterDAO = new MappedCharacterDAO(this.path.toString(), this.json);
+        Object fileKey = fileKey();
+
+        characterDAO.saveCharactersXP(List.of(new Character("Character 0", null, 900, 0, 0, 0, "Champion")));
+
+        assertEquals(fileKey, fileKey());
+        Character character = new MappedCharacterDAO(this.path.toString(), this.json).getCharacterByIndex(0);
+        assertEquals(900, character.xp());
+        assertEquals("Champion", character.clas());
+    }
+
+    @Test
+    void rewritesTheFileForAClassThatIsNotStored() throws Exception {
+        MappedCharacterDAO characterDAO = new MappedCharacterDAO(this.path.toString(), this.json);
+
+        characterDAO.saveCharactersXP(List.of(new Character("Character 3", null, 77, 0, 0, 0, "Bard")));
+
+        List<Character> stored = new MappedCharacterDAO(this.path.toString(), this.json).getAllCharacters();
+        assertEquals(new Character("Character 3", "Player 3", 77, -1, 1, 2, "Bard"), stored.get(3));
+        assertEquals(this.characters.subList(4, CHARACTERS), stored.subList(4, CHARACTERS));
+    }
+
+    @Test
+    void skipsTheCharactersThatAreNotStored() throws Exception {
+        MappedCharacterDAO characterDAO = new MappedCharacterDAO(this.path.toString(), this.json);
+
+        characterDAO.saveCharactersXP(List.of(new Character("Nobody", null, 77, 0, 0, 0, "Bard")));
+
+        assertEquals(this.characters, new MappedCharacterDAO(this.path.toString(), this.json).getAllCharacters());
+    }
+
+    @Test
+    void deletesAndAddsCharacters() throws Exception {
+        MappedCharacterDAO characterDAO = new MappedCharacterDAO(this.path.toString(), this.json);
+        Character added = new Character("Added", "Someone", 0, 0, 0, 0, "Mage");
+
+        characterDAO.deleteCharacter("Character 10");
+        characterDAO.createCharacter(added);
+
+        MappedCharacterDAO reader = new MappedCharacterDAO(this.path.toString(), this.json);
+        assertFalse(reader.characterNameExists("Character 10"));
+        assertEquals(this.characters.get(11), reader.getCharacterByIndex(10));
+        assertEquals(added, reader.getCharacterByIndex(CHARACTERS - 1));
+    }
+
+    /**
+     * @return the key of the file, which changes when the file is replaced
+     * @throws IOException if the file couldn't be read
+     */
+    private Object fileKey() throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(this.path, BasicFileAttributes.class);
+        return attributes.fileKey() != null ? attributes.fileKey() : attributes.lastModifiedTime();
+    }
+}
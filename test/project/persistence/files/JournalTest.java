@@ -0,0 +1,103 @@
+package project.persistence.files;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import project.business.entities.character.Character;
+import project.persistence.characters.JSONCharacterDAO;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests of the journal, and of how the JSON characters recover from an append interrupted by a crash.
+ */
+class JournalTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void readsEveryEntryInOrder() throws IOException {
+        Journal journal = new Journal(this.directory.resolve("journal").toString());
+        journal.append(List.of("a", "b"));
+        journal.append(List.of("c"));
+
+        assertEquals(List.of("a", "b", "c"), journal.readEntries());
+    }
+
+    @Test
+    void ignoresTheTornLastLine() throws IOException {
+        Path path = this.directory.resolve("journal");
+        Journal journal = new Journal(path.toString());
+        journal.append(List.of("a", "b"));
+        tear(path, "{\"name\":\"Gal");
+
+        assertEquals(List.of("a", "b"), journal.readEntries());
+    }
+
+    @Test
+    void cutsOffTheTornLastLineBeforeAppending() throws IOException {
+        Path path = this.directory.resolve("journal");
+        Journal journal = new Journal(path.toString());
+        journal.append(List.of("a", "b"));
+        tear(path, "{\"name\":\"Gal");
+        journal.append(List.of("c"));
+
+        assertEquals(List.of("a", "b", "c"), journal.readEntries());
+        assertEquals("a\nb\nc\n", Files.readString(path, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void cutsOffATornFirstLine() throws IOException {
+        Path path = this.directory.resolve("journal");
+        tear(path, "{\"name\":\"Gal");
+        Journal journal = new Journal(path.toString());
+        journal.append(List.of("a"));
+
+        assertEquals(List.of("a"), journal.readEntries());
+    }
+
+    @Test
+    void cutsOffATornLineLongerThanTheReadBuffer() throws IOException {
+        Path path = this.directory.resolve("journal");
+        Journal journal = new Journal(path.toString());
+        journal.append(List.of("a"));
+        tear(path, "x".repeat(10_000));
+        journal.append(List.of("b"));
+
+        assertEquals(List.of("a", "b"), journal.readEntries());
+    }
+
+    @Test
+    void charactersStayReadableAfterATornXPUpdate() throws Exception {
+        String path = this.directory.resolve("characters.json").toString();
+        JSONCharacterDAO characterDAO = new JSONCharacterDAO(path);
+        characterDAO.reAddCharactersToJSON(new ArrayList<>(List.of(
+                new Character("Ann", "p", 0, 1, 1, 1, "Adventurer"),
+                new Character("Bob", "p", 0, 1, 1, 1, "Cleric"))));
+        characterDAO.saveCharactersXP(List.of(new Character("Ann", null, 50, 0, 0, 0, "Adventurer")));
+        tear(Path.of(path + ".journal"), "{\"name\":\"Bob\",\"xp\":");
+        characterDAO.saveCharactersXP(List.of(new Character("Bob", null, 30, 0, 0, 0, "Cleric")));
+
+        List<Character> characters = new JSONCharacterDAO(path).getAllCharacters();
+        assertEquals(50, characters.get(0).xp());
+        assertEquals(30, characters.get(1).xp());
+    }
+
+    /**
+     * Appends an incomplete line to a file, as an append interrupted by a crash leaves it.
+     *
+     * @param path The path to the file.
+     * @param line The beginning of the line.
+     * @throws IOException If the file couldn't be written.
+     */
+    private static void tear(Path path, String line) throws IOException {
+        Files.writeString(path, line, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+}